@@ -0,0 +1,115 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.zxing.benchmark;
+
+import com.google.zxing.LuminanceSource;
+import com.google.zxing.NotFoundException;
+import com.google.zxing.common.BitArray;
+import com.google.zxing.common.GlobalHistogramBinarizer;
+import com.google.zxing.common.HybridBinarizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures binarization of all images of a blackbox set: the 2D path through
+ * {@link HybridBinarizer#getBlackMatrix()}, serially and on the common fork-join pool, and the 1D path through
+ * {@link GlobalHistogramBinarizer#getBlackRow(int, BitArray)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BinarizerBenchmark {
+
+  @Param({"qrcode-2", "datamatrix-1", "aztec-1", "pdf417-1", "ean13-1", "code128-1"})
+  private String set;
+
+  private List<LuminanceSource> sources;
+
+  @Setup
+  public void setUp() throws IOException {
+    sources = BlackBoxImages.loadLuminanceSources(set);
+    // Luminance conversion is measured separately; make sure it is not measured here
+    for (LuminanceSource source : sources) {
+      source.getMatrix();
+    }
+  }
+
+  @Benchmark
+  public void hybridBlackMatrix(Blackhole blackhole) {
+    for (LuminanceSource source : sources) {
+      try {
+        blackhole.consume(new HybridBinarizer(source).getBlackMatrix());
+      } catch (NotFoundException nfe) {
+        blackhole.consume(nfe);
+      }
+    }
+  }
+
+  @Benchmark
+  public void hybridBlackMatrixParallel(Blackhole blackhole) {
+    for (LuminanceSource source : sources) {
+      try {
+        blackhole.consume(new HybridBinarizer(source, ForkJoinPool.commonPool()).getBlackMatrix());
+      } catch (NotFoundException nfe) {
+        blackhole.consume(nfe);
+      }
+    }
+  }
+
+  @Benchmark
+  public void globalHistogramBlackMatrix(Blackhole blackhole) {
+    for (LuminanceSource source : sources) {
+      try {
+        blackhole.consume(new GlobalHistogramBinarizer(source).getBlackMatrix());
+      } catch (NotFoundException nfe) {
+        blackhole.consume(nfe);
+      }
+    }
+  }
+
+  /**
+   * Binarizes every row of every image, reusing one {@link BitArray} per image the way
+   * the 1D readers do.
+   */
+  @Benchmark
+  public void globalHistogramBlackRow(Blackhole blackhole) {
+    for (LuminanceSource source : sources) {
+      GlobalHistogramBinarizer binarizer = new GlobalHistogramBinarizer(source);
+      BitArray row = null;
+      for (int y = 0; y < source.getHeight(); y++) {
+        try {
+          row = binarizer.getBlackRow(y, row);
+        } catch (NotFoundException nfe) {
+          blackhole.consume(nfe);
+        }
+      }
+      blackhole.consume(row);
+    }
+  }
+
+}
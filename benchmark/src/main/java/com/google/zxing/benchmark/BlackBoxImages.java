@@ -0,0 +1,161 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing.benchmark;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.BinaryBitmap;
+import com.google.zxing.LuminanceSource;
+import com.google.zxing.NotFoundException;
+import com.google.zxing.client.j2se.BufferedImageLuminanceSource;
+import com.google.zxing.common.HybridBinarizer;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Loads the images of one of the blackbox test sets under {@code core/src/test/resources/blackbox}
+ * for use as benchmark input. The blackbox directory can be set with the system property
+ * {@code zxing.blackbox}; by default it is looked up relative to the project root and to this module.
+ */
+final class BlackBoxImages {
+
+  private static final String BLACKBOX_PROPERTY = "zxing.blackbox";
+  private static final String BLACKBOX_PATH = "core/src/test/resources/blackbox";
+
+  private BlackBoxImages() {
+  }
+
+  static Path getTestBase(String set) {
+    String configured = System.getProperty(BLACKBOX_PROPERTY);
+    if (configured != null) {
+      return Paths.get(configured).resolve(set);
+    }
+    Path testBase = Paths.get(BLACKBOX_PATH);
+    if (!Files.exists(testBase)) {
+      // try the parent since benchmarks are often run from the 'benchmark' directory
+      testBase = Paths.get("..").resolve(BLACKBOX_PATH);
+    }
+    return testBase.resolve(set);
+  }
+
+  static List<BufferedImage> load(String set) throws IOException {
+    Path testBase = getTestBase(set);
+    if (!Files.exists(testBase)) {
+      throw new IOException("No such blackbox image set: " + testBase.toAbsolutePath() +
+                            "; set -D" + BLACKBOX_PROPERTY + " to the blackbox directory");
+    }
+    List<Path> paths = new ArrayList<>();
+    try (DirectoryStream<Path> pathIt =
+             Files.newDirectoryStream(testBase, "*.{jpg,jpeg,gif,png,JPG,JPEG,GIF,PNG}")) {
+      for (Path path : pathIt) {
+        paths.add(path);
+      }
+    }
+    // Directory order is not defined; keep runs comparable
+    paths.sort(null);
+    List<BufferedImage> images = new ArrayList<>(paths.size());
+    for (Path path : paths) {
+      BufferedImage image = ImageIO.read(path.toFile());
+      if (image != null) {
+        images.add(image);
+      }
+    }
+    return images;
+  }
+
+  static List<LuminanceSource> loadLuminanceSources(String set) throws IOException {
+    List<BufferedImage> images = load(set);
+    List<LuminanceSource> sources = new ArrayList<>(images.size());
+    for (BufferedImage image : images) {
+      sources.add(new BufferedImageLuminanceSource(image));
+    }
+    return sources;
+  }
+
+  /**
+   * @return bitmaps of all images in the set which could be binarized by {@link HybridBinarizer}.
+   *  Their black matrix is already computed and cached, so it costs nothing to get it again.
+   */
+  static List<BinaryBitmap> loadBinaryBitmaps(String set) throws IOException {
+    List<BinaryBitmap> bitmaps = new ArrayList<>();
+    for (LuminanceSource source : loadLuminanceSources(set)) {
+      BinaryBitmap bitmap = new BinaryBitmap(new HybridBinarizer(source));
+      try {
+        bitmap.getBlackMatrix();
+      } catch (NotFoundException nfe) {
+        // not usable as benchmark input
+        continue;
+      }
+      bitmaps.add(bitmap);
+    }
+    return bitmaps;
+  }
+
+  /**
+   * @param set name of a blackbox image set, like "qrcode-2"
+   * @return the format that images in the set contain
+   */
+  static BarcodeFormat getFormat(String set) {
+    String prefix = set.substring(0, set.lastIndexOf('-')).toLowerCase(Locale.ENGLISH);
+    switch (prefix) {
+      case "aztec":
+        return BarcodeFormat.AZTEC;
+      case "codabar":
+        return BarcodeFormat.CODABAR;
+      case "code39":
+        return BarcodeFormat.CODE_39;
+      case "code93":
+        return BarcodeFormat.CODE_93;
+      case "code128":
+        return BarcodeFormat.CODE_128;
+      case "datamatrix":
+        return BarcodeFormat.DATA_MATRIX;
+      case "ean8":
+        return BarcodeFormat.EAN_8;
+      case "ean13":
+        return BarcodeFormat.EAN_13;
+      case "itf":
+        return BarcodeFormat.ITF;
+      case "maxicode":
+        return BarcodeFormat.MAXICODE;
+      case "pdf417":
+        return BarcodeFormat.PDF_417;
+      case "qrcode":
+        return BarcodeFormat.QR_CODE;
+      case "rss14":
+        return BarcodeFormat.RSS_14;
+      case "rssexpanded":
+      case "rssexpandedstacked":
+        return BarcodeFormat.RSS_EXPANDED;
+      case "upca":
+        return BarcodeFormat.UPC_A;
+      case "upce":
+        return BarcodeFormat.UPC_E;
+      default:
+        throw new IllegalArgumentException("Unknown blackbox image set: " + set);
+    }
+  }
+
+}
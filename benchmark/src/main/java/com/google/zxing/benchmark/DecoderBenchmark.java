@@ -0,0 +1,137 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.zxing.benchmark;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.BinaryBitmap;
+import com.google.zxing.ReaderException;
+import com.google.zxing.ResultPoint;
+import com.google.zxing.aztec.AztecDetectorResult;
+import com.google.zxing.common.DetectorResult;
+import com.google.zxing.pdf417.PDF417Common;
+import com.google.zxing.pdf417.decoder.PDF417ScanningDecoder;
+import com.google.zxing.pdf417.detector.PDF417DetectorResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the 2D decoders on the output of their detectors for the images of a blackbox set.
+ * This covers reading codewords from the sampled bits, Reed-Solomon error correction and parsing
+ * of the decoded bit stream. For PDF417 it is the scanning decoder, which also reads codewords
+ * from the image. Images on which the detector fails are not included.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DecoderBenchmark {
+
+  @Param({"qrcode-2", "datamatrix-1", "aztec-1", "pdf417-1", "pdf417-2", "pdf417-3"})
+  private String set;
+
+  private BarcodeFormat format;
+  private List<Object> detectorResults;
+  private com.google.zxing.qrcode.decoder.Decoder qrCodeDecoder;
+  private com.google.zxing.datamatrix.decoder.Decoder dataMatrixDecoder;
+  private com.google.zxing.aztec.decoder.Decoder aztecDecoder;
+
+  @Setup
+  public void setUp() throws IOException {
+    format = BlackBoxImages.getFormat(set);
+    detectorResults = new ArrayList<>();
+    for (BinaryBitmap bitmap : BlackBoxImages.loadBinaryBitmaps(set)) {
+      try {
+        detectorResults.add(DetectorBenchmark.detect(format, bitmap));
+      } catch (ReaderException re) {
+        // not usable as benchmark input
+      }
+    }
+    qrCodeDecoder = new com.google.zxing.qrcode.decoder.Decoder();
+    dataMatrixDecoder = new com.google.zxing.datamatrix.decoder.Decoder();
+    aztecDecoder = new com.google.zxing.aztec.decoder.Decoder();
+  }
+
+  @Benchmark
+  public void decode(Blackhole blackhole) {
+    for (Object detectorResult : detectorResults) {
+      try {
+        switch (format) {
+          case QR_CODE:
+            blackhole.consume(qrCodeDecoder.decode(((DetectorResult) detectorResult).getBits()));
+            break;
+          case DATA_MATRIX:
+            blackhole.consume(dataMatrixDecoder.decode(((DetectorResult) detectorResult).getBits()));
+            break;
+          case AZTEC:
+            blackhole.consume(aztecDecoder.decode((AztecDetectorResult) detectorResult));
+            break;
+          case PDF_417:
+            PDF417DetectorResult pdf417Result = (PDF417DetectorResult) detectorResult;
+            for (ResultPoint[] points : pdf417Result.getPoints()) {
+              blackhole.consume(decodePDF417(pdf417Result, points));
+            }
+            break;
+          default:
+            throw new IllegalStateException();
+        }
+      } catch (ReaderException re) {
+        blackhole.consume(re);
+      }
+    }
+  }
+
+  // Codeword width bounds as computed by PDF417Reader
+  private static Object decodePDF417(PDF417DetectorResult detectorResult, ResultPoint[] p) throws ReaderException {
+    int minCodewordWidth = Math.min(
+        Math.min(getMinWidth(p[0], p[4]), getMinWidth(p[6], p[2]) * PDF417Common.MODULES_IN_CODEWORD /
+            PDF417Common.MODULES_IN_STOP_PATTERN),
+        Math.min(getMinWidth(p[1], p[5]), getMinWidth(p[7], p[3]) * PDF417Common.MODULES_IN_CODEWORD /
+            PDF417Common.MODULES_IN_STOP_PATTERN));
+    int maxCodewordWidth = Math.max(
+        Math.max(getMaxWidth(p[0], p[4]), getMaxWidth(p[6], p[2]) * PDF417Common.MODULES_IN_CODEWORD /
+            PDF417Common.MODULES_IN_STOP_PATTERN),
+        Math.max(getMaxWidth(p[1], p[5]), getMaxWidth(p[7], p[3]) * PDF417Common.MODULES_IN_CODEWORD /
+            PDF417Common.MODULES_IN_STOP_PATTERN));
+    return PDF417ScanningDecoder.decode(detectorResult.getBits(), p[4], p[5], p[6], p[7],
+                                        minCodewordWidth, maxCodewordWidth);
+  }
+
+  private static int getMaxWidth(ResultPoint p1, ResultPoint p2) {
+    if (p1 == null || p2 == null) {
+      return 0;
+    }
+    return (int) Math.abs(p1.getX() - p2.getX());
+  }
+
+  private static int getMinWidth(ResultPoint p1, ResultPoint p2) {
+    if (p1 == null || p2 == null) {
+      return Integer.MAX_VALUE;
+    }
+    return (int) Math.abs(p1.getX() - p2.getX());
+  }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.zxing.benchmark;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.BinaryBitmap;
+import com.google.zxing.FormatException;
+import com.google.zxing.NotFoundException;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.common.DetectorResult;
+import com.google.zxing.pdf417.detector.PDF417DetectorResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the 2D detectors over the already binarized images of a blackbox set. The detector
+ * is chosen by the format of the set. Images where nothing is found still count, since
+ * failing fast matters as much as succeeding.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DetectorBenchmark {
+
+  @Param({"qrcode-2", "datamatrix-1", "aztec-1", "pdf417-1"})
+  private String set;
+
+  private BarcodeFormat format;
+  private List<BinaryBitmap> bitmaps;
+
+  @Setup
+  public void setUp() throws IOException {
+    format = BlackBoxImages.getFormat(set);
+    bitmaps = BlackBoxImages.loadBinaryBitmaps(set);
+  }
+
+  @Benchmark
+  public void detect(Blackhole blackhole) {
+    for (BinaryBitmap bitmap : bitmaps) {
+      try {
+        blackhole.consume(detect(format, bitmap));
+      } catch (NotFoundException | FormatException e) {
+        blackhole.consume(e);
+      }
+    }
+  }
+
+  /**
+   * @return a {@link DetectorResult} or, for PDF417, a {@link PDF417DetectorResult}
+   */
+  static Object detect(BarcodeFormat format, BinaryBitmap bitmap) throws NotFoundException, FormatException {
+    BitMatrix matrix = bitmap.getBlackMatrix();
+    switch (format) {
+      case QR_CODE:
+        return new com.google.zxing.qrcode.detector.Detector(matrix).detect();
+      case DATA_MATRIX:
+        return new com.google.zxing.datamatrix.detector.Detector(matrix).detect();
+      case AZTEC:
+        return new com.google.zxing.aztec.detector.Detector(matrix).detect();
+      case PDF_417:
+        return com.google.zxing.pdf417.detector.Detector.detect(bitmap, null, false);
+      default:
+        throw new IllegalArgumentException("No detector for " + format);
+    }
+  }
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.zxing.benchmark;
+
+import com.google.zxing.BinaryBitmap;
+import com.google.zxing.NotFoundException;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.common.DefaultGridSampler;
+import com.google.zxing.common.FastGridSampler;
+import com.google.zxing.common.GridSampler;
+import com.google.zxing.common.PerspectiveTransform;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link GridSampler#sampleGrid(BitMatrix, int, int, PerspectiveTransform)} with
+ * {@link DefaultGridSampler} or {@link FastGridSampler}, sampling a square grid of the given
+ * dimension from a quadrilateral covering the middle of each binarized image of a blackbox set.
+ * The quadrilateral is either a parallelogram (an affine transform) or a trapezoid (a true
+ * perspective transform).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GridSamplerBenchmark {
+
+  @Param({"qrcode-2", "datamatrix-1", "aztec-1"})
+  private String set;
+
+  @Param({"21", "57", "105", "177"})
+  private int dimension;
+
+  @Param({"affine", "perspective"})
+  private String transform;
+
+  @Param({"default", "fast"})
+  private String sampler;
+
+  private GridSampler gridSampler;
+  private List<BitMatrix> matrices;
+  private List<PerspectiveTransform> transforms;
+
+  @Setup
+  public void setUp() throws IOException, NotFoundException {
+    gridSampler = "fast".equals(sampler) ? new FastGridSampler() : new DefaultGridSampler();
+    matrices = new ArrayList<>();
+    transforms = new ArrayList<>();
+    boolean affine = "affine".equals(transform);
+    for (BinaryBitmap bitmap : BlackBoxImages.loadBinaryBitmaps(set)) {
+      BitMatrix matrix = bitmap.getBlackMatrix();
+      float width = matrix.getWidth();
+      float height = matrix.getHeight();
+      float skew = width / 10.0f;
+      // A parallelogram leans the bottom edge left; a trapezoid narrows the top edge instead
+      float topRightShift = affine ? 0.0f : skew;
+      float bottomRightShift = affine ? skew : 0.0f;
+      matrices.add(matrix);
+      transforms.add(PerspectiveTransform.quadrilateralToQuadrilateral(
+          0.0f, 0.0f,
+          dimension, 0.0f,
+          dimension, dimension,
+          0.0f, dimension,
+          width * 0.2f + skew, height * 0.2f,
+          width * 0.8f - topRightShift, height * 0.2f,
+          width * 0.8f - bottomRightShift, height * 0.8f,
+          width * 0.2f, height * 0.8f));
+    }
+  }
+
+  @Benchmark
+  public void sampleGrid(Blackhole blackhole) {
+    for (int i = 0; i < matrices.size(); i++) {
+      try {
+        blackhole.consume(gridSampler.sampleGrid(matrices.get(i), dimension, dimension, transforms.get(i)));
+      } catch (NotFoundException nfe) {
+        blackhole.consume(nfe);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.zxing.benchmark;
+
+import com.google.zxing.LuminanceSource;
+import com.google.zxing.RGBLuminanceSource;
+import com.google.zxing.client.j2se.BufferedImageLuminanceSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures construction of {@link LuminanceSource}s, including the conversion of all pixels
+ * to luminance, for all images of a blackbox set.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LuminanceSourceBenchmark {
+
+  @Param({"qrcode-2", "datamatrix-1", "aztec-1", "pdf417-1", "ean13-1", "code128-1"})
+  private String set;
+
+  private List<BufferedImage> images;
+  private int[][] pixels;
+
+  @Setup
+  public void setUp() throws IOException {
+    images = BlackBoxImages.load(set);
+    pixels = new int[images.size()][];
+    for (int i = 0; i < pixels.length; i++) {
+      BufferedImage image = images.get(i);
+      pixels[i] = image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+    }
+  }
+
+  @Benchmark
+  public void bufferedImage(Blackhole blackhole) {
+    for (BufferedImage image : images) {
+      blackhole.consume(new BufferedImageLuminanceSource(image).getMatrix());
+    }
+  }
+
+  @Benchmark
+  public void rgb(Blackhole blackhole) {
+    for (int i = 0; i < pixels.length; i++) {
+      BufferedImage image = images.get(i);
+      blackhole.consume(new RGBLuminanceSource(image.getWidth(), image.getHeight(), pixels[i]).getMatrix());
+    }
+  }
+
+}
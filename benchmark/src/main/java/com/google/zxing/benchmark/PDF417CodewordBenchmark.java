@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.zxing.benchmark;
+
+import com.google.zxing.BinaryBitmap;
+import com.google.zxing.NotFoundException;
+import com.google.zxing.common.BitArray;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.pdf417.PDF417Common;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link PDF417Common#getCodeword(int)} on the candidate symbols of a blackbox set. Every
+ * eight bars and spaces starting with a bar, in every row of each binarized image, are sampled
+ * into a 17 module symbol, as the scanning decoder samples what it reads. Most of these are not
+ * symbols at all, as most of what the scanning decoder reads is.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PDF417CodewordBenchmark {
+
+  private static final int MAX_SYMBOLS = 100_000;
+
+  @Param({"pdf417-1", "pdf417-2", "pdf417-3"})
+  private String set;
+
+  private int[] symbols;
+
+  @Setup
+  public void setUp() throws IOException, NotFoundException {
+    symbols = new int[MAX_SYMBOLS];
+    int count = 0;
+    int[] runs = new int[0];
+    for (BinaryBitmap bitmap : BlackBoxImages.loadBinaryBitmaps(set)) {
+      BitMatrix matrix = bitmap.getBlackMatrix();
+      BitArray row = new BitArray(matrix.getWidth());
+      if (runs.length < matrix.getWidth() + 1) {
+        runs = new int[matrix.getWidth() + 1];
+      }
+      for (int y = 0; y < matrix.getHeight() && count < MAX_SYMBOLS; y++) {
+        row = matrix.getRow(y, row);
+        // Alternating bar and space widths, starting with a bar
+        int runCount = 0;
+        int x = row.getNextSet(0);
+        while (x < row.getSize()) {
+          int end = runCount % 2 == 0 ? row.getNextUnset(x) : row.getNextSet(x);
+          runs[runCount++] = end - x;
+          x = end;
+        }
+        for (int i = 0; i + 8 <= runCount && count < MAX_SYMBOLS; i += 2) {
+          symbols[count++] = sample(runs, i);
+        }
+      }
+    }
+    symbols = Arrays.copyOf(symbols, count);
+  }
+
+  @Benchmark
+  public int getCodeword() {
+    int sum = 0;
+    for (int symbol : symbols) {
+      sum += PDF417Common.getCodeword(symbol);
+    }
+    return sum;
+  }
+
+  private static int sample(int[] runs, int start) {
+    int total = 0;
+    for (int i = start; i < start + 8; i++) {
+      total += runs[i];
+    }
+    int symbol = 0;
+    int run = start;
+    int runEnd = runs[run];
+    for (int module = 0; module < PDF417Common.MODULES_IN_CODEWORD; module++) {
+      // Samples the middle of each module
+      float position = total / (2.0f * PDF417Common.MODULES_IN_CODEWORD) +
+          module * total / (float) PDF417Common.MODULES_IN_CODEWORD;
+      while (runEnd <= position && run < start + 7) {
+        run++;
+        runEnd += runs[run];
+      }
+      symbol = (symbol << 1) | ((run - start) % 2 == 0 ? 1 : 0);
+    }
+    return symbol;
+  }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.zxing.benchmark;
+
+import com.google.zxing.BinaryBitmap;
+import com.google.zxing.DecodeHintType;
+import com.google.zxing.MultiFormatReader;
+import com.google.zxing.ReaderException;
+import com.google.zxing.client.j2se.BufferedImageLuminanceSource;
+import com.google.zxing.common.HybridBinarizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the full decode pipeline, from {@link BufferedImage} to result, for all images of a
+ * blackbox set. Either only the reader for the set's format is enabled, or all of them, which is
+ * what most callers of {@link MultiFormatReader} do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ReaderBenchmark {
+
+  @Param({"qrcode-2", "datamatrix-1", "aztec-1", "pdf417-1", "ean13-1", "code128-1", "rssexpanded-1"})
+  private String set;
+
+  @Param({"false", "true"})
+  private boolean allFormats;
+
+  @Param({"false", "true"})
+  private boolean tryHarder;
+
+  private List<BufferedImage> images;
+  private MultiFormatReader reader;
+
+  @Setup
+  public void setUp() throws IOException {
+    images = BlackBoxImages.load(set);
+    Map<DecodeHintType,Object> hints = new EnumMap<>(DecodeHintType.class);
+    if (!allFormats) {
+      hints.put(DecodeHintType.POSSIBLE_FORMATS, Collections.singleton(BlackBoxImages.getFormat(set)));
+    }
+    if (tryHarder) {
+      hints.put(DecodeHintType.TRY_HARDER, Boolean.TRUE);
+    }
+    reader = new MultiFormatReader();
+    reader.setHints(hints);
+  }
+
+  @Benchmark
+  public void decode(Blackhole blackhole) {
+    for (BufferedImage image : images) {
+      BinaryBitmap bitmap = new BinaryBitmap(new HybridBinarizer(new BufferedImageLuminanceSource(image)));
+      try {
+        blackhole.consume(reader.decodeWithState(bitmap));
+      } catch (ReaderException re) {
+        blackhole.consume(re);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.zxing.benchmark;
+
+import com.google.zxing.common.reedsolomon.GenericGF;
+import com.google.zxing.common.reedsolomon.ReedSolomonDecoder;
+import com.google.zxing.common.reedsolomon.ReedSolomonEncoder;
+import com.google.zxing.common.reedsolomon.ReedSolomonException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures Reed-Solomon decoding of one block with a given number of corrupted codewords, and
+ * encoding of the same block. The block holds 120 data and 30 error correction codewords, a
+ * little larger than the largest QR Code block.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ReedSolomonBenchmark {
+
+  private static final int DATA_CODEWORDS = 120;
+  private static final int EC_CODEWORDS = 30;
+
+  @Param({"QR_CODE_FIELD_256", "DATA_MATRIX_FIELD_256", "AZTEC_DATA_12"})
+  private String field;
+
+  @Param({"0", "1", "8", "15"})
+  private int errors;
+
+  private ReedSolomonDecoder decoder;
+  private ReedSolomonEncoder encoder;
+  private int[] message;
+  private int[] received;
+  private int[] scratch;
+
+  @Setup
+  public void setUp() throws ReflectiveOperationException {
+    GenericGF gf = (GenericGF) GenericGF.class.getField(field).get(null);
+    decoder = new ReedSolomonDecoder(gf);
+    encoder = new ReedSolomonEncoder(gf);
+    Random random = new Random(0xDEADBEEFL);
+    message = new int[DATA_CODEWORDS + EC_CODEWORDS];
+    for (int i = 0; i < DATA_CODEWORDS; i++) {
+      message[i] = random.nextInt(gf.getSize());
+    }
+    encoder.encode(message, EC_CODEWORDS);
+    received = message.clone();
+    // corrupt distinct positions
+    boolean[] corrupted = new boolean[received.length];
+    for (int i = 0; i < errors; i++) {
+      int position;
+      do {
+        position = random.nextInt(received.length);
+      } while (corrupted[position]);
+      corrupted[position] = true;
+      received[position] ^= 1 + random.nextInt(gf.getSize() - 1);
+    }
+    scratch = new int[received.length];
+  }
+
+  @Benchmark
+  public int[] decode() throws ReedSolomonException {
+    System.arraycopy(received, 0, scratch, 0, received.length);
+    decoder.decode(scratch, EC_CODEWORDS);
+    return scratch;
+  }
+
+  @Benchmark
+  public int[] encode() {
+    System.arraycopy(message, 0, scratch, 0, DATA_CODEWORDS);
+    encoder.encode(scratch, EC_CODEWORDS);
+    return scratch;
+  }
+
+}
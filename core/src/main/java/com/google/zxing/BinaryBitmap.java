@@ -18,23 +18,35 @@ package com.google.zxing;
 
 import com.google.zxing.common.BitArray;
 import com.google.zxing.common.BitMatrix;
+import com.google.zxing.common.RunLengthRow;
 
 /**
  * This class is the core bitmap class used by ZXing to represent 1 bit data. Reader objects
  * accept a BinaryBitmap and attempt to decode it.
  *
+ * <p>A BinaryBitmap is also the analysis context of one image: whatever is computed from the
+ * image, like the black matrix, is computed once and shared by all readers which are passed
+ * the same instance, and by its {@link #invert() inverted view}.</p>
+ *
  * @author dswitkin@google.com (Daniel Switkin)
  */
 public final class BinaryBitmap {
 
   private final Binarizer binarizer;
-  private BitMatrix matrix;
+  private final Analysis analysis;
+  private final boolean inverted;
 
   public BinaryBitmap(Binarizer binarizer) {
+    this(binarizer, new Analysis(), false);
+  }
+
+  private BinaryBitmap(Binarizer binarizer, Analysis analysis, boolean inverted) {
     if (binarizer == null) {
       throw new IllegalArgumentException("Binarizer must be non-null.");
     }
     this.binarizer = binarizer;
+    this.analysis = analysis;
+    this.inverted = inverted;
   }
 
   /**
@@ -52,18 +64,36 @@ public final class BinaryBitmap {
   }
 
   /**
-   * Converts one row of luminance data to 1 bit data. May actually do the conversion, or return
-   * cached data. Callers should assume this method is expensive and call it as seldom as possible.
-   * This method is intended for decoding 1D barcodes and may choose to apply sharpening.
+   * Converts one row of luminance data to 1 bit data. Each row is only converted once, the first
+   * time it is requested, and then copied from a cache; the cache is shared by all readers using
+   * this bitmap or its {@link #invert() inverted view}. This method is intended for decoding 1D
+   * barcodes and may choose to apply sharpening.
    *
    * @param y The row to fetch, which must be in [0, bitmap height)
    * @param row An optional preallocated array. If null or too small, it will be ignored.
-   *            If used, the Binarizer will call BitArray.clear(). Always use the returned object.
+   *            If used, it is cleared first. Always use the returned object.
    * @return The array of bits for this row (true means black).
    * @throws NotFoundException if row can't be binarized
    */
   public BitArray getBlackRow(int y, BitArray row) throws NotFoundException {
-    return binarizer.getBlackRow(y, row);
+    BitArray blackRow = analysis.getRow(binarizer, y, row);
+    if (inverted) {
+      invert(blackRow, getWidth());
+    }
+    return blackRow;
+  }
+
+  /**
+   * Like {@link #getBlackRow(int, BitArray)}, but gives the row as runs of black and white pixels.
+   * The runs are also cached, so they are only computed once per row.
+   *
+   * @param y The row to fetch, which must be in [0, bitmap height)
+   * @return The runs of this row.
+   * @throws NotFoundException if row can't be binarized
+   */
+  public RunLengthRow getBlackRowRuns(int y) throws NotFoundException {
+    RunLengthRow runs = analysis.getRowRuns(binarizer, y);
+    return inverted ? runs.invert() : runs;
   }
 
   /**
@@ -81,10 +111,34 @@ public final class BinaryBitmap {
     // 1. This work will never be done if the caller only installs 1D Reader objects, or if a
     //    1D Reader finds a barcode before the 2D Readers run.
     // 2. This work will only be done once even if the caller installs multiple 2D Readers.
-    if (matrix == null) {
-      matrix = binarizer.getBlackMatrix();
-    }
-    return matrix;
+    // It is synchronized so that readers running in parallel also share one matrix.
+    return inverted ? analysis.getInvertedMatrix(binarizer) : analysis.getMatrix(binarizer);
+  }
+
+  /**
+   * Returns a view of this bitmap with black and white swapped. The view shares all cached data
+   * with this bitmap, so for example the black matrix is still only binarized once; the inverted
+   * matrix is a separate copy, and neither bitmap's data is modified.
+   *
+   * @return An inverted version of this object. Inverting it again gives a view equivalent to
+   *  this object.
+   */
+  public BinaryBitmap invert() {
+    return new BinaryBitmap(binarizer, analysis, !inverted);
+  }
+
+  /**
+   * @return Whether this bitmap is an {@link #invert() inverted view} of an image.
+   */
+  public boolean isInverted() {
+    return inverted;
+  }
+
+  /**
+   * @return The luminance data this bitmap was binarized from, which is not inverted.
+   */
+  LuminanceSource getLuminanceSource() {
+    return binarizer.getLuminanceSource();
   }
 
   /**
@@ -106,7 +160,34 @@ public final class BinaryBitmap {
    */
   public BinaryBitmap crop(int left, int top, int width, int height) {
     LuminanceSource newSource = binarizer.getLuminanceSource().crop(left, top, width, height);
-    return new BinaryBitmap(binarizer.createBinarizer(newSource));
+    return derive(newSource);
+  }
+
+  /**
+   * Like {@link #crop(int, int, int, int)}, but returns a window over this bitmap's binarized data
+   * rather than binarizing the cropped image again. The window's rows and matrix are cut from this
+   * bitmap's cached rows and matrix, which are computed once however many windows are taken, and
+   * windows of windows still read from the original image's. Since each pixel keeps the threshold
+   * it was given in the whole image, the result may differ slightly from that of {@code crop}
+   * near the edges of the window. Only callable if isCropSupported() is true.
+   *
+   * @param left The left coordinate, which must be in [0,getWidth())
+   * @param top The top coordinate, which must be in [0,getHeight())
+   * @param width The width of the rectangle to crop.
+   * @param height The height of the rectangle to crop.
+   * @return A cropped view of this object.
+   */
+  public BinaryBitmap cropView(int left, int top, int width, int height) {
+    LuminanceSource newSource = binarizer.getLuminanceSource().crop(left, top, width, height);
+    Binarizer newBinarizer;
+    if (binarizer instanceof WindowBinarizer) {
+      WindowBinarizer window = (WindowBinarizer) binarizer;
+      newBinarizer = new WindowBinarizer(newSource, window.parent, window.parentAnalysis,
+          window.left + left, window.top + top);
+    } else {
+      newBinarizer = new WindowBinarizer(newSource, binarizer, analysis, left, top);
+    }
+    return new BinaryBitmap(newBinarizer, new Analysis(), inverted);
   }
 
   /**
@@ -117,14 +198,15 @@ public final class BinaryBitmap {
   }
 
   /**
-   * Returns a new object with rotated image data by 90 degrees counterclockwise.
-   * Only callable if {@link #isRotateSupported()} is true.
+   * Returns an object with rotated image data by 90 degrees counterclockwise.
+   * Only callable if {@link #isRotateSupported()} is true. The rotated bitmap is cached, so
+   * that retries which rotate the same image again reuse its binarized rows and matrix.
    *
    * @return A rotated version of this object.
    */
   public BinaryBitmap rotateCounterClockwise() {
-    LuminanceSource newSource = binarizer.getLuminanceSource().rotateCounterClockwise();
-    return new BinaryBitmap(binarizer.createBinarizer(newSource));
+    BinaryBitmap rotated = analysis.getRotatedCounterClockwise(binarizer);
+    return inverted ? rotated.invert() : rotated;
   }
 
   /**
@@ -135,7 +217,23 @@ public final class BinaryBitmap {
    */
   public BinaryBitmap rotateCounterClockwise45() {
     LuminanceSource newSource = binarizer.getLuminanceSource().rotateCounterClockwise45();
-    return new BinaryBitmap(binarizer.createBinarizer(newSource));
+    return derive(newSource);
+  }
+
+  private BinaryBitmap derive(LuminanceSource newSource) {
+    return new BinaryBitmap(binarizer.createBinarizer(newSource), new Analysis(), inverted);
+  }
+
+  private static void invert(BitArray row, int width) {
+    int[] bits = row.getBitArray();
+    int fullWords = width / 32;
+    for (int i = 0; i < fullWords; i++) {
+      bits[i] = ~bits[i];
+    }
+    int remainingBits = width & 0x1F;
+    if (remainingBits > 0) {
+      bits[fullWords] ^= (1 << remainingBits) - 1;
+    }
   }
 
   @Override
@@ -147,4 +245,161 @@ public final class BinaryBitmap {
     }
   }
 
+  /**
+   * Cuts rows and the matrix of a {@link #cropView(int, int, int, int) cropped view} from those of
+   * the bitmap it was cropped from. These are always read uninverted, as the view inverts its own.
+   */
+  private static final class WindowBinarizer extends Binarizer {
+
+    private final Binarizer parent;
+    private final Analysis parentAnalysis;
+    private final int left;
+    private final int top;
+
+    WindowBinarizer(LuminanceSource source, Binarizer parent, Analysis parentAnalysis, int left, int top) {
+      super(source);
+      this.parent = parent;
+      this.parentAnalysis = parentAnalysis;
+      this.left = left;
+      this.top = top;
+    }
+
+    @Override
+    public BitArray getBlackRow(int y, BitArray row) throws NotFoundException {
+      int width = getWidth();
+      if (row == null || row.getSize() < width) {
+        row = new BitArray(width);
+      } else {
+        row.clear();
+      }
+      BitArray parentRow = parentAnalysis.getRow(parent, top + y, null);
+      copyBits(parentRow.getBitArray(), left, row.getBitArray(), width);
+      return row;
+    }
+
+    @Override
+    public BitMatrix getBlackMatrix() throws NotFoundException {
+      BitMatrix parentMatrix = parentAnalysis.getMatrix(parent);
+      int width = getWidth();
+      int height = getHeight();
+      BitMatrix matrix = new BitMatrix(width, height);
+      BitArray parentRow = new BitArray(parentMatrix.getWidth());
+      BitArray row = new BitArray(width);
+      for (int y = 0; y < height; y++) {
+        parentRow = parentMatrix.getRow(top + y, parentRow);
+        copyBits(parentRow.getBitArray(), left, row.getBitArray(), width);
+        matrix.setRow(y, row);
+      }
+      return matrix;
+    }
+
+    @Override
+    public Binarizer createBinarizer(LuminanceSource source) {
+      // Anything but a window, like a rotation, binarizes its own image again
+      return parent.createBinarizer(source);
+    }
+
+    // Copies width bits, starting at bit offset of from, to the start of to
+    private static void copyBits(int[] from, int offset, int[] to, int width) {
+      int start = offset >> 5;
+      int shift = offset & 0x1F;
+      int words = (width + 31) >> 5;
+      for (int i = 0; i < words; i++) {
+        int word = from[start + i] >>> shift;
+        if (shift != 0 && start + i + 1 < from.length) {
+          word |= from[start + i + 1] << (32 - shift);
+        }
+        to[i] = word;
+      }
+      int remainingBits = width & 0x1F;
+      if (remainingBits > 0) {
+        to[words - 1] &= (1 << remainingBits) - 1;
+      }
+    }
+
+  }
+
+  /**
+   * What has been computed so far from one image, shared by a bitmap and its inverted view.
+   */
+  private static final class Analysis {
+
+    private static final BitArray NOT_FOUND = new BitArray(0);
+
+    private BitMatrix matrix;
+    private BitMatrix invertedMatrix;
+    private BitArray[] rows;
+    private RunLengthRow[] rowRuns;
+    private BinaryBitmap rotatedCounterClockwise;
+
+    synchronized BitMatrix getMatrix(Binarizer binarizer) throws NotFoundException {
+      if (matrix == null) {
+        matrix = binarizer.getBlackMatrix();
+      }
+      return matrix;
+    }
+
+    synchronized BitMatrix getInvertedMatrix(Binarizer binarizer) throws NotFoundException {
+      if (invertedMatrix == null) {
+        invertedMatrix = getMatrix(binarizer).clone();
+        invertedMatrix.flip();
+      }
+      return invertedMatrix;
+    }
+
+    // Only called while holding the lock, since binarizers reuse buffers between rows
+    private BitArray getCachedRow(Binarizer binarizer, int y) throws NotFoundException {
+      if (rows == null) {
+        rows = new BitArray[binarizer.getHeight()];
+      }
+      BitArray cached = rows[y];
+      if (cached == null) {
+        try {
+          // Copied, since the binarizer is free to return the same array for every row
+          cached = binarizer.getBlackRow(y, null).clone();
+        } catch (NotFoundException nfe) {
+          cached = NOT_FOUND;
+        }
+        rows[y] = cached;
+      }
+      if (cached == NOT_FOUND) {
+        throw NotFoundException.getNotFoundInstance();
+      }
+      return cached;
+    }
+
+    synchronized BitArray getRow(Binarizer binarizer, int y, BitArray row) throws NotFoundException {
+      BitArray cached = getCachedRow(binarizer, y);
+      if (row == null || row.getSize() < cached.getSize()) {
+        return cached.clone();
+      }
+      row.clear();
+      int[] cachedBits = cached.getBitArray();
+      System.arraycopy(cachedBits, 0, row.getBitArray(), 0, cachedBits.length);
+      return row;
+    }
+
+    synchronized RunLengthRow getRowRuns(Binarizer binarizer, int y) throws NotFoundException {
+      BitArray cached = getCachedRow(binarizer, y);
+      if (rowRuns == null) {
+        rowRuns = new RunLengthRow[rows.length];
+      }
+      RunLengthRow runs = rowRuns[y];
+      if (runs == null) {
+        runs = new RunLengthRow(cached);
+        rowRuns[y] = runs;
+      }
+      return runs;
+    }
+
+    synchronized BinaryBitmap getRotatedCounterClockwise(Binarizer binarizer) {
+      if (rotatedCounterClockwise == null) {
+        LuminanceSource newSource = binarizer.getLuminanceSource().rotateCounterClockwise();
+        rotatedCounterClockwise = new BinaryBitmap(binarizer.createBinarizer(newSource));
+      }
+      return rotatedCounterClockwise;
+    }
+
+  }
+
 }
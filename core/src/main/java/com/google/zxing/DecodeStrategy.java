@@ -0,0 +1,266 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing;
+
+import com.google.zxing.multi.GenericMultipleBarcodeReader;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * <p>Decodes an image with a cascade of stages, each trying a binarizer and hints of its own,
+ * until one of them finds a barcode. For example, a server which must find something in any
+ * image it is sent might first look for all barcodes with a {@code GlobalHistogramBinarizer},
+ * then for one pure barcode, then try a {@code HybridBinarizer}.</p>
+ *
+ * <p>Stages share what they compute: all stages given the same {@link BinarizerFactory} instance
+ * decode the same {@link BinaryBitmap}, so the image is binarized once for all of them. A stage
+ * which would decode the same bitmap with the same hints as an earlier stage is dropped when it
+ * is added, since it could only fail as the earlier stage did; looking for all barcodes starts by
+ * looking for one, so this includes a stage looking for one barcode after a stage looking for
+ * all of them, and the other way around.</p>
+ *
+ * <p>Stages run one after another in the calling thread, which stops before starting another
+ * stage once it is interrupted or the time budget has passed. Given an {@link ExecutorService},
+ * all stages start at once instead, and the results are those of the first stage in the cascade
+ * which finds a barcode, as if they had run one after another; the others are cancelled. Stages
+ * still running when the time budget passes are cancelled too.</p>
+ *
+ * <p>Stages must be added before the strategy is used. It may then decode images in several
+ * threads at once; each thread keeps its own readers.</p>
+ */
+public final class DecodeStrategy {
+
+  /**
+   * Creates the binarizer with which a stage decodes an image, from the image's luminance.
+   */
+  public interface BinarizerFactory {
+    Binarizer createBinarizer(LuminanceSource source);
+  }
+
+  private final long timeBudgetMillis;
+  private final ExecutorService executor;
+  private final List<Stage> stages = new ArrayList<>();
+
+  public DecodeStrategy() {
+    this(0L, null);
+  }
+
+  /**
+   * @param timeBudgetMillis how long decoding one image may take, in milliseconds; or 0 for no
+   *  limit
+   * @param executor executor on which to run all stages at once, or null to run them one after
+   *  another in the calling thread
+   */
+  public DecodeStrategy(long timeBudgetMillis, ExecutorService executor) {
+    if (timeBudgetMillis < 0) {
+      throw new IllegalArgumentException("Invalid time budget");
+    }
+    this.timeBudgetMillis = timeBudgetMillis;
+    this.executor = executor;
+  }
+
+  /**
+   * Adds a stage which looks for one barcode.
+   *
+   * @param binarizer binarizer to decode the image with, or null to decode it as given
+   * @param hints hints to decode with, or null
+   * @return this strategy
+   */
+  public DecodeStrategy addStage(BinarizerFactory binarizer, Map<DecodeHintType,?> hints) {
+    return add(new Stage(binarizer, hints, false));
+  }
+
+  /**
+   * Adds a stage which looks for all barcodes, with a {@link GenericMultipleBarcodeReader}.
+   *
+   * @param binarizer binarizer to decode the image with, or null to decode it as given
+   * @param hints hints to decode with, or null
+   * @return this strategy
+   */
+  public DecodeStrategy addMultipleStage(BinarizerFactory binarizer, Map<DecodeHintType,?> hints) {
+    return add(new Stage(binarizer, hints, true));
+  }
+
+  private DecodeStrategy add(Stage stage) {
+    for (Stage earlier : stages) {
+      if (earlier.binarizer == stage.binarizer && Objects.equals(earlier.hints, stage.hints)) {
+        return this;
+      }
+    }
+    stages.add(stage);
+    return this;
+  }
+
+  // Not private for testing
+  int getStageCount() {
+    return stages.size();
+  }
+
+  /**
+   * @param image image to decode; stages with a binarizer decode its luminance source, inverted
+   *  if the image is
+   * @return results of the first stage which finds a barcode
+   * @throws NotFoundException if no stage finds one, before the time budget passes
+   */
+  public Result[] decode(BinaryBitmap image) throws NotFoundException {
+    if (stages.isEmpty()) {
+      throw NotFoundException.getNotFoundInstance();
+    }
+    long deadline = timeBudgetMillis == 0 ? Long.MAX_VALUE : System.nanoTime() +
+        TimeUnit.MILLISECONDS.toNanos(timeBudgetMillis);
+    Map<BinarizerFactory,BinaryBitmap> bitmaps = new IdentityHashMap<>();
+    if (executor == null) {
+      return decodeSerially(image, bitmaps, deadline);
+    }
+    return decodeConcurrently(image, bitmaps, deadline);
+  }
+
+  private Result[] decodeSerially(BinaryBitmap image,
+                                  Map<BinarizerFactory,BinaryBitmap> bitmaps,
+                                  long deadline) throws NotFoundException {
+    for (Stage stage : stages) {
+      if (Thread.currentThread().isInterrupted() || System.nanoTime() - deadline > 0) {
+        break;
+      }
+      try {
+        return stage.decode(getBitmap(image, stage.binarizer, bitmaps));
+      } catch (NotFoundException nfe) {
+        // continue
+      }
+    }
+    throw NotFoundException.getNotFoundInstance();
+  }
+
+  private Result[] decodeConcurrently(BinaryBitmap image,
+                                      Map<BinarizerFactory,BinaryBitmap> bitmaps,
+                                      long deadline) throws NotFoundException {
+    // Bitmaps are created up front, so that stages sharing one don't race to create it
+    List<Future<Result[]>> futures = new ArrayList<>(stages.size());
+    for (Stage stage : stages) {
+      futures.add(executor.submit(new StageTask(stage, getBitmap(image, stage.binarizer, bitmaps))));
+    }
+    try {
+      for (Future<Result[]> future : futures) {
+        try {
+          if (deadline == Long.MAX_VALUE) {
+            return future.get();
+          }
+          return future.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException ee) {
+          Throwable cause = ee.getCause();
+          if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+          }
+          if (cause instanceof Error) {
+            throw (Error) cause;
+          }
+          // A NotFoundException; continue
+        }
+      }
+    } catch (InterruptedException ie) {
+      Thread.currentThread().interrupt();
+    } catch (TimeoutException te) {
+      // Out of time; give up on the stages still running
+    } finally {
+      for (Future<Result[]> future : futures) {
+        future.cancel(true);
+      }
+    }
+    throw NotFoundException.getNotFoundInstance();
+  }
+
+  private static BinaryBitmap getBitmap(BinaryBitmap image,
+                                        BinarizerFactory binarizer,
+                                        Map<BinarizerFactory,BinaryBitmap> bitmaps) {
+    if (binarizer == null) {
+      return image;
+    }
+    BinaryBitmap bitmap = bitmaps.get(binarizer);
+    if (bitmap == null) {
+      bitmap = new BinaryBitmap(binarizer.createBinarizer(image.getLuminanceSource()));
+      if (image.isInverted()) {
+        bitmap = bitmap.invert();
+      }
+      bitmaps.put(binarizer, bitmap);
+    }
+    return bitmap;
+  }
+
+  private static final class Stage {
+
+    private final BinarizerFactory binarizer;
+    private final Map<DecodeHintType,?> hints;
+    private final boolean multiple;
+    // Readers keep state, so each thread gets its own, set up once with the stage's hints
+    private final ThreadLocal<MultiFormatReader> readers = new ThreadLocal<MultiFormatReader>() {
+      @Override
+      protected MultiFormatReader initialValue() {
+        MultiFormatReader reader = new MultiFormatReader();
+        reader.setHints(Stage.this.hints);
+        return reader;
+      }
+    };
+
+    Stage(BinarizerFactory binarizer, Map<DecodeHintType,?> hints, boolean multiple) {
+      this.binarizer = binarizer;
+      this.hints = hints;
+      this.multiple = multiple;
+    }
+
+    Result[] decode(BinaryBitmap bitmap) throws NotFoundException {
+      MultiFormatReader reader = readers.get();
+      try {
+        if (multiple) {
+          return new GenericMultipleBarcodeReader(reader).decodeMultiple(bitmap, hints);
+        }
+        return new Result[] {reader.decodeWithState(bitmap)};
+      } finally {
+        // Some readers remember what they saw in earlier rows of the image
+        reader.reset();
+      }
+    }
+
+  }
+
+  private static final class StageTask implements Callable<Result[]> {
+
+    private final Stage stage;
+    private final BinaryBitmap bitmap;
+
+    StageTask(Stage stage, BinaryBitmap bitmap) {
+      this.stage = stage;
+      this.bitmap = bitmap;
+    }
+
+    @Override
+    public Result[] call() throws NotFoundException {
+      return stage.decode(bitmap);
+    }
+
+  }
+
+}
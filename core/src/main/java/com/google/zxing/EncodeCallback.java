@@ -0,0 +1,30 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing;
+
+import com.google.zxing.common.BitMatrix;
+
+/**
+ * Callback which is invoked with each barcode encoded by
+ * {@link MultiFormatWriter#encodeAll(Iterable, BarcodeFormat, int, int, java.util.Map, EncodeCallback)},
+ * in the order of the contents, on the thread which called it.
+ */
+public interface EncodeCallback {
+
+  void encoded(String contents, BitMatrix matrix);
+
+}
@@ -24,8 +24,18 @@ import com.google.zxing.pdf417.PDF417Reader;
 import com.google.zxing.qrcode.QRCodeReader;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
 
 /**
  * MultiFormatReader is a convenience class and the main entry point into the library for most uses.
@@ -38,9 +48,15 @@ import java.util.Map;
 public final class MultiFormatReader implements Reader {
 
   private static final Reader[] EMPTY_READER_ARRAY = new Reader[0];
+  // In adaptive mode, readers are reordered after this many decodes
+  private static final int REORDER_INTERVAL = 32;
 
   private Map<DecodeHintType,?> hints;
   private Reader[] readers;
+  private ReaderStatistics[] statistics;
+  private Executor executor;
+  private boolean adaptive;
+  private int decodesSinceReorder;
 
   /**
    * This version of decode honors the intent of Reader.decode(BinaryBitmap) in that it
@@ -96,7 +112,63 @@ public final class MultiFormatReader implements Reader {
    */
   public void setHints(Map<DecodeHintType,?> hints) {
     this.hints = hints;
+    this.readers = createReaders(hints);
+    statistics = new ReaderStatistics[readers.length];
+    for (int i = 0; i < readers.length; i++) {
+      statistics[i] = new ReaderStatistics(readers[i].getClass().getSimpleName());
+    }
+    decodesSinceReorder = 0;
+  }
+
+  /**
+   * In adaptive mode, the order in which readers are tried is regularly updated from the statistics
+   * returned by {@link #getReaderStatistics()}, so that readers which often find a barcode quickly are
+   * tried first. This speeds up decoding when some formats are much more common than others.
+   * Adaptive ordering only applies to sequential decoding; see {@link #setExecutor(Executor)}.
+   *
+   * @param adaptive true to reorder readers by their statistics, false to keep the order set up by
+   *  {@link #setHints(Map)}, which is the default
+   */
+  public void setAdaptive(boolean adaptive) {
+    this.adaptive = adaptive;
+  }
+
+  /**
+   * Statistics are collected for each reader when decoding sequentially, and are reset by
+   * {@link #setHints(Map)}. As with the rest of this class, they must not be read while another
+   * thread is decoding.
+   *
+   * @return a snapshot of the statistics of each reader, in the order the readers are currently tried
+   */
+  public List<ReaderStatistics> getReaderStatistics() {
+    if (statistics == null) {
+      return Collections.emptyList();
+    }
+    List<ReaderStatistics> snapshot = new ArrayList<>(statistics.length);
+    for (ReaderStatistics readerStatistics : statistics) {
+      snapshot.add(new ReaderStatistics(readerStatistics));
+    }
+    return snapshot;
+  }
+
+  /**
+   * Makes subsequent calls to decode run all readers at once on the given executor, and return
+   * the first result found. Readers which have not started yet when a result is found are skipped,
+   * and the threads running the others are interrupted. This lowers latency, particularly when
+   * no barcode is found, at the cost of more total work.
+   *
+   * <p>Readers left running may still use the image after decode has returned, so it must not
+   * be modified afterwards. For the same reason each decode uses new readers, instead of the ones
+   * kept by {@link #setHints(Map)}.</p>
+   *
+   * @param executor executor on which to run readers, or null to run them one after the other
+   *  on the calling thread, which is the default
+   */
+  public void setExecutor(Executor executor) {
+    this.executor = executor;
+  }
 
+  private static Reader[] createReaders(Map<DecodeHintType,?> hints) {
     boolean tryHarder = hints != null && hints.containsKey(DecodeHintType.TRY_HARDER);
     @SuppressWarnings("unchecked")
     Collection<BarcodeFormat> formats =
@@ -154,7 +226,7 @@ public final class MultiFormatReader implements Reader {
         readers.add(new MultiFormatOneDReader(hints));
       }
     }
-    this.readers = readers.toArray(EMPTY_READER_ARRAY);
+    return readers.toArray(EMPTY_READER_ARRAY);
   }
 
   @Override
@@ -168,32 +240,132 @@ public final class MultiFormatReader implements Reader {
 
   private Result decodeInternal(BinaryBitmap image) throws NotFoundException {
     if (readers != null) {
-      for (Reader reader : readers) {
-        if (Thread.currentThread().isInterrupted()) {
-          throw NotFoundException.getNotFoundInstance();
-        }
-        try {
-          return reader.decode(image, hints);
-        } catch (ReaderException re) {
-          // continue
-        }
+      if (executor != null) {
+        return decodeInParallel(image);
+      }
+      if (adaptive && ++decodesSinceReorder >= REORDER_INTERVAL) {
+        reorderReaders();
       }
-      if (hints != null && hints.containsKey(DecodeHintType.ALSO_INVERTED)) {
+      Result result = decodeSequentially(image);
+      if (result == null && hints != null && hints.containsKey(DecodeHintType.ALSO_INVERTED)) {
         // Calling all readers again with inverted image
-        image.getBlackMatrix().flip();
-        for (Reader reader : readers) {
-          if (Thread.currentThread().isInterrupted()) {
-            throw NotFoundException.getNotFoundInstance();
+        result = decodeSequentially(image.invert());
+      }
+      if (result != null) {
+        return result;
+      }
+    }
+    throw NotFoundException.getNotFoundInstance();
+  }
+
+  private Result decodeSequentially(BinaryBitmap image) throws NotFoundException {
+    for (int i = 0; i < readers.length; i++) {
+      if (Thread.currentThread().isInterrupted()) {
+        throw NotFoundException.getNotFoundInstance();
+      }
+      long start = System.nanoTime();
+      try {
+        Result result = readers[i].decode(image, hints);
+        statistics[i].record(true, System.nanoTime() - start);
+        return result;
+      } catch (ReaderException re) {
+        statistics[i].record(false, System.nanoTime() - start);
+        // continue
+      }
+    }
+    return null;
+  }
+
+  private void reorderReaders() {
+    decodesSinceReorder = 0;
+    Integer[] order = new Integer[readers.length];
+    for (int i = 0; i < order.length; i++) {
+      order[i] = i;
+    }
+    // Stable, so that readers with equal priority stay in their current order
+    Arrays.sort(order, new Comparator<Integer>() {
+      @Override
+      public int compare(Integer a, Integer b) {
+        return Double.compare(statistics[b].getPriority(), statistics[a].getPriority());
+      }
+    });
+    Reader[] newReaders = new Reader[readers.length];
+    ReaderStatistics[] newStatistics = new ReaderStatistics[statistics.length];
+    for (int i = 0; i < order.length; i++) {
+      newReaders[i] = readers[order[i]];
+      newStatistics[i] = statistics[order[i]];
+    }
+    readers = newReaders;
+    statistics = newStatistics;
+  }
+
+  private Result decodeInParallel(BinaryBitmap image) throws NotFoundException {
+    Reader[] parallelReaders = createReaders(hints);
+    Result result = raceReaders(parallelReaders, image);
+    if (result == null && hints != null && hints.containsKey(DecodeHintType.ALSO_INVERTED)) {
+      result = raceReaders(parallelReaders, image.invert());
+    }
+    if (result == null) {
+      throw NotFoundException.getNotFoundInstance();
+    }
+    return result;
+  }
+
+  /**
+   * @return the result of whichever reader finds a barcode first, or null if none does, in which
+   *  case all readers have finished
+   */
+  private Result raceReaders(Reader[] parallelReaders, BinaryBitmap image) throws NotFoundException {
+    CompletionService<Result> completionService = new ExecutorCompletionService<>(executor);
+    Collection<Future<Result>> futures = new ArrayList<>(parallelReaders.length);
+    try {
+      for (Reader reader : parallelReaders) {
+        futures.add(completionService.submit(new ReaderTask(reader, image, hints)));
+      }
+      for (int i = 0; i < parallelReaders.length; i++) {
+        try {
+          return completionService.take().get();
+        } catch (ExecutionException ee) {
+          Throwable cause = ee.getCause();
+          if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
           }
-          try {
-            return reader.decode(image, hints);
-          } catch (ReaderException re) {
-            // continue
+          if (cause instanceof Error) {
+            throw (Error) cause;
           }
+          // A ReaderException; continue
         }
       }
+      return null;
+    } catch (InterruptedException ie) {
+      Thread.currentThread().interrupt();
+      throw NotFoundException.getNotFoundInstance();
+    } finally {
+      for (Future<Result> future : futures) {
+        future.cancel(true);
+      }
+    }
+  }
+
+  private static final class ReaderTask implements Callable<Result> {
+
+    private final Reader reader;
+    private final BinaryBitmap image;
+    private final Map<DecodeHintType,?> hints;
+
+    ReaderTask(Reader reader, BinaryBitmap image, Map<DecodeHintType,?> hints) {
+      this.reader = reader;
+      this.image = image;
+      this.hints = hints;
+    }
+
+    @Override
+    public Result call() throws ReaderException {
+      if (Thread.currentThread().isInterrupted()) {
+        throw NotFoundException.getNotFoundInstance();
+      }
+      return reader.decode(image, hints);
     }
-    throw NotFoundException.getNotFoundInstance();
   }
 
 }
@@ -31,7 +31,12 @@ import com.google.zxing.oned.UPCEWriter;
 import com.google.zxing.pdf417.PDF417Writer;
 import com.google.zxing.qrcode.QRCodeWriter;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * This is a factory class which finds the appropriate Writer subclass for the BarcodeFormat
@@ -41,6 +46,11 @@ import java.util.Map;
  */
 public final class MultiFormatWriter implements Writer {
 
+  // Contents encoded by one task when encoding in parallel
+  private static final int CONTENTS_PER_TASK = 16;
+  // Tasks per pool thread in one batch, which bounds the results waiting to be passed on
+  private static final int TASKS_PER_THREAD = 4;
+
   @Override
   public BitMatrix encode(String contents,
                           BarcodeFormat format,
@@ -54,7 +64,88 @@ public final class MultiFormatWriter implements Writer {
                           BarcodeFormat format,
                           int width, int height,
                           Map<EncodeHintType,?> hints) throws WriterException {
+    return createWriter(format).encode(contents, format, width, height, hints);
+  }
+
+  /**
+   * Encodes many contents in the same format, with the same size and hints, such as a batch of
+   * labels. Each barcode is the same as {@link #encode(String, BarcodeFormat, int, int, Map)} gives.
+   *
+   * @param contents contents to encode
+   * @param format the barcode format to generate
+   * @param width the preferred width in pixels
+   * @param height the preferred height in pixels
+   * @param hints additional parameters to supply to the encoder
+   * @param callback receives each barcode as soon as it is encoded
+   * @throws WriterException if some contents can't be encoded; barcodes for all contents before
+   *  it have been passed to the callback
+   */
+  public void encodeAll(Iterable<String> contents,
+                        BarcodeFormat format,
+                        int width,
+                        int height,
+                        Map<EncodeHintType,?> hints,
+                        EncodeCallback callback) throws WriterException {
+    encodeAll(contents, format, width, height, hints, null, callback);
+  }
+
+  /**
+   * Like {@link #encodeAll(Iterable, BarcodeFormat, int, int, Map, EncodeCallback)}, but may
+   * encode on the threads of a pool. Contents are then taken in batches, of a few times as many
+   * contents as the pool has threads, and a batch's barcodes are passed to the callback once
+   * they are all encoded. The callback is still called on the calling thread, in order.
+   *
+   * @param contents contents to encode
+   * @param format the barcode format to generate
+   * @param width the preferred width in pixels
+   * @param height the preferred height in pixels
+   * @param hints additional parameters to supply to the encoder
+   * @param pool pool on which to encode, or null to encode on the calling thread
+   * @param callback receives each barcode, in the order of the contents
+   * @throws WriterException if some contents can't be encoded; barcodes for all contents before
+   *  it have been passed to the callback
+   */
+  public void encodeAll(Iterable<String> contents,
+                        BarcodeFormat format,
+                        int width,
+                        int height,
+                        Map<EncodeHintType,?> hints,
+                        ForkJoinPool pool,
+                        EncodeCallback callback) throws WriterException {
+    Writer writer = createWriter(format);
+    if (pool == null) {
+      for (String content : contents) {
+        callback.encoded(content, writer.encode(content, format, width, height, hints));
+      }
+      return;
+    }
+
+    int batchSize = CONTENTS_PER_TASK * TASKS_PER_THREAD * pool.getParallelism();
+    List<String> batch = new ArrayList<>(batchSize);
+    BitMatrix[] matrices = new BitMatrix[batchSize];
+    Exception[] failures = new Exception[batchSize];
+    Iterator<String> iterator = contents.iterator();
+    while (iterator.hasNext()) {
+      batch.clear();
+      while (batch.size() < batchSize && iterator.hasNext()) {
+        batch.add(iterator.next());
+      }
+      pool.invoke(new EncodeTask(writer, batch, 0, batch.size(), format, width, height, hints, matrices, failures));
+      for (int i = 0; i < batch.size(); i++) {
+        Exception failure = failures[i];
+        if (failure != null) {
+          if (failure instanceof WriterException) {
+            throw (WriterException) failure;
+          }
+          throw (RuntimeException) failure;
+        }
+        callback.encoded(batch.get(i), matrices[i]);
+        matrices[i] = null;
+      }
+    }
+  }
 
+  private static Writer createWriter(BarcodeFormat format) {
     Writer writer;
     switch (format) {
       case EAN_8:
@@ -99,7 +190,68 @@ public final class MultiFormatWriter implements Writer {
       default:
         throw new IllegalArgumentException("No encoder available for format " + format);
     }
-    return writer.encode(contents, format, width, height, hints);
+    return writer;
+  }
+
+  /**
+   * Encodes a range of a batch, splitting it among pool threads. Writers keep no state, so they
+   * share one. A failure is recorded instead of thrown, so that it is reported in the order of
+   * the contents.
+   */
+  private static final class EncodeTask extends RecursiveAction {
+
+    private final Writer writer;
+    private final List<String> batch;
+    private final int start;
+    private final int end;
+    private final BarcodeFormat format;
+    private final int width;
+    private final int height;
+    private final Map<EncodeHintType,?> hints;
+    private final BitMatrix[] matrices;
+    private final Exception[] failures;
+
+    EncodeTask(Writer writer,
+               List<String> batch,
+               int start,
+               int end,
+               BarcodeFormat format,
+               int width,
+               int height,
+               Map<EncodeHintType,?> hints,
+               BitMatrix[] matrices,
+               Exception[] failures) {
+      this.writer = writer;
+      this.batch = batch;
+      this.start = start;
+      this.end = end;
+      this.format = format;
+      this.width = width;
+      this.height = height;
+      this.hints = hints;
+      this.matrices = matrices;
+      this.failures = failures;
+    }
+
+    @Override
+    protected void compute() {
+      if (end - start > CONTENTS_PER_TASK) {
+        int middle = (start + end) >>> 1;
+        invokeAll(new EncodeTask(writer, batch, start, middle, format, width, height, hints, matrices, failures),
+                  new EncodeTask(writer, batch, middle, end, format, width, height, hints, matrices, failures));
+        return;
+      }
+      for (int i = start; i < end; i++) {
+        try {
+          matrices[i] = writer.encode(batch.get(i), format, width, height, hints);
+          failures[i] = null;
+        } catch (WriterException | RuntimeException e) {
+          matrices[i] = null;
+          failures[i] = e;
+        }
+      }
+    }
+
   }
 
 }
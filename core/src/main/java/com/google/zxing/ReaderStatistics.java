@@ -0,0 +1,101 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing;
+
+/**
+ * <p>How often one of the readers used by {@link MultiFormatReader} was tried, how often it found
+ * a barcode, and how long it took. See {@link MultiFormatReader#getReaderStatistics()}.</p>
+ */
+public final class ReaderStatistics {
+
+  private final String readerName;
+  private long attempts;
+  private long successes;
+  private long totalNanos;
+
+  ReaderStatistics(String readerName) {
+    this.readerName = readerName;
+  }
+
+  ReaderStatistics(ReaderStatistics other) {
+    readerName = other.readerName;
+    attempts = other.attempts;
+    successes = other.successes;
+    totalNanos = other.totalNanos;
+  }
+
+  void record(boolean success, long nanos) {
+    attempts++;
+    if (success) {
+      successes++;
+    }
+    totalNanos += nanos;
+  }
+
+  /**
+   * @return simple class name of the reader, like "QRCodeReader" or "MultiFormatOneDReader"
+   */
+  public String getReaderName() {
+    return readerName;
+  }
+
+  public long getAttempts() {
+    return attempts;
+  }
+
+  public long getSuccesses() {
+    return successes;
+  }
+
+  /**
+   * @return total time spent in the reader, in nanoseconds
+   */
+  public long getTotalNanos() {
+    return totalNanos;
+  }
+
+  /**
+   * @return fraction of attempts which found a barcode, or 0 if there were none
+   */
+  public double getSuccessRate() {
+    return attempts == 0 ? 0.0 : (double) successes / attempts;
+  }
+
+  /**
+   * @return average time spent in the reader per attempt, in nanoseconds, or 0 if there were none
+   */
+  public double getAverageNanos() {
+    return attempts == 0 ? 0.0 : (double) totalNanos / attempts;
+  }
+
+  /**
+   * Trying readers in decreasing order of success probability per unit of time minimizes the
+   * expected time to the first success. Both are smoothed so that readers with few attempts,
+   * and those never tried, get a chance to move up.
+   */
+  double getPriority() {
+    double probability = (successes + 1.0) / (attempts + 2.0);
+    double cost = (totalNanos + 1.0) / (attempts + 1.0);
+    return probability / cost;
+  }
+
+  @Override
+  public String toString() {
+    return readerName + ": " + successes + '/' + attempts + ", " + (long) getAverageNanos() + "ns avg";
+  }
+
+}
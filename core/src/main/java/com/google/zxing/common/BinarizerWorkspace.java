@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing.common;
+
+/**
+ * <p>Buffers which {@link GlobalHistogramBinarizer} and {@link HybridBinarizer} can reuse from
+ * one image to the next, instead of allocating them for every image. This is meant for continuous
+ * scanning, where each frame gets a new binarizer: pass the same workspace to each of them.
+ * Buffers are kept as long as images have the same size.</p>
+ *
+ * <p>A workspace must only be used by one binarizer at a time, and the {@link BitMatrix} returned
+ * by a binarizer's {@code getBlackMatrix()} is overwritten by the next binarizer using the
+ * workspace. Callers must therefore be done with one image before binarizing the next.</p>
+ */
+public final class BinarizerWorkspace {
+
+  private byte[] luminances;
+  private int[] buckets;
+  private int[][] blackPoints;
+  private BitMatrix matrix;
+
+  public BinarizerWorkspace() {
+    luminances = new byte[0];
+  }
+
+  /**
+   * @return an array of at least the given size, with undefined content
+   */
+  byte[] getLuminances(int size) {
+    if (luminances.length < size) {
+      luminances = new byte[size];
+    }
+    return luminances;
+  }
+
+  /**
+   * @return an array of exactly the given size, with undefined content
+   */
+  int[] getBuckets(int count) {
+    if (buckets == null || buckets.length != count) {
+      buckets = new int[count];
+    }
+    return buckets;
+  }
+
+  /**
+   * @return a subHeight x subWidth array, with undefined content
+   */
+  int[][] getBlackPoints(int subWidth, int subHeight) {
+    if (blackPoints == null || blackPoints.length != subHeight || blackPoints[0].length != subWidth) {
+      blackPoints = new int[subHeight][subWidth];
+    }
+    return blackPoints;
+  }
+
+  /**
+   * @return a cleared matrix of the given size
+   */
+  BitMatrix getMatrix(int width, int height) {
+    if (matrix == null || matrix.getWidth() != width || matrix.getHeight() != height) {
+      matrix = new BitMatrix(width, height);
+    } else {
+      matrix.clear();
+    }
+    return matrix;
+  }
+
+}
@@ -173,6 +173,26 @@ public final class BitMatrix implements Cloneable {
     bits[offset] |= 1 << (x & 0x1f);
   }
 
+  /**
+   * <p>Sets bits to true where the given pattern has a 1 bit, the lowest bit of the pattern
+   * giving the bit at x. Set bits of the pattern must fall within the row.</p>
+   *
+   * @param x The horizontal component of the first bit
+   * @param y The vertical component (i.e. which row)
+   * @param pattern Up to 32 bits to set, starting with bit x at the least significant bit
+   */
+  void setBits(int x, int y, int pattern) {
+    int offset = y * rowSize + (x / 32);
+    int shift = x & 0x1f;
+    bits[offset] |= pattern << shift;
+    if (shift != 0) {
+      int high = pattern >>> (32 - shift);
+      if (high != 0) {
+        bits[offset + 1] |= high;
+      }
+    }
+  }
+
   public void unset(int x, int y) {
     int offset = y * rowSize + (x / 32);
     bits[offset] &= ~(1 << (x & 0x1f));
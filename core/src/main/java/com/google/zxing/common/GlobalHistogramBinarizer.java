@@ -38,13 +38,24 @@ public class GlobalHistogramBinarizer extends Binarizer {
   private static final int LUMINANCE_BUCKETS = 1 << LUMINANCE_BITS;
   private static final byte[] EMPTY = new byte[0];
 
+  private final BinarizerWorkspace workspace;
   private byte[] luminances;
   private final int[] buckets;
 
   public GlobalHistogramBinarizer(LuminanceSource source) {
+    this(source, null);
+  }
+
+  /**
+   * @param source the LuminanceSource to binarize
+   * @param workspace buffers to reuse from previous images, or null to allocate them.
+   *  See {@link BinarizerWorkspace} for the constraints this puts on callers.
+   */
+  public GlobalHistogramBinarizer(LuminanceSource source, BinarizerWorkspace workspace) {
     super(source);
+    this.workspace = workspace;
     luminances = EMPTY;
-    buckets = new int[LUMINANCE_BUCKETS];
+    buckets = workspace == null ? new int[LUMINANCE_BUCKETS] : workspace.getBuckets(LUMINANCE_BUCKETS);
   }
 
   // Applies simple sharpening to the row data to improve performance of the 1D Readers.
@@ -95,18 +106,19 @@ public class GlobalHistogramBinarizer extends Binarizer {
     LuminanceSource source = getLuminanceSource();
     int width = source.getWidth();
     int height = source.getHeight();
-    BitMatrix matrix = new BitMatrix(width, height);
+    BitMatrix matrix = newMatrix(width, height);
 
     // Quickly calculates the histogram by sampling four rows from the image. This proved to be
     // more robust on the blackbox tests than sampling a diagonal as we used to do.
-    initArrays(width);
-    int[] localBuckets = buckets;
+    // This doesn't use the buffers of getBlackRow(), so that 1D readers can call it at the same time.
+    int[] localBuckets = new int[LUMINANCE_BUCKETS];
+    byte[] rowLuminances = null;
     for (int y = 1; y < 5; y++) {
       int row = height * y / 5;
-      byte[] localLuminances = source.getRow(row, luminances);
+      rowLuminances = source.getRow(row, rowLuminances);
       int right = (width * 4) / 5;
       for (int x = width / 5; x < right; x++) {
-        int pixel = localLuminances[x] & 0xff;
+        int pixel = rowLuminances[x] & 0xff;
         localBuckets[pixel >> LUMINANCE_SHIFT]++;
       }
     }
@@ -134,9 +146,16 @@ public class GlobalHistogramBinarizer extends Binarizer {
     return new GlobalHistogramBinarizer(source);
   }
 
+  /**
+   * @return a new empty matrix, or the workspace's matrix cleared if there is a workspace
+   */
+  BitMatrix newMatrix(int width, int height) {
+    return workspace == null ? new BitMatrix(width, height) : workspace.getMatrix(width, height);
+  }
+
   private void initArrays(int luminanceSize) {
     if (luminances.length < luminanceSize) {
-      luminances = new byte[luminanceSize];
+      luminances = workspace == null ? new byte[luminanceSize] : workspace.getLuminances(luminanceSize);
     }
     for (int x = 0; x < LUMINANCE_BUCKETS; x++) {
       buckets[x] = 0;
@@ -20,6 +20,9 @@ import com.google.zxing.Binarizer;
 import com.google.zxing.LuminanceSource;
 import com.google.zxing.NotFoundException;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
 /**
  * This class implements a local thresholding algorithm, which while slower than the
  * GlobalHistogramBinarizer, is fairly efficient for what it does. It is designed for
@@ -34,6 +37,7 @@ import com.google.zxing.NotFoundException;
  * but for now it was not a win to use local blocks for 1D.
  *
  * This Binarizer is the default for the unit tests and the recommended class for library users.
+ * Given a {@link ForkJoinPool}, it binarizes large images in parallel, with identical results.
  *
  * @author dswitkin@google.com (Daniel Switkin)
  */
@@ -46,11 +50,40 @@ public final class HybridBinarizer extends GlobalHistogramBinarizer {
   private static final int BLOCK_SIZE_MASK = BLOCK_SIZE - 1;   // ...0011...11
   private static final int MINIMUM_DIMENSION = BLOCK_SIZE * 5;
   private static final int MIN_DYNAMIC_RANGE = 24;
+  // The least number of block rows binarized by one task in parallel mode. It must be at least 2:
+  // when the height is not a multiple of BLOCK_SIZE, the last two block rows overlap, and are
+  // therefore never given to different tasks.
+  private static final int MIN_STRIPE_BLOCK_ROWS = 32;
 
+  private final ForkJoinPool pool;
+  private final BinarizerWorkspace workspace;
   private BitMatrix matrix;
 
   public HybridBinarizer(LuminanceSource source) {
-    super(source);
+    this(source, null, null);
+  }
+
+  /**
+   * Creates a binarizer which may split large images into horizontal stripes and binarize them
+   * in parallel. The result is exactly the same as binarizing on the calling thread.
+   *
+   * @param source the LuminanceSource to binarize
+   * @param pool pool on which to binarize stripes of the image, or null to use only the calling thread
+   */
+  public HybridBinarizer(LuminanceSource source, ForkJoinPool pool) {
+    this(source, pool, null);
+  }
+
+  /**
+   * @param source the LuminanceSource to binarize
+   * @param pool pool on which to binarize stripes of the image, or null to use only the calling thread
+   * @param workspace buffers to reuse from previous images, or null to allocate them.
+   *  See {@link BinarizerWorkspace} for the constraints this puts on callers.
+   */
+  public HybridBinarizer(LuminanceSource source, ForkJoinPool pool, BinarizerWorkspace workspace) {
+    super(source, workspace);
+    this.pool = pool;
+    this.workspace = workspace;
   }
 
   /**
@@ -76,10 +109,20 @@ public final class HybridBinarizer extends GlobalHistogramBinarizer {
       if ((height & BLOCK_SIZE_MASK) != 0) {
         subHeight++;
       }
-      int[][] blackPoints = calculateBlackPoints(luminances, subWidth, subHeight, width, height);
-
-      BitMatrix newMatrix = new BitMatrix(width, height);
-      calculateThresholdForBlock(luminances, subWidth, subHeight, width, height, blackPoints, newMatrix);
+      int[][] blackPoints =
+          workspace == null ? new int[subHeight][subWidth] : workspace.getBlackPoints(subWidth, subHeight);
+      BitMatrix newMatrix = newMatrix(width, height);
+      if (pool == null || subHeight < 2 * MIN_STRIPE_BLOCK_ROWS) {
+        calculateBlockBlackPoints(luminances, subWidth, width, height, 0, subHeight, blackPoints);
+        resolveLowContrastBlackPoints(subWidth, subHeight, blackPoints);
+        calculateThresholdForBlock(luminances, subWidth, subHeight, width, height, 0, subHeight, blackPoints,
+                                   newMatrix);
+      } else {
+        pool.invoke(new StripeTask(luminances, subWidth, subHeight, width, height, 0, subHeight, blackPoints, null));
+        resolveLowContrastBlackPoints(subWidth, subHeight, blackPoints);
+        pool.invoke(new StripeTask(luminances, subWidth, subHeight, width, height, 0, subHeight, blackPoints,
+                                   newMatrix));
+      }
       matrix = newMatrix;
     } else {
       // If the image is too small, fall back to the global histogram approach.
@@ -90,24 +133,28 @@ public final class HybridBinarizer extends GlobalHistogramBinarizer {
 
   @Override
   public Binarizer createBinarizer(LuminanceSource source) {
-    return new HybridBinarizer(source);
+    // Not the workspace: the new binarizer may be used while this one's matrix is still in use
+    return new HybridBinarizer(source, pool);
   }
 
   /**
    * For each block in the image, calculate the average black point using a 5x5 grid
    * of the blocks around it. Also handles the corner cases (fractional blocks are computed based
    * on the last pixels in the row/column which are also used in the previous block).
+   * Only blocks in rows [startY, endY) are thresholded.
    */
   private static void calculateThresholdForBlock(byte[] luminances,
                                                  int subWidth,
                                                  int subHeight,
                                                  int width,
                                                  int height,
+                                                 int startY,
+                                                 int endY,
                                                  int[][] blackPoints,
                                                  BitMatrix matrix) {
     int maxYOffset = height - BLOCK_SIZE;
     int maxXOffset = width - BLOCK_SIZE;
-    for (int y = 0; y < subHeight; y++) {
+    for (int y = startY; y < endY; y++) {
       int yoffset = y << BLOCK_SIZE_POWER;
       if (yoffset > maxYOffset) {
         yoffset = maxYOffset;
@@ -135,7 +182,8 @@ public final class HybridBinarizer extends GlobalHistogramBinarizer {
   }
 
   /**
-   * Applies a single threshold to a block of pixels.
+   * Applies a single threshold to a block of pixels. Each row of the block is turned into
+   * an 8-bit pattern and set in the matrix with one write.
    */
   private static void thresholdBlock(byte[] luminances,
                                      int xoffset,
@@ -144,33 +192,42 @@ public final class HybridBinarizer extends GlobalHistogramBinarizer {
                                      int stride,
                                      BitMatrix matrix) {
     for (int y = 0, offset = yoffset * stride + xoffset; y < BLOCK_SIZE; y++, offset += stride) {
+      int pattern = 0;
       for (int x = 0; x < BLOCK_SIZE; x++) {
         // Comparison needs to be <= so that black == 0 pixels are black even if the threshold is 0.
-        if ((luminances[offset + x] & 0xFF) <= threshold) {
-          matrix.set(xoffset + x, yoffset + y);
-        }
+        // The sign bit of (threshold - pixel) is clear exactly when pixel <= threshold.
+        pattern |= (~(threshold - (luminances[offset + x] & 0xFF)) >>> 31) << x;
+      }
+      if (pattern != 0) {
+        matrix.setBits(xoffset, yoffset + y, pattern);
       }
     }
   }
 
   /**
-   * Calculates a single black point for each block of pixels and saves it away.
+   * Calculates a single black point for each block of pixels in rows [startY, endY) and saves it away.
    * See the following thread for a discussion of this algorithm:
    *  http://groups.google.com/group/zxing/browse_thread/thread/d06efa2c35a7ddc0
+   *
+   * This only looks at the pixels of each block, so that rows of blocks can be processed independently.
+   * Blocks with too little dynamic range are stored as {@code -1 - min} and need
+   * {@link #resolveLowContrastBlackPoints(int, int, int[][])} to get their final value.
    */
-  private static int[][] calculateBlackPoints(byte[] luminances,
-                                              int subWidth,
-                                              int subHeight,
-                                              int width,
-                                              int height) {
+  private static void calculateBlockBlackPoints(byte[] luminances,
+                                                int subWidth,
+                                                int width,
+                                                int height,
+                                                int startY,
+                                                int endY,
+                                                int[][] blackPoints) {
     int maxYOffset = height - BLOCK_SIZE;
     int maxXOffset = width - BLOCK_SIZE;
-    int[][] blackPoints = new int[subHeight][subWidth];
-    for (int y = 0; y < subHeight; y++) {
+    for (int y = startY; y < endY; y++) {
       int yoffset = y << BLOCK_SIZE_POWER;
       if (yoffset > maxYOffset) {
         yoffset = maxYOffset;
       }
+      int[] blackRow = blackPoints[y];
       for (int x = 0; x < subWidth; x++) {
         int xoffset = x << BLOCK_SIZE_POWER;
         if (xoffset > maxXOffset) {
@@ -202,36 +259,108 @@ public final class HybridBinarizer extends GlobalHistogramBinarizer {
           }
         }
 
-        // The default estimate is the average of the values in the block.
-        int average = sum >> (BLOCK_SIZE_POWER * 2);
-        if (max - min <= MIN_DYNAMIC_RANGE) {
-          // If variation within the block is low, assume this is a block with only light or only
-          // dark pixels. In that case we do not want to use the average, as it would divide this
-          // low contrast area into black and white pixels, essentially creating data out of noise.
-          //
-          // The default assumption is that the block is light/background. Since no estimate for
-          // the level of dark pixels exists locally, use half the min for the block.
-          average = min / 2;
-
-          if (y > 0 && x > 0) {
-            // Correct the "white background" assumption for blocks that have neighbors by comparing
-            // the pixels in this block to the previously calculated black points. This is based on
-            // the fact that dark barcode symbology is always surrounded by some amount of light
-            // background for which reasonable black point estimates were made. The bp estimated at
-            // the boundaries is used for the interior.
-
-            // The (min < bp) is arbitrary but works better than other heuristics that were tried.
-            int averageNeighborBlackPoint =
-                (blackPoints[y - 1][x] + (2 * blackPoints[y][x - 1]) + blackPoints[y - 1][x - 1]) / 4;
-            if (min < averageNeighborBlackPoint) {
-              average = averageNeighborBlackPoint;
-            }
+        if (max - min > MIN_DYNAMIC_RANGE) {
+          // The default estimate is the average of the values in the block.
+          blackRow[x] = sum >> (BLOCK_SIZE_POWER * 2);
+        } else {
+          blackRow[x] = -1 - min;
+        }
+      }
+    }
+  }
+
+  /**
+   * Calculates the black point of blocks whose variation was too low in
+   * {@link #calculateBlockBlackPoints(byte[], int, int, int, int, int, int[][])}. These depend on
+   * the black points of neighboring blocks, so this is done for the whole image at once.
+   */
+  private static void resolveLowContrastBlackPoints(int subWidth, int subHeight, int[][] blackPoints) {
+    for (int y = 0; y < subHeight; y++) {
+      for (int x = 0; x < subWidth; x++) {
+        int blackPoint = blackPoints[y][x];
+        if (blackPoint >= 0) {
+          continue;
+        }
+        int min = -1 - blackPoint;
+        // If variation within the block is low, assume this is a block with only light or only
+        // dark pixels. In that case we do not want to use the average, as it would divide this
+        // low contrast area into black and white pixels, essentially creating data out of noise.
+        //
+        // The default assumption is that the block is light/background. Since no estimate for
+        // the level of dark pixels exists locally, use half the min for the block.
+        int average = min / 2;
+
+        if (y > 0 && x > 0) {
+          // Correct the "white background" assumption for blocks that have neighbors by comparing
+          // the pixels in this block to the previously calculated black points. This is based on
+          // the fact that dark barcode symbology is always surrounded by some amount of light
+          // background for which reasonable black point estimates were made. The bp estimated at
+          // the boundaries is used for the interior.
+
+          // The (min < bp) is arbitrary but works better than other heuristics that were tried.
+          int averageNeighborBlackPoint =
+              (blackPoints[y - 1][x] + (2 * blackPoints[y][x - 1]) + blackPoints[y - 1][x - 1]) / 4;
+          if (min < averageNeighborBlackPoint) {
+            average = averageNeighborBlackPoint;
           }
         }
         blackPoints[y][x] = average;
       }
     }
-    return blackPoints;
+  }
+
+  /**
+   * Computes block black points, or thresholds blocks if a matrix is given, for a range of block rows,
+   * splitting it in half until it is small enough. Each task writes only its own rows of blackPoints
+   * or matrix.
+   */
+  private static final class StripeTask extends RecursiveAction {
+
+    private final byte[] luminances;
+    private final int subWidth;
+    private final int subHeight;
+    private final int width;
+    private final int height;
+    private final int startY;
+    private final int endY;
+    private final int[][] blackPoints;
+    private final BitMatrix matrix;
+
+    StripeTask(byte[] luminances,
+               int subWidth,
+               int subHeight,
+               int width,
+               int height,
+               int startY,
+               int endY,
+               int[][] blackPoints,
+               BitMatrix matrix) {
+      this.luminances = luminances;
+      this.subWidth = subWidth;
+      this.subHeight = subHeight;
+      this.width = width;
+      this.height = height;
+      this.startY = startY;
+      this.endY = endY;
+      this.blackPoints = blackPoints;
+      this.matrix = matrix;
+    }
+
+    @Override
+    protected void compute() {
+      if (endY - startY < 2 * MIN_STRIPE_BLOCK_ROWS) {
+        if (matrix == null) {
+          calculateBlockBlackPoints(luminances, subWidth, width, height, startY, endY, blackPoints);
+        } else {
+          calculateThresholdForBlock(luminances, subWidth, subHeight, width, height, startY, endY, blackPoints,
+                                     matrix);
+        }
+      } else {
+        int middleY = (startY + endY) >>> 1;
+        invokeAll(new StripeTask(luminances, subWidth, subHeight, width, height, startY, middleY, blackPoints, matrix),
+                  new StripeTask(luminances, subWidth, subHeight, width, height, middleY, endY, blackPoints, matrix));
+      }
+    }
   }
 
 }
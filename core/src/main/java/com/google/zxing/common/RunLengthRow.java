@@ -0,0 +1,308 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing.common;
+
+import com.google.zxing.NotFoundException;
+
+import java.util.Arrays;
+
+/**
+ * <p>A row of black and white pixels, represented by its runs: the maximal sequences of pixels
+ * of the same color. Runs alternate between black and white, and are numbered from 0 at the
+ * start of the row. 1D readers mostly care about the widths of runs, which this gives without
+ * looking at pixels again; it is immutable, so it can be computed once per row and shared.</p>
+ *
+ * <p>The pixel-level methods behave like those of the same name in {@link BitArray}.</p>
+ */
+public final class RunLengthRow {
+
+  private final int size;
+  private final int runCount;
+  // Start of each run, followed by size
+  private final int[] starts;
+  private final boolean firstBlack;
+
+  /**
+   * @param row row to encode, in which true means black
+   */
+  public RunLengthRow(BitArray row) {
+    size = row.getSize();
+    firstBlack = size > 0 && row.get(0);
+    int[] runStarts = new int[32];
+    int count = 0;
+    boolean black = firstBlack;
+    int x = 0;
+    while (x < size) {
+      if (count == runStarts.length - 1) {
+        runStarts = Arrays.copyOf(runStarts, runStarts.length * 2);
+      }
+      runStarts[count++] = x;
+      x = black ? row.getNextUnset(x) : row.getNextSet(x);
+      black = !black;
+    }
+    runStarts[count] = size;
+    runCount = count;
+    starts = runStarts;
+  }
+
+  private RunLengthRow(int size, int runCount, int[] starts, boolean firstBlack) {
+    this.size = size;
+    this.runCount = runCount;
+    this.starts = starts;
+    this.firstBlack = firstBlack;
+  }
+
+  /**
+   * @return number of pixels in the row
+   */
+  public int getSize() {
+    return size;
+  }
+
+  /**
+   * @return number of runs in the row
+   */
+  public int getRunCount() {
+    return runCount;
+  }
+
+  /**
+   * @param run run index, in [0, {@link #getRunCount()}]
+   * @return offset of the first pixel of the run, or the size of the row for the index
+   *  {@link #getRunCount()}
+   */
+  public int getRunStart(int run) {
+    return starts[run];
+  }
+
+  /**
+   * @param run run index, in [0, {@link #getRunCount()})
+   * @return offset just past the last pixel of the run
+   */
+  public int getRunEnd(int run) {
+    return starts[run + 1];
+  }
+
+  /**
+   * @param run run index, in [0, {@link #getRunCount()})
+   * @return number of pixels in the run
+   */
+  public int getRunWidth(int run) {
+    return starts[run + 1] - starts[run];
+  }
+
+  /**
+   * @param run run index
+   * @return true iff the run is black
+   */
+  public boolean isBlack(int run) {
+    return firstBlack == ((run & 0x01) == 0);
+  }
+
+  /**
+   * @param x pixel offset, in [0, {@link #getSize()})
+   * @return index of the run which contains the pixel
+   */
+  public int getRun(int x) {
+    int index = Arrays.binarySearch(starts, 0, runCount, x);
+    return index >= 0 ? index : -index - 2;
+  }
+
+  /**
+   * @param x pixel offset
+   * @return true iff the pixel is black
+   */
+  public boolean get(int x) {
+    return isBlack(getRun(x));
+  }
+
+  /**
+   * @param from first pixel to check
+   * @return offset of the first black pixel at or after the given one, or size if there is none
+   */
+  public int getNextSet(int from) {
+    return getNext(from, true);
+  }
+
+  /**
+   * @param from first pixel to check
+   * @return offset of the first white pixel at or after the given one, or size if there is none
+   */
+  public int getNextUnset(int from) {
+    return getNext(from, false);
+  }
+
+  private int getNext(int from, boolean black) {
+    if (from >= size) {
+      return size;
+    }
+    int run = getRun(Math.max(0, from));
+    if (isBlack(run) == black) {
+      return Math.max(0, from);
+    }
+    return starts[run + 1];
+  }
+
+  /**
+   * @param start start of range, inclusive.
+   * @param end end of range, exclusive
+   * @param value if true, checks that pixels in range are black, otherwise that they are white
+   * @return true iff all pixels in range have the given color
+   * @throws IllegalArgumentException if end is less than start or the range is not contained in the row
+   */
+  public boolean isRange(int start, int end, boolean value) {
+    if (end < start || start < 0 || end > size) {
+      throw new IllegalArgumentException();
+    }
+    if (end == start) {
+      return true; // empty range matches
+    }
+    int run = getRun(start);
+    return isBlack(run) == value && starts[run + 1] >= end;
+  }
+
+  /**
+   * Records the widths of successive runs, starting at a given pixel, like
+   * {@code OneDReader.recordPattern()}: the first count is the rest of the run which contains
+   * the start pixel, and the following counts are the widths of the following runs.
+   *
+   * @param start offset into row to start at
+   * @param counters array into which to record counts
+   * @throws NotFoundException if the row does not have enough runs to fill all counters
+   */
+  public void recordPattern(int start, int[] counters) throws NotFoundException {
+    if (start < 0 || start >= size) {
+      throw NotFoundException.getNotFoundInstance();
+    }
+    int run = getRun(start);
+    if (run + counters.length > runCount) {
+      throw NotFoundException.getNotFoundInstance();
+    }
+    counters[0] = starts[run + 1] - start;
+    for (int i = 1; i < counters.length; i++) {
+      counters[i] = starts[run + i + 1] - starts[run + i];
+    }
+  }
+
+  /**
+   * Records the widths of the runs before the one which contains a given pixel, like
+   * {@code OneDReader.recordPatternInReverse()}: the last count is the width of the run just
+   * before the pixel's run. There must be one more run before the recorded runs.
+   *
+   * @param start offset into row
+   * @param counters array into which to record counts
+   * @throws NotFoundException if the row does not have enough runs before the pixel
+   */
+  public void recordPatternInReverse(int start, int[] counters) throws NotFoundException {
+    int firstRun = getRun(start) - counters.length;
+    if (firstRun < 1) {
+      throw NotFoundException.getNotFoundInstance();
+    }
+    getRunWidths(firstRun, counters);
+  }
+
+  /**
+   * @param firstRun index of the first run to record
+   * @param counters array into which to record the widths of the runs starting at firstRun,
+   *  which must all exist
+   */
+  public void getRunWidths(int firstRun, int[] counters) {
+    for (int i = 0; i < counters.length; i++) {
+      counters[i] = starts[firstRun + i + 1] - starts[firstRun + i];
+    }
+  }
+
+  /**
+   * Determines how closely the widths of successive runs match a given target pattern, like
+   * {@code OneDReader.patternMatchVariance()}, without copying the widths to counters first.
+   *
+   * @param firstRun index of the first run to match against the pattern
+   * @param pattern expected pattern, whose runs must all exist
+   * @param maxIndividualVariance The most any run can differ before we give up
+   * @return ratio of total variance between runs and pattern compared to total pattern size
+   */
+  public float patternMatchVariance(int firstRun, int[] pattern, float maxIndividualVariance) {
+    int numCounters = pattern.length;
+    int total = starts[firstRun + numCounters] - starts[firstRun];
+    int patternLength = 0;
+    for (int p : pattern) {
+      patternLength += p;
+    }
+    if (total < patternLength) {
+      // If we don't even have one pixel per unit of bar width, assume this is too small
+      // to reliably match, so fail:
+      return Float.POSITIVE_INFINITY;
+    }
+
+    float unitBarWidth = (float) total / patternLength;
+    maxIndividualVariance *= unitBarWidth;
+
+    float totalVariance = 0.0f;
+    for (int x = 0; x < numCounters; x++) {
+      int counter = starts[firstRun + x + 1] - starts[firstRun + x];
+      float scaledPattern = pattern[x] * unitBarWidth;
+      float variance = counter > scaledPattern ? counter - scaledPattern : scaledPattern - counter;
+      if (variance > maxIndividualVariance) {
+        return Float.POSITIVE_INFINITY;
+      }
+      totalVariance += variance;
+    }
+    return totalVariance / total;
+  }
+
+  /**
+   * @return the same row, read from right to left
+   */
+  public RunLengthRow reverse() {
+    int[] reversedStarts = new int[runCount + 1];
+    for (int i = 0; i <= runCount; i++) {
+      reversedStarts[i] = size - starts[runCount - i];
+    }
+    return new RunLengthRow(size, runCount, reversedStarts, runCount > 0 && isBlack(runCount - 1));
+  }
+
+  /**
+   * @return the same row with black and white swapped
+   */
+  public RunLengthRow invert() {
+    return new RunLengthRow(size, runCount, starts, runCount > 0 && !firstBlack);
+  }
+
+  /**
+   * @return the row as pixels
+   */
+  public BitArray toBitArray() {
+    BitArray row = new BitArray(size);
+    for (int run = firstBlack ? 0 : 1; run < runCount; run += 2) {
+      row.setRange(starts[run], starts[run + 1]);
+    }
+    return row;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder result = new StringBuilder(runCount * 3);
+    for (int run = 0; run < runCount; run++) {
+      if (run > 0) {
+        result.append(' ');
+      }
+      result.append(isBlack(run) ? 'X' : '.').append(getRunWidth(run));
+    }
+    return result.toString();
+  }
+
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing.common.reedsolomon;
+
+import java.util.Arrays;
+
+/**
+ * <p>Reed-Solomon decoder for the fields of 256 elements used by QR Code and Data Matrix,
+ * which {@link ReedSolomonDecoder} delegates to. It corrects the same errors as the general
+ * implementation, but works on arrays of coefficients instead of {@link GenericGFPoly}:
+ * Berlekamp-Massey finds the error locator, a Chien search over the positions in the codeword
+ * finds its roots, and Forney's formula gives the error values. Multiplication goes through log
+ * and exp tables, where the exp table is doubled so that a sum of two logs needs no reduction.</p>
+ *
+ * <p>Working arrays are allocated once and reused, so that decoding allocates nothing, and
+ * a codeword without errors costs only its syndromes. Hence an instance must not decode
+ * concurrently on several threads.</p>
+ */
+final class GF256ReedSolomonDecoder {
+
+  // Order of the multiplicative group, which is also the longest possible codeword
+  private static final int ORDER = 255;
+
+  private static final Tables QR_CODE_TABLES = new Tables(GenericGF.QR_CODE_FIELD_256);
+  private static final Tables DATA_MATRIX_TABLES = new Tables(GenericGF.DATA_MATRIX_FIELD_256);
+
+  private final int[] exp;
+  private final int[] log;
+  private final int generatorBase;
+
+  private final int[] syndromes = new int[ORDER];
+  private final int[] locator = new int[ORDER + 1];
+  private int[] previous = new int[ORDER + 1];
+  private int[] saved = new int[ORDER + 1];
+  private final int[] terms = new int[ORDER + 1];
+  private final int[] evaluator = new int[ORDER];
+  private final int[] positions = new int[ORDER];
+
+  private GF256ReedSolomonDecoder(Tables tables) {
+    exp = tables.exp;
+    log = tables.log;
+    generatorBase = tables.generatorBase;
+  }
+
+  /**
+   * @param field field to decode in
+   * @return decoder for the field, or null if it is not one of the fields this supports
+   */
+  static GF256ReedSolomonDecoder forField(GenericGF field) {
+    if (field == GenericGF.QR_CODE_FIELD_256) {
+      return new GF256ReedSolomonDecoder(QR_CODE_TABLES);
+    }
+    if (field == GenericGF.DATA_MATRIX_FIELD_256) {
+      return new GF256ReedSolomonDecoder(DATA_MATRIX_TABLES);
+    }
+    return null;
+  }
+
+  /**
+   * @param received data and error-correction codewords, at most 255 of them
+   * @param twoS number of error-correction codewords available, at most the number received
+   * @return the number of errors corrected
+   * @throws ReedSolomonException if decoding fails for any reason
+   * @see ReedSolomonDecoder#decodeWithECCount(int[], int)
+   */
+  int decodeWithECCount(int[] received, int twoS) throws ReedSolomonException {
+    if (computeSyndromes(received, twoS)) {
+      return 0;
+    }
+    int numErrors = findErrorLocator(twoS);
+    findErrorPositions(numErrors, received.length);
+    correctErrors(received, numErrors);
+    return numErrors;
+  }
+
+  /**
+   * @return true iff all syndromes are zero, so that there are no errors
+   */
+  private boolean computeSyndromes(int[] received, int twoS) {
+    boolean noError = true;
+    for (int i = 0; i < twoS; i++) {
+      // Evaluate at a^(i + generatorBase) by Horner's method
+      int power = i + generatorBase;
+      int eval = 0;
+      for (int coefficient : received) {
+        eval = (eval == 0 ? 0 : exp[log[eval] + power]) ^ coefficient;
+      }
+      syndromes[i] = eval;
+      if (eval != 0) {
+        noError = false;
+      }
+    }
+    return noError;
+  }
+
+  /**
+   * Runs Berlekamp-Massey over the syndromes, leaving the error locator's coefficients in
+   * {@code locator}, lowest degree first.
+   *
+   * @return degree of the error locator, which is the number of errors
+   */
+  private int findErrorLocator(int twoS) throws ReedSolomonException {
+    Arrays.fill(locator, 0, twoS + 1, 0);
+    Arrays.fill(previous, 0, twoS + 1, 0);
+    locator[0] = 1;
+    previous[0] = 1;
+    int degree = 0;
+    int previousDegree = 0;
+    int shift = 1;
+    int previousDiscrepancy = 1;
+    for (int r = 0; r < twoS; r++) {
+      int discrepancy = syndromes[r];
+      for (int i = 1; i <= degree; i++) {
+        discrepancy ^= multiply(locator[i], syndromes[r - i]);
+      }
+      if (discrepancy == 0) {
+        shift++;
+        continue;
+      }
+      boolean lengthens = 2 * degree <= r;
+      if (lengthens) {
+        System.arraycopy(locator, 0, saved, 0, degree + 1);
+      }
+      // locator -= (discrepancy / previousDiscrepancy) * x^shift * previous
+      int scaleLog = log[discrepancy] + ORDER - log[previousDiscrepancy];
+      for (int i = 0; i <= previousDegree; i++) {
+        int coefficient = previous[i];
+        if (coefficient != 0) {
+          locator[i + shift] ^= exp[(log[coefficient] + scaleLog) % ORDER];
+        }
+      }
+      if (lengthens) {
+        int[] temp = previous;
+        previous = saved;
+        saved = temp;
+        previousDegree = degree;
+        degree = r + 1 - degree;
+        previousDiscrepancy = discrepancy;
+        shift = 1;
+      } else {
+        shift++;
+      }
+    }
+    if (2 * degree > twoS || locator[degree] == 0) {
+      throw new ReedSolomonException("Error locator degree exceeds correction capacity");
+    }
+    return degree;
+  }
+
+  /**
+   * Chien's search for the roots a^-e of the error locator, for each power e of x in the
+   * received polynomial, leaving the powers in {@code positions}.
+   */
+  private void findErrorPositions(int numErrors, int length) throws ReedSolomonException {
+    // terms[i] tracks log(locator[i] * a^(-i * e)) as e advances, or -1 for a zero coefficient
+    for (int i = 1; i <= numErrors; i++) {
+      terms[i] = locator[i] == 0 ? -1 : log[locator[i]];
+    }
+    int found = 0;
+    for (int e = 0; e < length && found < numErrors; e++) {
+      int eval = locator[0];
+      for (int i = 1; i <= numErrors; i++) {
+        int term = terms[i];
+        if (term >= 0) {
+          eval ^= exp[term];
+          term -= i;
+          terms[i] = term < 0 ? term + ORDER : term;
+        }
+      }
+      if (eval == 0) {
+        positions[found++] = e;
+      }
+    }
+    if (found != numErrors) {
+      throw new ReedSolomonException("Error locator degree does not match number of roots");
+    }
+  }
+
+  /**
+   * Applies Forney's formula to correct the errors at {@code positions}.
+   */
+  private void correctErrors(int[] received, int numErrors) throws ReedSolomonException {
+    // The error evaluator is syndromes * locator mod x^numErrors
+    for (int i = 0; i < numErrors; i++) {
+      int coefficient = 0;
+      for (int j = 0; j <= i; j++) {
+        coefficient ^= multiply(syndromes[j], locator[i - j]);
+      }
+      evaluator[i] = coefficient;
+    }
+    for (int k = 0; k < numErrors; k++) {
+      int e = positions[k];
+      int xInverseLog = e == 0 ? 0 : ORDER - e;
+      int numerator = evaluate(evaluator, numErrors - 1, xInverseLog);
+      // Formal derivative of the locator: only odd powers remain in characteristic 2
+      int denominator = 0;
+      for (int i = 1; i <= numErrors; i += 2) {
+        int coefficient = locator[i];
+        if (coefficient != 0) {
+          denominator ^= exp[(log[coefficient] + (i - 1) * xInverseLog) % ORDER];
+        }
+      }
+      if (denominator == 0) {
+        throw new ReedSolomonException("Error locator has a repeated root");
+      }
+      if (numerator != 0) {
+        // magnitude = x^(1 - generatorBase) * numerator / denominator, where x = a^e
+        int magnitudeLog = log[numerator] + ORDER - log[denominator] + (1 - generatorBase) * e;
+        received[received.length - 1 - e] ^= exp[magnitudeLog % ORDER];
+      }
+    }
+  }
+
+  private int evaluate(int[] coefficients, int degree, int xLog) {
+    int result = 0;
+    for (int i = degree; i >= 0; i--) {
+      result = (result == 0 ? 0 : exp[log[result] + xLog]) ^ coefficients[i];
+    }
+    return result;
+  }
+
+  private int multiply(int a, int b) {
+    if (a == 0 || b == 0) {
+      return 0;
+    }
+    return exp[log[a] + log[b]];
+  }
+
+  private static final class Tables {
+
+    // exp[i] = a^i for i up to twice the order, so that exp[log[a] + log[b]] = a * b
+    final int[] exp = new int[2 * ORDER + 2];
+    final int[] log = new int[ORDER + 1];
+    final int generatorBase;
+
+    Tables(GenericGF field) {
+      for (int i = 0; i < exp.length; i++) {
+        exp[i] = field.exp(i % ORDER);
+      }
+      for (int i = 1; i <= ORDER; i++) {
+        log[i] = field.log(i);
+      }
+      generatorBase = field.getGeneratorBase();
+    }
+
+  }
+
+}
@@ -16,6 +16,8 @@
 
 package com.google.zxing.common.reedsolomon;
 
+import java.util.Arrays;
+
 /**
  * <p>This class contains utility methods for performing mathematical operations over
  * the Galois Fields. Operations use a given primitive polynomial in calculations.</p>
@@ -46,6 +48,8 @@ public final class GenericGF {
   private final int size;
   private final int primitive;
   private final int generatorBase;
+  // Generator polynomials by degree, as built so far; replaced, never modified, when it grows
+  private volatile int[][] generators;
 
   /**
    * Create a representation of GF(size) using the given primitive polynomial.
@@ -80,6 +84,7 @@ public final class GenericGF {
     // logTable[0] == 0 but this should never be used
     zero = new GenericGFPoly(this, new int[]{0});
     one = new GenericGFPoly(this, new int[]{1});
+    generators = new int[][] {{1}};
   }
 
   GenericGFPoly getZero() {
@@ -151,6 +156,40 @@ public final class GenericGF {
     return expTable[(logTable[a] + logTable[b]) % (size - 1)];
   }
 
+  /**
+   * Gets the Reed-Solomon generator polynomial of a given degree,
+   * (x+a^b)(x+a^(b+1))...(x+a^(b+degree-1)) where b is the generator base. Polynomials are
+   * built once per field and shared by all threads.
+   *
+   * @param degree degree of the polynomial, which is the number of error-correction codewords
+   * @return coefficients of the polynomial, from the highest degree; must not be modified
+   */
+  int[] getGenerator(int degree) {
+    int[][] cached = generators;
+    if (degree < cached.length) {
+      return cached[degree];
+    }
+    synchronized (this) {
+      cached = generators;
+      if (degree >= cached.length) {
+        int[][] grown = Arrays.copyOf(cached, degree + 1);
+        for (int d = cached.length; d <= degree; d++) {
+          int[] last = grown[d - 1];
+          int root = exp(d - 1 + generatorBase);
+          int[] next = new int[d + 1];
+          for (int i = 0; i < d; i++) {
+            next[i] ^= last[i];
+            next[i + 1] = multiply(last[i], root);
+          }
+          grown[d] = next;
+        }
+        generators = grown;
+        cached = grown;
+      }
+      return cached[degree];
+    }
+  }
+
   public int getSize() {
     return size;
   }
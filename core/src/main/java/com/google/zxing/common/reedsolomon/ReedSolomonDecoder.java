@@ -41,9 +41,12 @@ package com.google.zxing.common.reedsolomon;
 public final class ReedSolomonDecoder {
 
   private final GenericGF field;
+  // Allocation-free decoder for QR Code's and Data Matrix's fields; null for other fields
+  private final GF256ReedSolomonDecoder gf256Decoder;
 
   public ReedSolomonDecoder(GenericGF field) {
     this.field = field;
+    gf256Decoder = GF256ReedSolomonDecoder.forField(field);
   }
 
   /**
@@ -70,6 +73,12 @@ public final class ReedSolomonDecoder {
    * @throws ReedSolomonException if decoding fails for any reason
    */
   public int decodeWithECCount(int[] received, int twoS) throws ReedSolomonException {
+    if (gf256Decoder != null && received.length < field.getSize() && twoS <= received.length) {
+      // Uncontended, since each reader has its own decoder, but keeps sharing a decoder safe
+      synchronized (gf256Decoder) {
+        return gf256Decoder.decodeWithECCount(received, twoS);
+      }
+    }
     GenericGFPoly poly = new GenericGFPoly(field, received);
     int[] syndromeCoefficients = new int[twoS];
     boolean noError = true;
@@ -16,37 +16,24 @@
 
 package com.google.zxing.common.reedsolomon;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * <p>Implements Reed-Solomon encoding, as the name implies.</p>
  *
+ * <p>The error-correction codewords are the remainder of dividing the data by the generator
+ * polynomial, which is computed like a linear feedback shift register would: the remainder so
+ * far sits in the error-correction part of the array, and each data codeword shifts it along,
+ * adding a multiple of the generator. Generators come from the field's shared cache, so that an
+ * encoder costs nothing to create and may be used by several threads at once.</p>
+ *
  * @author Sean Owen
  * @author William Rucklidge
  */
 public final class ReedSolomonEncoder {
 
   private final GenericGF field;
-  private final List<GenericGFPoly> cachedGenerators;
 
   public ReedSolomonEncoder(GenericGF field) {
     this.field = field;
-    this.cachedGenerators = new ArrayList<>();
-    cachedGenerators.add(new GenericGFPoly(field, new int[]{1}));
-  }
-
-  private GenericGFPoly buildGenerator(int degree) {
-    if (degree >= cachedGenerators.size()) {
-      GenericGFPoly lastGenerator = cachedGenerators.get(cachedGenerators.size() - 1);
-      for (int d = cachedGenerators.size(); d <= degree; d++) {
-        GenericGFPoly nextGenerator = lastGenerator.multiply(
-            new GenericGFPoly(field, new int[] { 1, field.exp(d - 1 + field.getGeneratorBase()) }));
-        cachedGenerators.add(nextGenerator);
-        lastGenerator = nextGenerator;
-      }
-    }
-    return cachedGenerators.get(degree);
   }
 
   public void encode(int[] toEncode, int ecBytes) {
@@ -57,18 +44,22 @@ public final class ReedSolomonEncoder {
     if (dataBytes <= 0) {
       throw new IllegalArgumentException("No data bytes provided");
     }
-    GenericGFPoly generator = buildGenerator(ecBytes);
-    int[] infoCoefficients = new int[dataBytes];
-    System.arraycopy(toEncode, 0, infoCoefficients, 0, dataBytes);
-    GenericGFPoly info = new GenericGFPoly(field, infoCoefficients);
-    info = info.multiplyByMonomial(ecBytes, 1);
-    GenericGFPoly remainder = info.divide(generator)[1];
-    int[] coefficients = remainder.getCoefficients();
-    int numZeroCoefficients = ecBytes - coefficients.length;
-    for (int i = 0; i < numZeroCoefficients; i++) {
-      toEncode[dataBytes + i] = 0;
+    // Monic, so generator[0] == 1 and generator[1..ecBytes] are the feedback taps
+    int[] generator = field.getGenerator(ecBytes);
+    int last = toEncode.length - 1;
+    for (int i = dataBytes; i <= last; i++) {
+      toEncode[i] = 0;
+    }
+    for (int i = 0; i < dataBytes; i++) {
+      int feedback = toEncode[i] ^ toEncode[dataBytes];
+      System.arraycopy(toEncode, dataBytes + 1, toEncode, dataBytes, ecBytes - 1);
+      toEncode[last] = 0;
+      if (feedback != 0) {
+        for (int j = 0; j < ecBytes; j++) {
+          toEncode[dataBytes + j] ^= field.multiply(feedback, generator[j + 1]);
+        }
+      }
     }
-    System.arraycopy(coefficients, 0, toEncode, dataBytes + numZeroCoefficients, coefficients.length);
   }
 
 }
@@ -32,7 +32,9 @@ import java.util.Map;
  * but by scanning subsets of the image. This is important when there may be multiple barcodes in
  * an image, and detecting a barcode may find parts of multiple barcode and fail to decode
  * (e.g. QR Codes). Instead this scans the four quadrants of the image -- and also the center
- * 'quadrant' to cover the case where a barcode is found in the center.
+ * 'quadrant' to cover the case where a barcode is found in the center. The quadrants are
+ * {@link BinaryBitmap#cropView(int, int, int, int) cropped views}, which share the image's
+ * binarized data instead of binarizing their overlapping pixels again.
  *
  * @see GenericMultipleBarcodeReader
  */
@@ -61,13 +63,13 @@ public final class ByQuadrantReader implements Reader {
 
     try {
       // No need to call makeAbsolute as results will be relative to original top left here
-      return delegate.decode(image.crop(0, 0, halfWidth, halfHeight), hints);
+      return delegate.decode(image.cropView(0, 0, halfWidth, halfHeight), hints);
     } catch (NotFoundException re) {
       // continue
     }
 
     try {
-      Result result = delegate.decode(image.crop(halfWidth, 0, halfWidth, halfHeight), hints);
+      Result result = delegate.decode(image.cropView(halfWidth, 0, halfWidth, halfHeight), hints);
       makeAbsolute(result.getResultPoints(), halfWidth, 0);
       return result;
     } catch (NotFoundException re) {
@@ -75,7 +77,7 @@ public final class ByQuadrantReader implements Reader {
     }
 
     try {
-      Result result = delegate.decode(image.crop(0, halfHeight, halfWidth, halfHeight), hints);
+      Result result = delegate.decode(image.cropView(0, halfHeight, halfWidth, halfHeight), hints);
       makeAbsolute(result.getResultPoints(), 0, halfHeight);
       return result;
     } catch (NotFoundException re) {
@@ -83,7 +85,7 @@ public final class ByQuadrantReader implements Reader {
     }
 
     try {
-      Result result = delegate.decode(image.crop(halfWidth, halfHeight, halfWidth, halfHeight), hints);
+      Result result = delegate.decode(image.cropView(halfWidth, halfHeight, halfWidth, halfHeight), hints);
       makeAbsolute(result.getResultPoints(), halfWidth, halfHeight);
       return result;
     } catch (NotFoundException re) {
@@ -92,7 +94,7 @@ public final class ByQuadrantReader implements Reader {
 
     int quarterWidth = halfWidth / 2;
     int quarterHeight = halfHeight / 2;
-    BinaryBitmap center = image.crop(quarterWidth, quarterHeight, halfWidth, halfHeight);
+    BinaryBitmap center = image.cropView(quarterWidth, quarterHeight, halfWidth, halfHeight);
     Result result = delegate.decode(center, hints);
     makeAbsolute(result.getResultPoints(), quarterWidth, quarterHeight);
     return result;
@@ -31,7 +31,11 @@ import java.util.Map;
 /**
  * <p>Attempts to locate multiple barcodes in an image by repeatedly decoding portion of the image.
  * After one barcode is found, the areas left, above, right and below the barcode's
- * {@link ResultPoint}s are scanned, recursively.</p>
+ * {@link ResultPoint}s are scanned, recursively. Each area is a
+ * {@link BinaryBitmap#cropView(int, int, int, int) cropped view}, so the image is binarized only
+ * once however many areas are scanned. A symbol found again from another area is recognized by
+ * its format, text and location, so that different symbols with the same text are all
+ * returned.</p>
  *
  * <p>A caller may want to also employ {@link ByQuadrantReader} when attempting to find multiple
  * 2D barcodes, like QR Codes, in an image, where the presence of multiple barcodes might prevent
@@ -64,7 +68,7 @@ public final class GenericMultipleBarcodeReader implements MultipleBarcodeReader
   public Result[] decodeMultiple(BinaryBitmap image, Map<DecodeHintType,?> hints)
       throws NotFoundException {
     List<Result> results = new ArrayList<>();
-    doDecodeMultiple(image, hints, results, 0, 0, 0);
+    doDecodeMultiple(image, hints, results, new ResultIndex(), 0, 0, 0);
     if (results.isEmpty()) {
       throw NotFoundException.getNotFoundInstance();
     }
@@ -74,6 +78,7 @@ public final class GenericMultipleBarcodeReader implements MultipleBarcodeReader
   private void doDecodeMultiple(BinaryBitmap image,
                                 Map<DecodeHintType,?> hints,
                                 List<Result> results,
+                                ResultIndex index,
                                 int xOffset,
                                 int yOffset,
                                 int currentDepth) {
@@ -87,15 +92,9 @@ public final class GenericMultipleBarcodeReader implements MultipleBarcodeReader
     } catch (ReaderException ignored) {
       return;
     }
-    boolean alreadyFound = false;
-    for (Result existingResult : results) {
-      if (existingResult.getText().equals(result.getText())) {
-        alreadyFound = true;
-        break;
-      }
-    }
-    if (!alreadyFound) {
-      results.add(translateResultPoints(result, xOffset, yOffset));
+    Result translated = translateResultPoints(result, xOffset, yOffset);
+    if (index.add(translated)) {
+      results.add(translated);
     }
     ResultPoint[] resultPoints = result.getResultPoints();
     if (resultPoints == null || resultPoints.length == 0) {
@@ -129,35 +128,35 @@ public final class GenericMultipleBarcodeReader implements MultipleBarcodeReader
 
     // Decode left of barcode
     if (minX > MIN_DIMENSION_TO_RECUR) {
-      doDecodeMultiple(image.crop(0, 0, (int) minX, height),
-                       hints, results,
+      doDecodeMultiple(image.cropView(0, 0, (int) minX, height),
+                       hints, results, index,
                        xOffset, yOffset,
                        currentDepth + 1);
     }
     // Decode above barcode
     if (minY > MIN_DIMENSION_TO_RECUR) {
-      doDecodeMultiple(image.crop(0, 0, width, (int) minY),
-                       hints, results,
+      doDecodeMultiple(image.cropView(0, 0, width, (int) minY),
+                       hints, results, index,
                        xOffset, yOffset,
                        currentDepth + 1);
     }
     // Decode right of barcode
     if (maxX < width - MIN_DIMENSION_TO_RECUR) {
-      doDecodeMultiple(image.crop((int) maxX, 0, width - (int) maxX, height),
-                       hints, results,
+      doDecodeMultiple(image.cropView((int) maxX, 0, width - (int) maxX, height),
+                       hints, results, index,
                        xOffset + (int) maxX, yOffset,
                        currentDepth + 1);
     }
     // Decode below barcode
     if (maxY < height - MIN_DIMENSION_TO_RECUR) {
-      doDecodeMultiple(image.crop(0, (int) maxY, width, height - (int) maxY),
-                       hints, results,
+      doDecodeMultiple(image.cropView(0, (int) maxY, width, height - (int) maxY),
+                       hints, results, index,
                        xOffset, yOffset + (int) maxY,
                        currentDepth + 1);
     }
   }
 
-  private static Result translateResultPoints(Result result, int xOffset, int yOffset) {
+  static Result translateResultPoints(Result result, int xOffset, int yOffset) {
     ResultPoint[] oldResultPoints = result.getResultPoints();
     if (oldResultPoints == null) {
       return result;
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing.multi;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.BinaryBitmap;
+import com.google.zxing.DecodeHintType;
+import com.google.zxing.MultiFormatReader;
+import com.google.zxing.NotFoundException;
+import com.google.zxing.Result;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * <p>Decodes any number of QR Code, Data Matrix, Aztec and PDF417 symbols in an image. Unlike
+ * {@link GenericMultipleBarcodeReader}, which decodes the whole image and then searches around
+ * each symbol it finds, this first finds every region which may hold a symbol, in one pass over
+ * the binarized image, and then decodes each region on its own. The work grows with the number
+ * of symbols rather than with how deep the search around them goes.</p>
+ *
+ * <p>Each region is a {@link BinaryBitmap#cropView(int, int, int, int) cropped view} of the image,
+ * so nothing is binarized twice. It is searched with a {@link GenericMultipleBarcodeReader} in
+ * case it holds symbols which were too close together to be told apart. Given a
+ * {@link ForkJoinPool}, regions are decoded in parallel, each with its own readers; the results
+ * are the same as decoding them one after another.</p>
+ *
+ * <p>Formats other than these four are ignored. A symbol found again from another region, with
+ * the same format and text in the same place, is only returned once.</p>
+ */
+public final class MultiSymbolReader implements MultipleBarcodeReader {
+
+  private static final Set<BarcodeFormat> SUPPORTED_FORMATS = EnumSet.of(
+      BarcodeFormat.QR_CODE, BarcodeFormat.DATA_MATRIX, BarcodeFormat.AZTEC, BarcodeFormat.PDF_417);
+
+  private final ForkJoinPool pool;
+
+  public MultiSymbolReader() {
+    this(null);
+  }
+
+  /**
+   * @param pool pool on which to decode regions in parallel, or null to decode them in the
+   *  calling thread
+   */
+  public MultiSymbolReader(ForkJoinPool pool) {
+    this.pool = pool;
+  }
+
+  @Override
+  public Result[] decodeMultiple(BinaryBitmap image) throws NotFoundException {
+    return decodeMultiple(image, null);
+  }
+
+  @Override
+  public Result[] decodeMultiple(BinaryBitmap image, Map<DecodeHintType,?> hints) throws NotFoundException {
+    Map<DecodeHintType,Object> regionHints = new EnumMap<>(DecodeHintType.class);
+    Set<BarcodeFormat> formats = EnumSet.copyOf(SUPPORTED_FORMATS);
+    if (hints != null) {
+      regionHints.putAll(hints);
+      @SuppressWarnings("unchecked")
+      Collection<BarcodeFormat> possibleFormats =
+          (Collection<BarcodeFormat>) hints.get(DecodeHintType.POSSIBLE_FORMATS);
+      if (possibleFormats != null) {
+        formats.retainAll(possibleFormats);
+      }
+    }
+    if (formats.isEmpty()) {
+      throw NotFoundException.getNotFoundInstance();
+    }
+    regionHints.put(DecodeHintType.POSSIBLE_FORMATS, formats);
+
+    List<int[]> regions = SymbolRegionFinder.findRegions(image.getBlackMatrix());
+    if (regions.isEmpty()) {
+      throw NotFoundException.getNotFoundInstance();
+    }
+    Result[][] regionResults = new Result[regions.size()][];
+    if (pool == null) {
+      decodeRegions(image, regions, regionHints, regionResults, 0, regions.size());
+    } else {
+      pool.invoke(new RegionTask(image, regions, regionHints, regionResults, 0, regions.size()));
+    }
+
+    List<Result> results = new ArrayList<>();
+    ResultIndex index = new ResultIndex();
+    for (Result[] found : regionResults) {
+      if (found == null) {
+        continue;
+      }
+      for (Result result : found) {
+        if (index.add(result)) {
+          results.add(result);
+        }
+      }
+    }
+    if (results.isEmpty()) {
+      throw NotFoundException.getNotFoundInstance();
+    }
+    return results.toArray(GenericMultipleBarcodeReader.EMPTY_RESULT_ARRAY);
+  }
+
+  private static void decodeRegions(BinaryBitmap image,
+                                    List<int[]> regions,
+                                    Map<DecodeHintType,?> hints,
+                                    Result[][] regionResults,
+                                    int start,
+                                    int end) {
+    // Readers keep state, so each range of regions gets its own
+    MultipleBarcodeReader reader = new GenericMultipleBarcodeReader(new MultiFormatReader());
+    for (int i = start; i < end; i++) {
+      int[] region = regions.get(i);
+      BinaryBitmap view = image.cropView(region[0], region[1], region[2], region[3]);
+      Result[] found;
+      try {
+        found = reader.decodeMultiple(view, hints);
+      } catch (NotFoundException nfe) {
+        continue;
+      }
+      for (int j = 0; j < found.length; j++) {
+        found[j] = GenericMultipleBarcodeReader.translateResultPoints(found[j], region[0], region[1]);
+      }
+      regionResults[i] = found;
+    }
+  }
+
+  /**
+   * Decodes a range of regions, splitting it until each task has one region.
+   */
+  private static final class RegionTask extends RecursiveAction {
+
+    private final BinaryBitmap image;
+    private final List<int[]> regions;
+    private final Map<DecodeHintType,?> hints;
+    private final Result[][] regionResults;
+    private final int start;
+    private final int end;
+
+    RegionTask(BinaryBitmap image,
+               List<int[]> regions,
+               Map<DecodeHintType,?> hints,
+               Result[][] regionResults,
+               int start,
+               int end) {
+      this.image = image;
+      this.regions = regions;
+      this.hints = hints;
+      this.regionResults = regionResults;
+      this.start = start;
+      this.end = end;
+    }
+
+    @Override
+    protected void compute() {
+      if (end - start > 1) {
+        int middle = (start + end) / 2;
+        invokeAll(new RegionTask(image, regions, hints, regionResults, start, middle),
+            new RegionTask(image, regions, hints, regionResults, middle, end));
+        return;
+      }
+      decodeRegions(image, regions, hints, regionResults, start, end);
+    }
+
+  }
+
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing.multi;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.Result;
+import com.google.zxing.ResultPoint;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Recognizes a symbol which has already been found, when it is found again while searching
+ * another part of the image.</p>
+ *
+ * <p>Results are hashed by format and text, so only results with the same payload are compared,
+ * and those are told apart by where they are. Each result is placed by the square centered on
+ * its points, as wide as they are wide or high; two results are the same symbol if their squares
+ * overlap. A 2D symbol is found again in about the same place, while a 1D symbol may be found
+ * again on another row, which the square still covers as long as the rows are less than the
+ * symbol's width apart. Results without points match any result with the same payload.</p>
+ */
+final class ResultIndex {
+
+  private final Map<Key,List<float[]>> found = new HashMap<>();
+
+  /**
+   * @param result result in the coordinates of the whole image
+   * @return true if it is a symbol which has not been found before
+   */
+  boolean add(Result result) {
+    Key key = new Key(result.getBarcodeFormat(), result.getText());
+    float[] square = square(result.getResultPoints());
+    List<float[]> squares = found.get(key);
+    if (squares == null) {
+      squares = new ArrayList<>(1);
+      found.put(key, squares);
+    } else {
+      for (float[] other : squares) {
+        if (square == null || other == null || overlap(square, other)) {
+          return false;
+        }
+      }
+    }
+    squares.add(square);
+    return true;
+  }
+
+  private static boolean overlap(float[] square, float[] other) {
+    float halfSides = square[2] + other[2];
+    return Math.abs(square[0] - other[0]) <= halfSides && Math.abs(square[1] - other[1]) <= halfSides;
+  }
+
+  /**
+   * @return {center x, center y, half side}, or null if there are no points
+   */
+  private static float[] square(ResultPoint[] points) {
+    if (points == null) {
+      return null;
+    }
+    float minX = Float.POSITIVE_INFINITY;
+    float minY = Float.POSITIVE_INFINITY;
+    float maxX = Float.NEGATIVE_INFINITY;
+    float maxY = Float.NEGATIVE_INFINITY;
+    for (ResultPoint point : points) {
+      if (point != null) {
+        minX = Math.min(minX, point.getX());
+        minY = Math.min(minY, point.getY());
+        maxX = Math.max(maxX, point.getX());
+        maxY = Math.max(maxY, point.getY());
+      }
+    }
+    if (minX > maxX) {
+      return null;
+    }
+    return new float[] {(minX + maxX) / 2.0f, (minY + maxY) / 2.0f, Math.max(maxX - minX, maxY - minY) / 2.0f};
+  }
+
+  private static final class Key {
+
+    private final BarcodeFormat format;
+    private final String text;
+
+    Key(BarcodeFormat format, String text) {
+      this.format = format;
+      this.text = text;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) o;
+      return format == other.format && text.equals(other.text);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * format.hashCode() + text.hashCode();
+    }
+
+  }
+
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing.multi;
+
+import com.google.zxing.common.BitArray;
+import com.google.zxing.common.BitMatrix;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>Finds the regions of an image which may hold a 2D symbol, in one pass over its
+ * {@link BitMatrix}.</p>
+ *
+ * <p>QR Codes, Data Matrix, Aztec and PDF417 symbols are all made of small modules, so they are
+ * dense with black and white transitions both along rows and along columns. The image is divided
+ * into 8x8 pixel blocks, and the transitions in each direction are counted a word of pixels at a
+ * time. Blocks with enough of both are connected to their neighbors, and each connected group of
+ * them, with a margin for the quiet zone, is a candidate region. Edges only have transitions in
+ * one direction, so lines and frames around symbols don't connect them, but symbols closer than
+ * a block or two still end up in one region.</p>
+ *
+ * @see MultiSymbolReader
+ */
+final class SymbolRegionFinder {
+
+  private static final int BLOCK_SIZE_POWER = 3;
+  private static final int BLOCK_SIZE = 1 << BLOCK_SIZE_POWER;
+  private static final int BLOCK_MASK = (1 << BLOCK_SIZE) - 1;
+  // Transitions needed in each direction for a block to be part of a symbol
+  private static final int MIN_TRANSITIONS = 3;
+  // Blocks with transitions both ways join others like them up to this many blocks away
+  private static final int CONNECT_BLOCKS = 2;
+  // Regions are extended by this many blocks on each side, for the detectors' sake
+  private static final int MARGIN_BLOCKS = 2;
+  // Regions must be at least this many blocks wide and high
+  private static final int MIN_REGION_BLOCKS = 2;
+
+  private SymbolRegionFinder() {
+  }
+
+  /**
+   * @param matrix binarized image
+   * @return candidate regions as {left, top, width, height}, from top to bottom
+   */
+  static List<int[]> findRegions(BitMatrix matrix) {
+    int width = matrix.getWidth();
+    int height = matrix.getHeight();
+    int blocksX = (width + BLOCK_SIZE - 1) >> BLOCK_SIZE_POWER;
+    int blocksY = (height + BLOCK_SIZE - 1) >> BLOCK_SIZE_POWER;
+    boolean[] across = new boolean[blocksX * blocksY];
+    boolean[] down = new boolean[blocksX * blocksY];
+    findTexturedBlocks(matrix, blocksX, across, down);
+
+    List<int[]> regions = new ArrayList<>();
+    boolean[] visited = new boolean[across.length];
+    int[] stack = new int[across.length];
+    for (int start = 0; start < across.length; start++) {
+      // Only blocks with transitions both ways start a region
+      if (!across[start] || !down[start] || visited[start]) {
+        continue;
+      }
+      // Flood fills the group, tracking its bounds in blocks
+      int minX = blocksX;
+      int minY = blocksY;
+      int maxX = -1;
+      int maxY = -1;
+      int stackSize = 0;
+      stack[stackSize++] = start;
+      visited[start] = true;
+      while (stackSize > 0) {
+        int block = stack[--stackSize];
+        int x = block % blocksX;
+        int y = block / blocksX;
+        minX = Math.min(minX, x);
+        minY = Math.min(minY, y);
+        maxX = Math.max(maxX, x);
+        maxY = Math.max(maxY, y);
+        if (across[block] && down[block]) {
+          // Joins nearby blocks like it, bridging the plain areas inside large modules
+          for (int ny = Math.max(0, y - CONNECT_BLOCKS); ny <= Math.min(blocksY - 1, y + CONNECT_BLOCKS); ny++) {
+            for (int nx = Math.max(0, x - CONNECT_BLOCKS); nx <= Math.min(blocksX - 1, x + CONNECT_BLOCKS); nx++) {
+              int neighbor = ny * blocksX + nx;
+              if (across[neighbor] && down[neighbor] && !visited[neighbor]) {
+                visited[neighbor] = true;
+                stack[stackSize++] = neighbor;
+              }
+            }
+          }
+        }
+        // Joins blocks with transitions one way only along that way, like the start and stop
+        // patterns of PDF417, which are the same in every row
+        if (across[block]) {
+          stackSize = push(x > 0 ? block - 1 : -1, across, visited, stack, stackSize);
+          stackSize = push(x < blocksX - 1 ? block + 1 : -1, across, visited, stack, stackSize);
+        }
+        if (down[block]) {
+          stackSize = push(y > 0 ? block - blocksX : -1, down, visited, stack, stackSize);
+          stackSize = push(y < blocksY - 1 ? block + blocksX : -1, down, visited, stack, stackSize);
+        }
+      }
+      if (maxX - minX + 1 < MIN_REGION_BLOCKS || maxY - minY + 1 < MIN_REGION_BLOCKS) {
+        continue;
+      }
+      int left = Math.max(0, (minX - MARGIN_BLOCKS) << BLOCK_SIZE_POWER);
+      int top = Math.max(0, (minY - MARGIN_BLOCKS) << BLOCK_SIZE_POWER);
+      int right = Math.min(width, (maxX + 1 + MARGIN_BLOCKS) << BLOCK_SIZE_POWER);
+      int bottom = Math.min(height, (maxY + 1 + MARGIN_BLOCKS) << BLOCK_SIZE_POWER);
+      regions.add(new int[] {left, top, right - left, bottom - top});
+    }
+    return regions;
+  }
+
+  private static int push(int block, boolean[] textured, boolean[] visited, int[] stack, int stackSize) {
+    if (block < 0 || !textured[block] || visited[block]) {
+      return stackSize;
+    }
+    visited[block] = true;
+    stack[stackSize] = block;
+    return stackSize + 1;
+  }
+
+  private static void findTexturedBlocks(BitMatrix matrix, int blocksX, boolean[] across, boolean[] down) {
+    int width = matrix.getWidth();
+    int height = matrix.getHeight();
+    int[] horizontal = new int[across.length];
+    int[] vertical = new int[down.length];
+    BitArray row = new BitArray(width);
+    BitArray previousRow = new BitArray(width);
+    for (int y = 0; y < height; y++) {
+      row = matrix.getRow(y, row);
+      int[] bits = row.getBitArray();
+      int[] previousBits = previousRow.getBitArray();
+      int blockOffset = (y >> BLOCK_SIZE_POWER) * blocksX;
+      int carry = 0;
+      for (int i = 0; i < bits.length; i++) {
+        int word = bits[i];
+        // Bit x is set where pixel x differs from the pixel to its left, or from the one above
+        int acrossBits = word ^ ((word << 1) | carry);
+        int downBits = y == 0 ? 0 : word ^ previousBits[i];
+        carry = word >>> 31;
+        if (i == 0) {
+          // The first pixel has nothing to its left
+          acrossBits &= ~1;
+        }
+        if (i == bits.length - 1 && (width & 0x1F) != 0) {
+          // Nor is there a transition past the last pixel
+          acrossBits &= (1 << (width & 0x1F)) - 1;
+        }
+        for (int shift = 0; shift < 32; shift += BLOCK_SIZE) {
+          int blockX = (i << (5 - BLOCK_SIZE_POWER)) + (shift >> BLOCK_SIZE_POWER);
+          if (blockX >= blocksX) {
+            break;
+          }
+          horizontal[blockOffset + blockX] += Integer.bitCount((acrossBits >>> shift) & BLOCK_MASK);
+          vertical[blockOffset + blockX] += Integer.bitCount((downBits >>> shift) & BLOCK_MASK);
+        }
+      }
+      BitArray temp = previousRow;
+      previousRow = row;
+      row = temp;
+    }
+    for (int i = 0; i < across.length; i++) {
+      across[i] = horizontal[i] >= MIN_TRANSITIONS;
+      down[i] = vertical[i] >= MIN_TRANSITIONS;
+    }
+  }
+
+}
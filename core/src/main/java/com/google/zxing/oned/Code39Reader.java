@@ -25,8 +25,8 @@ import com.google.zxing.Result;
 import com.google.zxing.ResultMetadataType;
 import com.google.zxing.ResultPoint;
 import com.google.zxing.common.BitArray;
+import com.google.zxing.common.RunLengthRow;
 
-import java.util.Arrays;
 import java.util.Map;
 
 /**
@@ -98,21 +98,26 @@ public final class Code39Reader extends OneDReader {
   @Override
   public Result decodeRow(int rowNumber, BitArray row, Map<DecodeHintType,?> hints)
       throws NotFoundException, ChecksumException, FormatException {
+    return decodeRow(rowNumber, row, new RunLengthRow(row), hints);
+  }
+
+  @Override
+  public Result decodeRow(int rowNumber, BitArray row, RunLengthRow runs, Map<DecodeHintType,?> hints)
+      throws NotFoundException, ChecksumException, FormatException {
 
     int[] theCounters = counters;
-    Arrays.fill(theCounters, 0);
     StringBuilder result = decodeRowResult;
     result.setLength(0);
 
-    int[] start = findAsteriskPattern(row, theCounters);
+    int[] start = findAsteriskPattern(runs, theCounters);
     // Read off white space
-    int nextStart = row.getNextSet(start[1]);
-    int end = row.getSize();
+    int nextStart = runs.getNextSet(start[1]);
+    int end = runs.getSize();
 
     char decodedChar;
     int lastStart;
     do {
-      recordPattern(row, nextStart, theCounters);
+      runs.recordPattern(nextStart, theCounters);
       int pattern = toNarrowWidePattern(theCounters);
       if (pattern < 0) {
         throw NotFoundException.getNotFoundInstance();
@@ -124,7 +129,7 @@ public final class Code39Reader extends OneDReader {
         nextStart += counter;
       }
       // Read off white space
-      nextStart = row.getNextSet(nextStart);
+      nextStart = runs.getNextSet(nextStart);
     } while (decodedChar != '*');
     result.setLength(result.length() - 1); // remove asterisk
 
@@ -182,35 +187,17 @@ public final class Code39Reader extends OneDReader {
     return resultObject;
   }
 
-  private static int[] findAsteriskPattern(BitArray row, int[] counters) throws NotFoundException {
-    int width = row.getSize();
-    int rowOffset = row.getNextSet(0);
-
-    int counterPosition = 0;
-    int patternStart = rowOffset;
-    boolean isWhite = false;
+  private static int[] findAsteriskPattern(RunLengthRow runs, int[] counters) throws NotFoundException {
     int patternLength = counters.length;
-
-    for (int i = rowOffset; i < width; i++) {
-      if (row.get(i) != isWhite) {
-        counters[counterPosition]++;
-      } else {
-        if (counterPosition == patternLength - 1) {
-          // Look for whitespace before start pattern, >= 50% of width of start pattern
-          if (toNarrowWidePattern(counters) == ASTERISK_ENCODING &&
-              row.isRange(Math.max(0, patternStart - ((i - patternStart) / 2)), patternStart, false)) {
-            return new int[]{patternStart, i};
-          }
-          patternStart += counters[0] + counters[1];
-          System.arraycopy(counters, 2, counters, 0, counterPosition - 1);
-          counters[counterPosition - 1] = 0;
-          counters[counterPosition] = 0;
-          counterPosition--;
-        } else {
-          counterPosition++;
-        }
-        counters[counterPosition] = 1;
-        isWhite = !isWhite;
+    // Candidates start on a black run, and must end before the end of the row
+    for (int run = runs.isBlack(0) ? 0 : 1; run + patternLength < runs.getRunCount(); run += 2) {
+      runs.getRunWidths(run, counters);
+      int patternStart = runs.getRunStart(run);
+      int patternEnd = runs.getRunStart(run + patternLength);
+      // Look for whitespace before start pattern, >= 50% of width of start pattern
+      if (toNarrowWidePattern(counters) == ASTERISK_ENCODING &&
+          runs.isRange(Math.max(0, patternStart - ((patternEnd - patternStart) / 2)), patternStart, false)) {
+        return new int[]{patternStart, patternEnd};
       }
     }
     throw NotFoundException.getNotFoundInstance();
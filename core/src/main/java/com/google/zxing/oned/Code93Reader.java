@@ -25,8 +25,8 @@ import com.google.zxing.Result;
 import com.google.zxing.ResultMetadataType;
 import com.google.zxing.ResultPoint;
 import com.google.zxing.common.BitArray;
+import com.google.zxing.common.RunLengthRow;
 
-import java.util.Arrays;
 import java.util.Map;
 
 /**
@@ -66,21 +66,26 @@ public final class Code93Reader extends OneDReader {
   @Override
   public Result decodeRow(int rowNumber, BitArray row, Map<DecodeHintType,?> hints)
       throws NotFoundException, ChecksumException, FormatException {
+    return decodeRow(rowNumber, row, new RunLengthRow(row), hints);
+  }
+
+  @Override
+  public Result decodeRow(int rowNumber, BitArray row, RunLengthRow runs, Map<DecodeHintType,?> hints)
+      throws NotFoundException, ChecksumException, FormatException {
 
-    int[] start = findAsteriskPattern(row);
+    int[] start = findAsteriskPattern(runs);
     // Read off white space
-    int nextStart = row.getNextSet(start[1]);
-    int end = row.getSize();
+    int nextStart = runs.getNextSet(start[1]);
+    int end = runs.getSize();
 
     int[] theCounters = counters;
-    Arrays.fill(theCounters, 0);
     StringBuilder result = decodeRowResult;
     result.setLength(0);
 
     char decodedChar;
     int lastStart;
     do {
-      recordPattern(row, nextStart, theCounters);
+      runs.recordPattern(nextStart, theCounters);
       int pattern = toPattern(theCounters);
       if (pattern < 0) {
         throw NotFoundException.getNotFoundInstance();
@@ -92,7 +97,7 @@ public final class Code93Reader extends OneDReader {
         nextStart += counter;
       }
       // Read off white space
-      nextStart = row.getNextSet(nextStart);
+      nextStart = runs.getNextSet(nextStart);
     } while (decodedChar != '*');
     result.deleteCharAt(result.length() - 1); // remove asterisk
 
@@ -102,7 +107,7 @@ public final class Code93Reader extends OneDReader {
     }
 
     // Should be at least one more black module
-    if (nextStart == end || !row.get(nextStart)) {
+    if (nextStart == end || !runs.get(nextStart)) {
       throw NotFoundException.getNotFoundInstance();
     }
 
@@ -131,35 +136,14 @@ public final class Code93Reader extends OneDReader {
     return resultObject;
   }
 
-  private int[] findAsteriskPattern(BitArray row) throws NotFoundException {
-    int width = row.getSize();
-    int rowOffset = row.getNextSet(0);
-
-    Arrays.fill(counters, 0);
+  private int[] findAsteriskPattern(RunLengthRow runs) throws NotFoundException {
     int[] theCounters = counters;
-    int patternStart = rowOffset;
-    boolean isWhite = false;
     int patternLength = theCounters.length;
-
-    int counterPosition = 0;
-    for (int i = rowOffset; i < width; i++) {
-      if (row.get(i) != isWhite) {
-        theCounters[counterPosition]++;
-      } else {
-        if (counterPosition == patternLength - 1) {
-          if (toPattern(theCounters) == ASTERISK_ENCODING) {
-            return new int[]{patternStart, i};
-          }
-          patternStart += theCounters[0] + theCounters[1];
-          System.arraycopy(theCounters, 2, theCounters, 0, counterPosition - 1);
-          theCounters[counterPosition - 1] = 0;
-          theCounters[counterPosition] = 0;
-          counterPosition--;
-        } else {
-          counterPosition++;
-        }
-        theCounters[counterPosition] = 1;
-        isWhite = !isWhite;
+    // Candidates start on a black run, and must end before the end of the row
+    for (int run = runs.isBlack(0) ? 0 : 1; run + patternLength < runs.getRunCount(); run += 2) {
+      runs.getRunWidths(run, theCounters);
+      if (toPattern(theCounters) == ASTERISK_ENCODING) {
+        return new int[]{runs.getRunStart(run), runs.getRunStart(run + patternLength)};
       }
     }
     throw NotFoundException.getNotFoundInstance();
@@ -27,6 +27,7 @@ import com.google.zxing.Result;
 import com.google.zxing.ResultMetadataType;
 import com.google.zxing.ResultPoint;
 import com.google.zxing.common.BitArray;
+import com.google.zxing.common.RunLengthRow;
 
 import java.util.Arrays;
 import java.util.EnumMap;
@@ -128,8 +129,10 @@ public abstract class OneDReader implements Reader {
       }
 
       // Estimate black point for this row and load it:
+      RunLengthRow runs;
       try {
         row = image.getBlackRow(rowNumber, row);
+        runs = image.getBlackRowRuns(rowNumber);
       } catch (NotFoundException ignored) {
         continue;
       }
@@ -139,6 +142,7 @@ public abstract class OneDReader implements Reader {
       for (int attempt = 0; attempt < 2; attempt++) {
         if (attempt == 1) { // trying again?
           row.reverse(); // reverse the row and continue
+          runs = runs.reverse();
           // This means we will only ever draw result points *once* in the life of this method
           // since we want to avoid drawing the wrong points after flipping the row, and,
           // don't want to clutter with noise from every single row scan -- just the scans
@@ -152,7 +156,7 @@ public abstract class OneDReader implements Reader {
         }
         try {
           // Look for a barcode
-          Result result = decodeRow(rowNumber, row, hints);
+          Result result = decodeRow(rowNumber, row, runs, hints);
           // We found our barcode
           if (attempt == 1) {
             // But it was upside down, so note that
@@ -293,4 +297,24 @@ public abstract class OneDReader implements Reader {
   public abstract Result decodeRow(int rowNumber, BitArray row, Map<DecodeHintType,?> hints)
       throws NotFoundException, ChecksumException, FormatException;
 
+  /**
+   * <p>Like {@link #decodeRow(int, BitArray, Map)}, when the row is also available as runs of
+   * black and white pixels, as given by {@link BinaryBitmap#getBlackRowRuns(int)}. Readers which
+   * find their patterns in the runs override this, so that the runs are only computed once per
+   * row for all readers; by default the runs are ignored.</p>
+   *
+   * @param rowNumber row number from top of the row
+   * @param row the black/white pixel data of the row
+   * @param runs the same row as runs of black and white pixels
+   * @param hints decode hints
+   * @return {@link Result} containing encoded string and start/end of barcode
+   * @throws NotFoundException if no potential barcode is found
+   * @throws ChecksumException if a potential barcode is found but does not pass its checksum
+   * @throws FormatException if a potential barcode is found but format is invalid
+   */
+  public Result decodeRow(int rowNumber, BitArray row, RunLengthRow runs, Map<DecodeHintType,?> hints)
+      throws NotFoundException, ChecksumException, FormatException {
+    return decodeRow(rowNumber, row, hints);
+  }
+
 }
@@ -27,8 +27,8 @@ import com.google.zxing.ResultMetadataType;
 import com.google.zxing.ResultPoint;
 import com.google.zxing.ResultPointCallback;
 import com.google.zxing.common.BitArray;
+import com.google.zxing.common.RunLengthRow;
 
-import java.util.Arrays;
 import java.util.Map;
 
 /**
@@ -105,13 +105,16 @@ public abstract class UPCEANReader extends OneDReader {
   }
 
   static int[] findStartGuardPattern(BitArray row) throws NotFoundException {
+    return findStartGuardPattern(new RunLengthRow(row));
+  }
+
+  static int[] findStartGuardPattern(RunLengthRow runs) throws NotFoundException {
     boolean foundStart = false;
     int[] startRange = null;
     int nextStart = 0;
     int[] counters = new int[START_END_PATTERN.length];
     while (!foundStart) {
-      Arrays.fill(counters, 0, START_END_PATTERN.length, 0);
-      startRange = findGuardPattern(row, nextStart, false, START_END_PATTERN, counters);
+      startRange = findGuardPattern(runs, nextStart, false, START_END_PATTERN, counters);
       int start = startRange[0];
       nextStart = startRange[1];
       // Make sure there is a quiet zone at least as big as the start pattern before the barcode.
@@ -119,7 +122,7 @@ public abstract class UPCEANReader extends OneDReader {
       // as it is very likely to be a false positive.
       int quietStart = start - (nextStart - start);
       if (quietStart >= 0) {
-        foundStart = row.isRange(quietStart, start, false);
+        foundStart = runs.isRange(quietStart, start, false);
       }
     }
     return startRange;
@@ -131,6 +134,12 @@ public abstract class UPCEANReader extends OneDReader {
     return decodeRow(rowNumber, row, findStartGuardPattern(row), hints);
   }
 
+  @Override
+  public Result decodeRow(int rowNumber, BitArray row, RunLengthRow runs, Map<DecodeHintType,?> hints)
+      throws NotFoundException, ChecksumException, FormatException {
+    return decodeRow(rowNumber, row, findStartGuardPattern(runs), hints);
+  }
+
   /**
    * <p>Like {@link #decodeRow(int, BitArray, Map)}, but
    * allows caller to inform method about where the UPC/EAN start pattern is
@@ -352,6 +361,36 @@ public abstract class UPCEANReader extends OneDReader {
     throw NotFoundException.getNotFoundInstance();
   }
 
+  /**
+   * Like {@link #findGuardPattern(BitArray, int, boolean, int[], int[])}, but looks at whole runs
+   * of pixels at a time.
+   */
+  private static int[] findGuardPattern(RunLengthRow runs,
+                                        int rowOffset,
+                                        boolean whiteFirst,
+                                        int[] pattern,
+                                        int[] counters) throws NotFoundException {
+    int patternStart = whiteFirst ? runs.getNextUnset(rowOffset) : runs.getNextSet(rowOffset);
+    if (patternStart >= runs.getSize()) {
+      throw NotFoundException.getNotFoundInstance();
+    }
+    int patternLength = pattern.length;
+    int run = runs.getRun(patternStart);
+    // Candidates must end before the end of the row. The first one may start within a run.
+    if (run + patternLength < runs.getRunCount()) {
+      runs.recordPattern(patternStart, counters);
+      if (patternMatchVariance(counters, pattern, MAX_INDIVIDUAL_VARIANCE) < MAX_AVG_VARIANCE) {
+        return new int[]{patternStart, runs.getRunStart(run + patternLength)};
+      }
+    }
+    for (run += 2; run + patternLength < runs.getRunCount(); run += 2) {
+      if (runs.patternMatchVariance(run, pattern, MAX_INDIVIDUAL_VARIANCE) < MAX_AVG_VARIANCE) {
+        return new int[]{runs.getRunStart(run), runs.getRunStart(run + patternLength)};
+      }
+    }
+    throw NotFoundException.getNotFoundInstance();
+  }
+
   /**
    * Attempts to decode a single UPC/EAN-encoded digit.
    *
@@ -17,7 +17,10 @@
 package com.google.zxing.oned.rss.expanded;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * One row of an RSS Expanded Stacked symbol, consisting of 1+ expanded pairs.
@@ -25,10 +28,12 @@ import java.util.List;
 final class ExpandedRow {
 
   private final List<ExpandedPair> pairs;
+  private final Set<ExpandedPair> pairSet;
   private final int rowNumber;
 
   ExpandedRow(List<ExpandedPair> pairs, int rowNumber) {
     this.pairs = new ArrayList<>(pairs);
+    this.pairSet = new HashSet<>(pairs);
     this.rowNumber = rowNumber;
   }
 
@@ -40,6 +45,13 @@ final class ExpandedRow {
     return this.rowNumber;
   }
 
+  /**
+   * @return true if each of the given pairs is also in this row
+   */
+  boolean containsAll(Collection<ExpandedPair> otherPairs) {
+    return this.pairSet.containsAll(otherPairs);
+  }
+
   boolean isEquivalent(List<ExpandedPair> otherPairs) {
     return this.pairs.equals(otherPairs);
   }
@@ -44,10 +44,12 @@ import com.google.zxing.oned.rss.expanded.decoders.AbstractExpandedDecoder;
 import java.util.Arrays;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Collections;
+import java.util.Set;
 
 /**
  * @author Pablo Orduña, University of Deusto (pablo.orduna@deusto.es)
@@ -189,9 +191,9 @@ public final class RSSExpandedReader extends AbstractRSSReader {
     throw NotFoundException.getNotFoundInstance();
   }
 
-  private List<ExpandedPair> checkRows(boolean reverse) {
+  // Not private for testing
+  List<ExpandedPair> checkRows(boolean reverse) {
     // Limit number of rows we are checking
-    // We use recursive algorithm with pure complexity and don't want it to take forever
     // Stacked barcode can have up to 11 rows, so 25 seems reasonable enough
     if (this.rows.size() > 25) {
       this.rows.clear();  // We will never have a chance to get result, so clear it
@@ -205,7 +207,7 @@ public final class RSSExpandedReader extends AbstractRSSReader {
 
     List<ExpandedPair> ps = null;
     try {
-      ps = checkRows(new ArrayList<>(), 0);
+      ps = checkRows(0, (1 << FINDER_PATTERN_SEQUENCES.length) - 1, getFittingSequences(), new HashSet<>());
     } catch (NotFoundException e) {
       // OK
     }
@@ -218,34 +220,104 @@ public final class RSSExpandedReader extends AbstractRSSReader {
   }
 
   // Try to construct a valid rows sequence
-  // Recursion is used to implement backtracking
-  private List<ExpandedPair> checkRows(List<ExpandedRow> collectedRows, int currentRow) throws NotFoundException {
+  // Recursion is used to implement backtracking. Whether rows from some index on can complete the
+  // pairs so far depends only on that index, on which finder pattern sequences the pairs may still
+  // start, on their number and on their checksum; such states which failed once are remembered in
+  // 'rejected' and not searched again.
+  private List<ExpandedPair> checkRows(int currentRow,
+                                       int sequences,
+                                       int[][] fittingSequences,
+                                       Set<Long> rejected) throws NotFoundException {
     for (int i = currentRow; i < rows.size(); i++) {
+      int rowSequences = sequences & fittingSequences[i][this.pairs.size()];
+      if (rowSequences == 0) {
+        continue;
+      }
       ExpandedRow row = rows.get(i);
       this.pairs.addAll(row.getPairs());
       int addSize = row.getPairs().size();
 
-      if (isValidSequence(this.pairs, false)) {
-        if (checkChecksum()) {
-          return this.pairs;
-        }
-        collectedRows.add(row);
+      if (checkChecksum()) {
+        return this.pairs;
+      }
+      long state = getSearchState(i + 1, rowSequences);
+      if (state >= 0 && rejected.add(state)) {
         try {
           // Recursion: try to add more rows
-          return checkRows(collectedRows, i + 1);
+          return checkRows(i + 1, rowSequences, fittingSequences, rejected);
         } catch (NotFoundException e) {
           // We failed, try the next candidate
-          collectedRows.remove(collectedRows.size() - 1);
-          this.pairs.subList(this.pairs.size() - addSize, this.pairs.size()).clear();
         }
-      } else {
-        this.pairs.subList(this.pairs.size() - addSize, this.pairs.size()).clear();
       }
+      this.pairs.subList(this.pairs.size() - addSize, this.pairs.size()).clear();
     }
 
     throw NotFoundException.getNotFoundInstance();
   }
 
+  /**
+   * @return for each row, and each number of pairs which may come before it, the finder pattern
+   *  sequences which the row's pairs fit at that position, as a bit mask of indexes into
+   *  FINDER_PATTERN_SEQUENCES
+   */
+  private int[][] getFittingSequences() {
+    int[][] fittingSequences = new int[rows.size()][MAX_PAIRS + 1];
+    for (int i = 0; i < rows.size(); i++) {
+      List<ExpandedPair> rowPairs = rows.get(i).getPairs();
+      for (int offset = 0; offset <= MAX_PAIRS; offset++) {
+        for (int s = 0; s < FINDER_PATTERN_SEQUENCES.length; s++) {
+          int[] sequence = FINDER_PATTERN_SEQUENCES[s];
+          if (offset + rowPairs.size() > sequence.length) {
+            continue;
+          }
+          boolean fits = true;
+          for (int j = 0; j < rowPairs.size(); j++) {
+            if (rowPairs.get(j).getFinderPattern().getValue() != sequence[offset + j]) {
+              fits = false;
+              break;
+            }
+          }
+          if (fits) {
+            fittingSequences[i][offset] |= 1 << s;
+          }
+        }
+      }
+    }
+    return fittingSequences;
+  }
+
+  /**
+   * @return everything about the pairs so far that decides whether rows from nextRow on can
+   *  complete them, or -1 if nothing can as they have no first data character to check
+   */
+  private long getSearchState(int nextRow, int sequences) {
+    ExpandedPair firstPair = this.pairs.get(0);
+    DataCharacter firstCharacter = firstPair.getRightChar();
+    if (firstCharacter == null) {
+      return -1;
+    }
+    // As in checkChecksum()
+    int checksum = firstCharacter.getChecksumPortion();
+    int s = 2;
+    for (int i = 1; i < this.pairs.size(); ++i) {
+      ExpandedPair currentPair = this.pairs.get(i);
+      checksum += currentPair.getLeftChar().getChecksumPortion();
+      s++;
+      DataCharacter currentRightChar = currentPair.getRightChar();
+      if (currentRightChar != null) {
+        checksum += currentRightChar.getChecksumPortion();
+        s++;
+      }
+    }
+    checksum %= 211;
+    long state = firstPair.getLeftChar().getValue();
+    state = (state << 5) | s;
+    state = (state << 8) | checksum;
+    state = (state << 4) | this.pairs.size();
+    state = (state << FINDER_PATTERN_SEQUENCES.length) | sequences;
+    return (state << 5) | nextRow;
+  }
+
   // Whether the pairs form a valid finder pattern sequence, either complete or a prefix
   private static boolean isValidSequence(List<ExpandedPair> pairs, boolean complete) {
 
@@ -338,42 +410,20 @@ public final class RSSExpandedReader extends AbstractRSSReader {
 
   // Remove all the rows that contains only specified pairs
   private static void removePartialRows(Collection<ExpandedPair> pairs, Collection<ExpandedRow> rows) {
+    Set<ExpandedPair> pairSet = new HashSet<>(pairs);
     for (Iterator<ExpandedRow> iterator = rows.iterator(); iterator.hasNext();) {
       ExpandedRow r = iterator.next();
-      if (r.getPairs().size() != pairs.size()) {
-        boolean allFound = true;
-        for (ExpandedPair p : r.getPairs()) {
-          if (!pairs.contains(p)) {
-            allFound = false;
-            break;
-          }
-        }
-        if (allFound) {
-          // 'pairs' contains all the pairs from the row 'r'
-          iterator.remove();
-        }
+      if (r.getPairs().size() != pairs.size() && pairSet.containsAll(r.getPairs())) {
+        // 'pairs' contains all the pairs from the row 'r'
+        iterator.remove();
       }
     }
   }
 
   // Returns true when one of the rows already contains all the pairs
-  private static boolean isPartialRow(Iterable<ExpandedPair> pairs, Iterable<ExpandedRow> rows) {
+  private static boolean isPartialRow(Collection<ExpandedPair> pairs, Iterable<ExpandedRow> rows) {
     for (ExpandedRow r : rows) {
-      boolean allFound = true;
-      for (ExpandedPair p : pairs) {
-        boolean found = false;
-        for (ExpandedPair pp : r.getPairs()) {
-          if (p.equals(pp)) {
-            found = true;
-            break;
-          }
-        }
-        if (!found) {
-          allFound = false;
-          break;
-        }
-      }
-      if (allFound) {
+      if (r.containsAll(pairs)) {
         // the row 'r' contain all the pairs from 'pairs'
         return true;
       }
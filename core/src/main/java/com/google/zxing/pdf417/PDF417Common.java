@@ -69,11 +69,12 @@ public final class PDF417Common {
    * @return the codeword corresponding to the symbol.
    */
   public static int getCodeword(int symbol) {
-    int i = Arrays.binarySearch(SYMBOL_TABLE, symbol & 0x3FFFF);
-    if (i < 0) {
+    symbol &= 0x3FFFF;
+    // Every symbol starts with a bar and ends with a space, so only its middle 15 bits vary
+    if ((symbol >> (MODULES_IN_CODEWORD - 1)) != 1 || (symbol & 0x1) != 0) {
       return -1;
     }
-    return (CODEWORD_TABLE[i] - 1) % NUMBER_OF_CODEWORDS;
+    return CODEWORDS_BY_SYMBOL[(symbol >> 1) & 0x7FFF];
   }
 
   /**
@@ -460,4 +461,17 @@ public final class PDF417Common {
       2058, 2054, 1145, 1142, 2005, 2002, 1999, 2009, 1488, 1429, 1426, 2200, 1698, 1659, 1656, 1975, 1053, 1957, 1954,
       1001, 998, 1924, 1921, 1918, 1928, 937, 934, 931, 1879, 1876, 1873, 1870, 945, 1885, 1882, 1323, 1273, 1270,
       2105, 1202, 1199, 1196, 1211, 2061, 2057, 1576, 1543, 1540, 1484, 1481, 1478, 1491, 1700};
+
+  /**
+   * The codeword of each symbol, or -1, indexed by the symbol's middle 15 bits.
+   */
+  private static final short[] CODEWORDS_BY_SYMBOL = new short[1 << (MODULES_IN_CODEWORD - 2)];
+
+  static {
+    Arrays.fill(CODEWORDS_BY_SYMBOL, (short) -1);
+    for (int i = 0; i < SYMBOL_TABLE.length; i++) {
+      CODEWORDS_BY_SYMBOL[(SYMBOL_TABLE[i] >> 1) & 0x7FFF] = (short) ((CODEWORD_TABLE[i] - 1) % NUMBER_OF_CODEWORDS);
+    }
+  }
+
 }
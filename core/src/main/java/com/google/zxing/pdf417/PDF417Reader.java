@@ -35,6 +35,7 @@ import com.google.zxing.pdf417.detector.PDF417DetectorResult;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * This implementation can detect and decode PDF417 codes in an image.
@@ -45,6 +46,21 @@ public final class PDF417Reader implements Reader, MultipleBarcodeReader {
 
   private static final Result[] EMPTY_RESULT_ARRAY = new Result[0];
 
+  private final ForkJoinPool pool;
+
+  public PDF417Reader() {
+    this(null);
+  }
+
+  /**
+   * @param pool pool on which to decode large symbols, or null to use only the calling thread
+   * @see PDF417ScanningDecoder#decode(com.google.zxing.common.BitMatrix, ResultPoint, ResultPoint, ResultPoint,
+   *  ResultPoint, int, int, ForkJoinPool)
+   */
+  public PDF417Reader(ForkJoinPool pool) {
+    this.pool = pool;
+  }
+
   /**
    * Locates and decodes a PDF417 code in an image.
    *
@@ -81,13 +97,13 @@ public final class PDF417Reader implements Reader, MultipleBarcodeReader {
     }
   }
 
-  private static Result[] decode(BinaryBitmap image, Map<DecodeHintType, ?> hints, boolean multiple)
+  private Result[] decode(BinaryBitmap image, Map<DecodeHintType, ?> hints, boolean multiple)
       throws NotFoundException, FormatException, ChecksumException {
     List<Result> results = new ArrayList<>();
     PDF417DetectorResult detectorResult = Detector.detect(image, hints, multiple);
     for (ResultPoint[] points : detectorResult.getPoints()) {
       DecoderResult decoderResult = PDF417ScanningDecoder.decode(detectorResult.getBits(), points[4], points[5],
-          points[6], points[7], getMinCodewordWidth(points), getMaxCodewordWidth(points));
+          points[6], points[7], getMinCodewordWidth(points), getMaxCodewordWidth(points), pool);
       Result result = new Result(decoderResult.getText(), decoderResult.getRawBytes(), points, BarcodeFormat.PDF_417);
       result.putMetadata(ResultMetadataType.ERROR_CORRECTION_LEVEL, decoderResult.getECLevel());
       result.putMetadata(ResultMetadataType.ERRORS_CORRECTED, decoderResult.getErrorsCorrected());
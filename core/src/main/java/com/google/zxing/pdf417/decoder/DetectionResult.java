@@ -241,6 +241,10 @@ final class DetectionResult {
     return false;
   }
 
+  BarcodeMetadata getBarcodeMetadata() {
+    return barcodeMetadata;
+  }
+
   int getBarcodeColumnCount() {
     return barcodeColumnCount;
   }
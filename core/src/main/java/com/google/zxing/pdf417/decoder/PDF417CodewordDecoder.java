@@ -80,13 +80,16 @@ final class PDF417CodewordDecoder {
   }
 
   private static int getBitValue(int[] moduleBitCount) {
-    long result = 0;
+    // The counts are sampled, so they add up to the 17 modules of a symbol
+    int result = 0;
     for (int i = 0; i < moduleBitCount.length; i++) {
-      for (int bit = 0; bit < moduleBitCount[i]; bit++) {
-        result = (result << 1) | (i % 2 == 0 ? 1 : 0);
+      int count = moduleBitCount[i];
+      result <<= count;
+      if (i % 2 == 0) {
+        result |= (1 << count) - 1;
       }
     }
-    return (int) result;
+    return result;
   }
 
   private static int getClosestDecodedValue(int[] moduleBitCount) {
@@ -30,8 +30,21 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Formatter;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
+ * <p>Decodes a PDF417 symbol from the image, given the corners found by the detector.</p>
+ *
+ * <p>Given a {@link ForkJoinPool}, it decodes large symbols in parallel. Each codeword column is
+ * found from the one before it, so the columns are not scanned independently; instead the symbol
+ * is cut into bands of image rows, and each band scans all of its columns on its own thread. A band
+ * begins by scanning a few rows of the band above it again, so that it starts from codewords which
+ * are already found, as the whole symbol would. Ambiguous codewords are then resolved by trying the
+ * combinations of their values concurrently, and the first combination, in the order in which they
+ * are tried one by one, which decodes or fails for some reason other than a checksum is used.</p>
+ *
  * @author Guenther Grau
  */
 public final class PDF417ScanningDecoder {
@@ -41,6 +54,10 @@ public final class PDF417ScanningDecoder {
   private static final int MAX_ERRORS = 3;
   private static final int MAX_EC_CODEWORDS = 512;
   private static final ErrorCorrection errorCorrection = new ErrorCorrection();
+  private static final int MAX_AMBIGUOUS_TRIES = 100;
+  // Image rows scanned by each task in parallel, and the rows above them scanned again for context
+  private static final int BAND_ROWS = 48;
+  private static final int BAND_OVERLAP_ROWS = 6;
 
   private PDF417ScanningDecoder() {
   }
@@ -57,6 +74,26 @@ public final class PDF417ScanningDecoder {
                                      int minCodewordWidth,
                                      int maxCodewordWidth)
       throws NotFoundException, FormatException, ChecksumException {
+    return decode(image, imageTopLeft, imageBottomLeft, imageTopRight, imageBottomRight, minCodewordWidth,
+        maxCodewordWidth, null);
+  }
+
+  /**
+   * Like {@link #decode(BitMatrix, ResultPoint, ResultPoint, ResultPoint, ResultPoint, int, int)},
+   * but decodes large symbols on the given pool.
+   *
+   * @param pool pool on which to scan codewords and resolve ambiguous ones, or null to use only
+   *  the calling thread
+   */
+  public static DecoderResult decode(BitMatrix image,
+                                     ResultPoint imageTopLeft,
+                                     ResultPoint imageBottomLeft,
+                                     ResultPoint imageTopRight,
+                                     ResultPoint imageBottomRight,
+                                     int minCodewordWidth,
+                                     int maxCodewordWidth,
+                                     ForkJoinPool pool)
+      throws NotFoundException, FormatException, ChecksumException {
     BoundingBox boundingBox = new BoundingBox(image, imageTopLeft, imageBottomLeft, imageTopRight, imageBottomRight);
     DetectionResultRowIndicatorColumn leftRowIndicatorColumn = null;
     DetectionResultRowIndicatorColumn rightRowIndicatorColumn = null;
@@ -88,6 +125,27 @@ public final class PDF417ScanningDecoder {
     detectionResult.setDetectionResultColumn(maxBarcodeColumn, rightRowIndicatorColumn);
 
     boolean leftToRight = leftRowIndicatorColumn != null;
+    if (pool == null || boundingBox.getMaxY() - boundingBox.getMinY() + 1 < 2 * BAND_ROWS) {
+      scanColumns(image, detectionResult, leftToRight, boundingBox.getMinY(), boundingBox.getMaxY(),
+          minCodewordWidth, maxCodewordWidth);
+    } else {
+      scanColumnsInBands(image, detectionResult, leftToRight, minCodewordWidth, maxCodewordWidth, pool);
+    }
+    return createDecoderResult(detectionResult, pool);
+  }
+
+  /**
+   * Finds the codewords of the columns which the detection result lacks, in the given image rows.
+   */
+  private static void scanColumns(BitMatrix image,
+                                  DetectionResult detectionResult,
+                                  boolean leftToRight,
+                                  int minImageRow,
+                                  int maxImageRow,
+                                  int minCodewordWidth,
+                                  int maxCodewordWidth) {
+    BoundingBox boundingBox = detectionResult.getBoundingBox();
+    int maxBarcodeColumn = detectionResult.getBarcodeColumnCount() + 1;
     for (int barcodeColumnCount = 1; barcodeColumnCount <= maxBarcodeColumn; barcodeColumnCount++) {
       int barcodeColumn = leftToRight ? barcodeColumnCount : maxBarcodeColumn - barcodeColumnCount;
       if (detectionResult.getDetectionResultColumn(barcodeColumn) != null) {
@@ -104,7 +162,7 @@ public final class PDF417ScanningDecoder {
       int startColumn = -1;
       int previousStartColumn = startColumn;
       // TODO start at a row for which we know the start position, then detect upwards and downwards from there.
-      for (int imageRow = boundingBox.getMinY(); imageRow <= boundingBox.getMaxY(); imageRow++) {
+      for (int imageRow = minImageRow; imageRow <= maxImageRow; imageRow++) {
         startColumn = getStartColumn(detectionResult, barcodeColumn, imageRow, leftToRight);
         if (startColumn < 0 || startColumn > boundingBox.getMaxX()) {
           if (previousStartColumn == -1) {
@@ -122,7 +180,45 @@ public final class PDF417ScanningDecoder {
         }
       }
     }
-    return createDecoderResult(detectionResult);
+  }
+
+  private static void scanColumnsInBands(BitMatrix image,
+                                         DetectionResult detectionResult,
+                                         boolean leftToRight,
+                                         int minCodewordWidth,
+                                         int maxCodewordWidth,
+                                         ForkJoinPool pool) {
+    BoundingBox boundingBox = detectionResult.getBoundingBox();
+    int maxBarcodeColumn = detectionResult.getBarcodeColumnCount() + 1;
+    int bandCount = (boundingBox.getMaxY() - boundingBox.getMinY() + BAND_ROWS) / BAND_ROWS;
+    DetectionResult[] bands = new DetectionResult[bandCount];
+    for (int band = 0; band < bandCount; band++) {
+      // Each band shares the row indicator columns found so far, and fills in columns of its own
+      bands[band] = new DetectionResult(detectionResult.getBarcodeMetadata(), boundingBox);
+      bands[band].setDetectionResultColumn(0, detectionResult.getDetectionResultColumn(0));
+      bands[band].setDetectionResultColumn(maxBarcodeColumn,
+          detectionResult.getDetectionResultColumn(maxBarcodeColumn));
+    }
+    pool.invoke(new ScanTask(image, bands, 0, bandCount, leftToRight, minCodewordWidth, maxCodewordWidth));
+
+    for (int barcodeColumn = 0; barcodeColumn <= maxBarcodeColumn; barcodeColumn++) {
+      if (detectionResult.getDetectionResultColumn(barcodeColumn) != null) {
+        continue;
+      }
+      DetectionResultColumn detectionResultColumn;
+      if (barcodeColumn == 0 || barcodeColumn == maxBarcodeColumn) {
+        detectionResultColumn = new DetectionResultRowIndicatorColumn(boundingBox, barcodeColumn == 0);
+      } else {
+        detectionResultColumn = new DetectionResultColumn(boundingBox);
+      }
+      detectionResult.setDetectionResultColumn(barcodeColumn, detectionResultColumn);
+      Codeword[] codewords = detectionResultColumn.getCodewords();
+      for (int band = 0; band < bandCount; band++) {
+        int start = band * BAND_ROWS;
+        System.arraycopy(bands[band].getDetectionResultColumn(barcodeColumn).getCodewords(), start,
+            codewords, start, Math.min(BAND_ROWS, codewords.length - start));
+      }
+    }
   }
 
   private static DetectionResult merge(DetectionResultRowIndicatorColumn leftRowIndicatorColumn,
@@ -252,8 +348,8 @@ public final class PDF417ScanningDecoder {
     }
   }
 
-  private static DecoderResult createDecoderResult(DetectionResult detectionResult) throws FormatException,
-      ChecksumException, NotFoundException {
+  private static DecoderResult createDecoderResult(DetectionResult detectionResult, ForkJoinPool pool)
+      throws FormatException, ChecksumException, NotFoundException {
     BarcodeValue[][] barcodeMatrix = createBarcodeMatrix(detectionResult);
     adjustCodewordCount(detectionResult, barcodeMatrix);
     Collection<Integer> erasures = new ArrayList<>();
@@ -279,7 +375,8 @@ public final class PDF417ScanningDecoder {
       ambiguousIndexValues[i] = ambiguousIndexValuesList.get(i);
     }
     return createDecoderResultFromAmbiguousValues(detectionResult.getBarcodeECLevel(), codewords,
-        PDF417Common.toIntArray(erasures), PDF417Common.toIntArray(ambiguousIndexesList), ambiguousIndexValues);
+        PDF417Common.toIntArray(erasures), PDF417Common.toIntArray(ambiguousIndexesList), ambiguousIndexValues,
+        pool);
   }
 
   /**
@@ -294,16 +391,22 @@ public final class PDF417ScanningDecoder {
    * @param ambiguousIndexes array with the indexes that have more than one most likely value
    * @param ambiguousIndexValues two dimensional array that contains the ambiguous values. The first dimension must
    * be the same length as the ambiguousIndexes array
+   * @param pool pool on which to try combinations of the ambiguous values, or null to try them one by one
    */
-  private static DecoderResult createDecoderResultFromAmbiguousValues(int ecLevel,
-                                                                      int[] codewords,
-                                                                      int[] erasureArray,
-                                                                      int[] ambiguousIndexes,
-                                                                      int[][] ambiguousIndexValues)
+  static DecoderResult createDecoderResultFromAmbiguousValues(int ecLevel,
+                                                              int[] codewords,
+                                                              int[] erasureArray,
+                                                              int[] ambiguousIndexes,
+                                                              int[][] ambiguousIndexValues,
+                                                              ForkJoinPool pool)
       throws FormatException, ChecksumException {
+    if (pool != null && ambiguousIndexes.length > 0) {
+      return tryAmbiguousValuesInParallel(ecLevel, codewords, erasureArray, ambiguousIndexes,
+          ambiguousIndexValues, pool);
+    }
     int[] ambiguousIndexCount = new int[ambiguousIndexes.length];
 
-    int tries = 100;
+    int tries = MAX_AMBIGUOUS_TRIES;
     while (tries-- > 0) {
       for (int i = 0; i < ambiguousIndexCount.length; i++) {
         codewords[ambiguousIndexes[i]] = ambiguousIndexValues[i][ambiguousIndexCount[i]];
@@ -331,6 +434,35 @@ public final class PDF417ScanningDecoder {
     throw ChecksumException.getChecksumInstance();
   }
 
+  private static DecoderResult tryAmbiguousValuesInParallel(int ecLevel,
+                                                            int[] codewords,
+                                                            int[] erasureArray,
+                                                            int[] ambiguousIndexes,
+                                                            int[][] ambiguousIndexValues,
+                                                            ForkJoinPool pool)
+      throws FormatException, ChecksumException {
+    // Combinations are numbered as they would be tried one by one, with the first ambiguous value
+    // changing fastest
+    int combinationCount = 1;
+    for (int i = 0; i < ambiguousIndexValues.length && combinationCount < MAX_AMBIGUOUS_TRIES; i++) {
+      combinationCount *= ambiguousIndexValues[i].length;
+    }
+    combinationCount = Math.min(combinationCount, MAX_AMBIGUOUS_TRIES);
+    DecoderResult[] results = new DecoderResult[combinationCount];
+    FormatException[] failures = new FormatException[combinationCount];
+    AtomicInteger firstOutcome = new AtomicInteger(combinationCount);
+    pool.invoke(new AmbiguousValuesTask(ecLevel, codewords, erasureArray, ambiguousIndexes, ambiguousIndexValues,
+        0, combinationCount, results, failures, firstOutcome));
+    int combination = firstOutcome.get();
+    if (combination == combinationCount) {
+      throw ChecksumException.getChecksumInstance();
+    }
+    if (failures[combination] != null) {
+      throw failures[combination];
+    }
+    return results[combination];
+  }
+
   private static BarcodeValue[][] createBarcodeMatrix(DetectionResult detectionResult) {
     BarcodeValue[][] barcodeMatrix =
         new BarcodeValue[detectionResult.getBarcodeRowCount()][detectionResult.getBarcodeColumnCount() + 2];
@@ -631,4 +763,129 @@ public final class PDF417ScanningDecoder {
     }
   }
 
+
+  /**
+   * Scans a range of bands, splitting it among pool threads.
+   */
+  private static final class ScanTask extends RecursiveAction {
+
+    private final BitMatrix image;
+    private final DetectionResult[] bands;
+    private final int startBand;
+    private final int endBand;
+    private final boolean leftToRight;
+    private final int minCodewordWidth;
+    private final int maxCodewordWidth;
+
+    ScanTask(BitMatrix image,
+             DetectionResult[] bands,
+             int startBand,
+             int endBand,
+             boolean leftToRight,
+             int minCodewordWidth,
+             int maxCodewordWidth) {
+      this.image = image;
+      this.bands = bands;
+      this.startBand = startBand;
+      this.endBand = endBand;
+      this.leftToRight = leftToRight;
+      this.minCodewordWidth = minCodewordWidth;
+      this.maxCodewordWidth = maxCodewordWidth;
+    }
+
+    @Override
+    protected void compute() {
+      if (endBand - startBand > 1) {
+        int middleBand = (startBand + endBand) / 2;
+        invokeAll(new ScanTask(image, bands, startBand, middleBand, leftToRight, minCodewordWidth, maxCodewordWidth),
+            new ScanTask(image, bands, middleBand, endBand, leftToRight, minCodewordWidth, maxCodewordWidth));
+        return;
+      }
+      DetectionResult band = bands[startBand];
+      int minY = band.getBoundingBox().getMinY();
+      int maxY = band.getBoundingBox().getMaxY();
+      int firstRow = minY + startBand * BAND_ROWS;
+      scanColumns(image, band, leftToRight, Math.max(minY, firstRow - BAND_OVERLAP_ROWS),
+          Math.min(maxY, firstRow + BAND_ROWS - 1), minCodewordWidth, maxCodewordWidth);
+    }
+
+  }
+
+  /**
+   * Tries a range of combinations of ambiguous values, splitting it among pool threads. A
+   * combination is skipped once an earlier one is known to decide the outcome.
+   */
+  private static final class AmbiguousValuesTask extends RecursiveAction {
+
+    private final int ecLevel;
+    private final int[] codewords;
+    private final int[] erasureArray;
+    private final int[] ambiguousIndexes;
+    private final int[][] ambiguousIndexValues;
+    private final int startCombination;
+    private final int endCombination;
+    private final DecoderResult[] results;
+    private final FormatException[] failures;
+    private final AtomicInteger firstOutcome;
+
+    AmbiguousValuesTask(int ecLevel,
+                        int[] codewords,
+                        int[] erasureArray,
+                        int[] ambiguousIndexes,
+                        int[][] ambiguousIndexValues,
+                        int startCombination,
+                        int endCombination,
+                        DecoderResult[] results,
+                        FormatException[] failures,
+                        AtomicInteger firstOutcome) {
+      this.ecLevel = ecLevel;
+      this.codewords = codewords;
+      this.erasureArray = erasureArray;
+      this.ambiguousIndexes = ambiguousIndexes;
+      this.ambiguousIndexValues = ambiguousIndexValues;
+      this.startCombination = startCombination;
+      this.endCombination = endCombination;
+      this.results = results;
+      this.failures = failures;
+      this.firstOutcome = firstOutcome;
+    }
+
+    @Override
+    protected void compute() {
+      if (startCombination > firstOutcome.get()) {
+        return;
+      }
+      if (endCombination - startCombination > 1) {
+        int middleCombination = (startCombination + endCombination) / 2;
+        invokeAll(split(startCombination, middleCombination), split(middleCombination, endCombination));
+        return;
+      }
+      // Error correction works in place, so each combination decodes a copy
+      int[] combinationCodewords = codewords.clone();
+      int remaining = startCombination;
+      for (int i = 0; i < ambiguousIndexes.length; i++) {
+        int[] values = ambiguousIndexValues[i];
+        combinationCodewords[ambiguousIndexes[i]] = values[remaining % values.length];
+        remaining /= values.length;
+      }
+      try {
+        results[startCombination] = decodeCodewords(combinationCodewords, ecLevel, erasureArray);
+      } catch (ChecksumException ignored) {
+        return;
+      } catch (FormatException fe) {
+        failures[startCombination] = fe;
+      }
+      int first;
+      do {
+        first = firstOutcome.get();
+      } while (startCombination < first && !firstOutcome.compareAndSet(first, startCombination));
+    }
+
+    private AmbiguousValuesTask split(int start, int end) {
+      return new AmbiguousValuesTask(ecLevel, codewords, erasureArray, ambiguousIndexes, ambiguousIndexValues,
+          start, end, results, failures, firstOutcome);
+    }
+
+  }
+
 }
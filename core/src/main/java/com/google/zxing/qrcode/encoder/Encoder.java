@@ -55,15 +55,6 @@ public final class Encoder {
   private Encoder() {
   }
 
-  // The mask penalty calculation is complicated.  See Table 21 of JISX0510:2004 (p.45) for details.
-  // Basically it applies four rules and summate all penalties.
-  private static int calculateMaskPenalty(ByteMatrix matrix) {
-    return MaskUtil.applyMaskPenaltyRule1(matrix)
-        + MaskUtil.applyMaskPenaltyRule2(matrix)
-        + MaskUtil.applyMaskPenaltyRule3(matrix)
-        + MaskUtil.applyMaskPenaltyRule4(matrix);
-  }
-
   /**
    * @param content text to encode
    * @param ecLevel error correction level to use
@@ -191,7 +182,7 @@ public final class Encoder {
     }
 
     if (maskPattern == -1) {
-      maskPattern = chooseMaskPattern(finalBits, ecLevel, version, matrix);
+      maskPattern = MaskSelector.chooseMaskPattern(finalBits, ecLevel, version, matrix);
     }
     qrCode.setMaskPattern(maskPattern);
 
@@ -293,25 +284,6 @@ public final class Encoder {
     return true;
   }
 
-  private static int chooseMaskPattern(BitArray bits,
-                                       ErrorCorrectionLevel ecLevel,
-                                       Version version,
-                                       ByteMatrix matrix) throws WriterException {
-
-    int minPenalty = Integer.MAX_VALUE;  // Lower penalty is better.
-    int bestMaskPattern = -1;
-    // We try all mask patterns to choose the best one.
-    for (int maskPattern = 0; maskPattern < QRCode.NUM_MASK_PATTERNS; maskPattern++) {
-      MatrixUtil.buildMatrix(bits, ecLevel, version, maskPattern, matrix);
-      int penalty = calculateMaskPenalty(matrix);
-      if (penalty < minPenalty) {
-        minPenalty = penalty;
-        bestMaskPattern = maskPattern;
-      }
-    }
-    return bestMaskPattern;
-  }
-
   private static Version chooseVersion(int numInputBits, ErrorCorrectionLevel ecLevel) throws WriterException {
     for (int versionNum = 1; versionNum <= 40; versionNum++) {
       Version version = Version.getVersionForNumber(versionNum);
@@ -0,0 +1,305 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing.qrcode.encoder;
+
+import com.google.zxing.WriterException;
+import com.google.zxing.common.BitArray;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import com.google.zxing.qrcode.decoder.Version;
+
+/**
+ * <p>Computes the penalties of {@link MaskUtil} for all mask patterns of a symbol, without
+ * building the symbol once per mask.</p>
+ *
+ * <p>The unmasked symbol is built once. It is then packed into rows and columns of bits, 64
+ * cells per {@code long}, along with which cells hold data. Masking a row or column is then
+ * an XOR with the mask's bits, and the rules become word-wide bitwise operations on lines
+ * shifted against themselves, counted with {@link Long#bitCount(long)}. The masks repeat every
+ * 12 cells in each direction, so their bits are computed once for all symbol sizes.</p>
+ *
+ * @see MaskUtil
+ */
+final class MaskSelector {
+
+  private static final int MAX_DIMENSION = 177;
+  private static final int WORDS = (MAX_DIMENSION + 63) / 64;
+  // Every mask pattern repeats with this period, horizontally and vertically
+  private static final int MASK_PERIOD = 12;
+
+  // Bits of each mask, by mask pattern and row (y mod 12) or column (x mod 12)
+  private static final long[][][] MASK_ROWS = new long[QRCode.NUM_MASK_PATTERNS][MASK_PERIOD][WORDS];
+  private static final long[][][] MASK_COLUMNS = new long[QRCode.NUM_MASK_PATTERNS][MASK_PERIOD][WORDS];
+
+  static {
+    for (int maskPattern = 0; maskPattern < QRCode.NUM_MASK_PATTERNS; maskPattern++) {
+      for (int i = 0; i < MASK_PERIOD; i++) {
+        for (int j = 0; j < MAX_DIMENSION; j++) {
+          if (MaskUtil.getDataMaskBit(maskPattern, j, i)) {
+            set(MASK_ROWS[maskPattern][i], j);
+          }
+          if (MaskUtil.getDataMaskBit(maskPattern, i, j)) {
+            set(MASK_COLUMNS[maskPattern][i], j);
+          }
+        }
+      }
+    }
+  }
+
+  private MaskSelector() {
+  }
+
+  /**
+   * @return the mask pattern with the lowest penalty; the first one of those that tie
+   */
+  static int chooseMaskPattern(BitArray dataBits,
+                               ErrorCorrectionLevel ecLevel,
+                               Version version,
+                               ByteMatrix matrix) throws WriterException {
+    int[] penalties = calculateMaskPenalties(dataBits, ecLevel, version, matrix);
+    int bestMaskPattern = 0;
+    for (int maskPattern = 1; maskPattern < penalties.length; maskPattern++) {
+      if (penalties[maskPattern] < penalties[bestMaskPattern]) {
+        bestMaskPattern = maskPattern;
+      }
+    }
+    return bestMaskPattern;
+  }
+
+  /**
+   * @param matrix matrix to build the symbol in, which is left holding it unmasked, with the
+   *  type information of the last mask pattern
+   * @return penalty of the symbol with each mask pattern, by mask pattern; the same as
+   *  {@link MaskUtil}'s four rules give for the symbol built by {@link MatrixUtil#buildMatrix}
+   */
+  static int[] calculateMaskPenalties(BitArray dataBits,
+                                      ErrorCorrectionLevel ecLevel,
+                                      Version version,
+                                      ByteMatrix matrix) throws WriterException {
+    int width = matrix.getWidth();
+    int height = matrix.getHeight();
+    if (width > MAX_DIMENSION || height > MAX_DIMENSION) {
+      throw new WriterException("Symbol too large: " + width + 'x' + height);
+    }
+
+    // Function patterns, with the type information cells claimed by any mask's type information
+    MatrixUtil.clearMatrix(matrix);
+    MatrixUtil.embedBasicPatterns(version, matrix);
+    MatrixUtil.embedTypeInfo(ecLevel, 0, matrix);
+    MatrixUtil.maybeEmbedVersionInfo(version, matrix);
+    long[][] dataRows = new long[height][WORDS];
+    long[][] dataColumns = new long[width][WORDS];
+    byte[][] array = matrix.getArray();
+    for (int y = 0; y < height; y++) {
+      for (int x = 0; x < width; x++) {
+        if (array[y][x] == -1) {
+          set(dataRows[y], x);
+          set(dataColumns[x], y);
+        }
+      }
+    }
+    MatrixUtil.embedDataBits(dataBits, -1, matrix);
+
+    long[][] baseRows = new long[height][WORDS];
+    long[][] baseColumns = new long[width][WORDS];
+    for (int y = 0; y < height; y++) {
+      packRow(array, y, baseRows[y]);
+    }
+    for (int x = 0; x < width; x++) {
+      packColumn(array, x, baseColumns[x]);
+    }
+
+    long[][] rows = new long[height][WORDS];
+    long[][] columns = new long[width][WORDS];
+    int[] penalties = new int[QRCode.NUM_MASK_PATTERNS];
+    for (int maskPattern = 0; maskPattern < QRCode.NUM_MASK_PATTERNS; maskPattern++) {
+      // Type information lies in row 8 and column 8, but touches the rows and columns it crosses
+      MatrixUtil.embedTypeInfo(ecLevel, maskPattern, matrix);
+      for (int i = 0; i < 9; i++) {
+        packRow(array, i, baseRows[i]);
+        packColumn(array, i, baseColumns[i]);
+      }
+      for (int i = 1; i <= 8; i++) {
+        packRow(array, height - i, baseRows[height - i]);
+        packColumn(array, width - i, baseColumns[width - i]);
+      }
+      long[][] maskRows = MASK_ROWS[maskPattern];
+      for (int y = 0; y < height; y++) {
+        applyMask(baseRows[y], dataRows[y], maskRows[y % MASK_PERIOD], rows[y]);
+      }
+      long[][] maskColumns = MASK_COLUMNS[maskPattern];
+      for (int x = 0; x < width; x++) {
+        applyMask(baseColumns[x], dataColumns[x], maskColumns[x % MASK_PERIOD], columns[x]);
+      }
+      penalties[maskPattern] = calculatePenalty(rows, width, columns, height);
+    }
+    return penalties;
+  }
+
+  private static int calculatePenalty(long[][] rows, int width, long[][] columns, int height) {
+    long[] scratch = new long[WORDS];
+    int rule1 = 0;
+    int rule3 = 0;
+    int darkCells = 0;
+    for (long[] row : rows) {
+      rule1 += countRunPenalty(row, width, scratch);
+      rule3 += countFinderLikePatterns(row, width);
+      for (long word : row) {
+        darkCells += Long.bitCount(word);
+      }
+    }
+    for (long[] column : columns) {
+      rule1 += countRunPenalty(column, height, scratch);
+      rule3 += countFinderLikePatterns(column, height);
+    }
+    int rule2 = 0;
+    for (int y = 0; y < rows.length - 1; y++) {
+      rule2 += countSameColorBlocks(rows[y], rows[y + 1], width, scratch);
+    }
+    int totalCells = width * height;
+    int fivePercentVariances = Math.abs(darkCells * 2 - totalCells) * 10 / totalCells;
+    return rule1 + MaskUtil.N2 * rule2 + MaskUtil.N3 * rule3 + MaskUtil.N4 * fivePercentVariances;
+  }
+
+  /**
+   * Rule 1: a run of n >= 5 cells of the same color costs N1 + (n - 5). That is the number of
+   * 5-cell windows in the run, plus N1 - 1 for the window which starts the run.
+   */
+  private static int countRunPenalty(long[] line, int size, long[] sameAsNext) {
+    for (int i = 0; i < WORDS; i++) {
+      sameAsNext[i] = ~(line[i] ^ shifted(line, i, 1));
+    }
+    int penalty = 0;
+    for (int i = 0; i < WORDS; i++) {
+      long window = sameAsNext[i] & shifted(sameAsNext, i, 1) & shifted(sameAsNext, i, 2) &
+          shifted(sameAsNext, i, 3) & lowBits(i, size - 4);
+      if (window != 0) {
+        long startsRun = line[i] ^ shifted(line, i, -1);
+        if (i == 0) {
+          startsRun |= 1L;
+        }
+        penalty += Long.bitCount(window) + (MaskUtil.N1 - 1) * Long.bitCount(window & startsRun);
+      }
+    }
+    return penalty;
+  }
+
+  /**
+   * Rule 3: dark-light-dark-dark-dark-light-dark, with 4 light cells before or after it inside
+   * the line.
+   */
+  private static int countFinderLikePatterns(long[] line, int size) {
+    int count = 0;
+    for (int i = 0; i < WORDS; i++) {
+      long pattern = line[i] & ~shifted(line, i, 1) & shifted(line, i, 2) & shifted(line, i, 3) &
+          shifted(line, i, 4) & ~shifted(line, i, 5) & shifted(line, i, 6) & lowBits(i, size - 6);
+      if (pattern != 0) {
+        long lightBefore = ~(shifted(line, i, -1) | shifted(line, i, -2) | shifted(line, i, -3) |
+            shifted(line, i, -4)) & ~lowBits(i, 4);
+        long lightAfter = ~(shifted(line, i, 7) | shifted(line, i, 8) | shifted(line, i, 9) |
+            shifted(line, i, 10)) & lowBits(i, size - 10);
+        count += Long.bitCount(pattern & (lightBefore | lightAfter));
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Rule 2: 2x2 blocks of the same color, in two adjacent rows.
+   */
+  private static int countSameColorBlocks(long[] row, long[] nextRow, int width, long[] sameAsBelow) {
+    int count = 0;
+    for (int i = 0; i < WORDS; i++) {
+      sameAsBelow[i] = ~(row[i] ^ nextRow[i]);
+    }
+    for (int i = 0; i < WORDS; i++) {
+      long sameAsRight = ~(row[i] ^ shifted(row, i, 1));
+      count += Long.bitCount(sameAsBelow[i] & shifted(sameAsBelow, i, 1) & sameAsRight &
+          lowBits(i, width - 1));
+    }
+    return count;
+  }
+
+  private static void applyMask(long[] base, long[] data, long[] mask, long[] result) {
+    for (int i = 0; i < WORDS; i++) {
+      result[i] = base[i] ^ (data[i] & mask[i]);
+    }
+  }
+
+  /**
+   * @return word i of the line shifted so that bit x is the line's bit x + shift, with 0 past
+   *  either end; shift is in (-64, 64)
+   */
+  private static long shifted(long[] line, int i, int shift) {
+    if (shift > 0) {
+      long result = line[i] >>> shift;
+      if (i + 1 < WORDS) {
+        result |= line[i + 1] << (64 - shift);
+      }
+      return result;
+    }
+    if (shift < 0) {
+      long result = line[i] << -shift;
+      if (i > 0) {
+        result |= line[i - 1] >>> (64 + shift);
+      }
+      return result;
+    }
+    return line[i];
+  }
+
+  /**
+   * @return word i of the mask of bits 0 to n - 1
+   */
+  private static long lowBits(int i, int n) {
+    int bits = n - 64 * i;
+    if (bits <= 0) {
+      return 0L;
+    }
+    if (bits >= 64) {
+      return -1L;
+    }
+    return (1L << bits) - 1;
+  }
+
+  private static void packRow(byte[][] array, int y, long[] row) {
+    byte[] arrayY = array[y];
+    for (int i = 0; i < WORDS; i++) {
+      row[i] = 0L;
+    }
+    for (int x = 0; x < arrayY.length; x++) {
+      if (arrayY[x] == 1) {
+        set(row, x);
+      }
+    }
+  }
+
+  private static void packColumn(byte[][] array, int x, long[] column) {
+    for (int i = 0; i < WORDS; i++) {
+      column[i] = 0L;
+    }
+    for (int y = 0; y < array.length; y++) {
+      if (array[y][x] == 1) {
+        set(column, y);
+      }
+    }
+  }
+
+  private static void set(long[] line, int i) {
+    line[i >> 6] |= 1L << (i & 0x3F);
+  }
+
+}
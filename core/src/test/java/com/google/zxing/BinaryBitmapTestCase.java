@@ -0,0 +1,191 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing;
+
+import com.google.zxing.common.BitArray;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.common.GlobalHistogramBinarizer;
+import com.google.zxing.common.HybridBinarizer;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+/**
+ * Tests {@link BinaryBitmap}.
+ */
+public final class BinaryBitmapTestCase extends Assert {
+
+  private static final int WIDTH = 77;
+  private static final int HEIGHT = 50;
+
+  @Test
+  public void testMatrixIsShared() throws NotFoundException {
+    BinaryBitmap bitmap = new BinaryBitmap(new HybridBinarizer(createSource()));
+    BitMatrix matrix = bitmap.getBlackMatrix();
+    assertSame(matrix, bitmap.getBlackMatrix());
+    BinaryBitmap inverted = bitmap.invert();
+    assertTrue(inverted.isInverted());
+    assertSame(inverted.getBlackMatrix(), bitmap.invert().getBlackMatrix());
+    assertSame(matrix, inverted.invert().getBlackMatrix());
+  }
+
+  @Test
+  public void testInvertedMatrix() throws NotFoundException {
+    BinaryBitmap bitmap = new BinaryBitmap(new HybridBinarizer(createSource()));
+    BitMatrix matrix = bitmap.getBlackMatrix();
+    BitMatrix original = matrix.clone();
+    BitMatrix inverted = bitmap.invert().getBlackMatrix();
+    assertNotSame(matrix, inverted);
+    assertEquals(original, matrix);
+    for (int y = 0; y < HEIGHT; y++) {
+      for (int x = 0; x < WIDTH; x++) {
+        assertNotEquals(matrix.get(x, y), inverted.get(x, y));
+      }
+    }
+  }
+
+  @Test
+  public void testInvertedRow() throws NotFoundException {
+    BinaryBitmap bitmap = new BinaryBitmap(new HybridBinarizer(createSource()));
+    BinaryBitmap inverted = bitmap.invert();
+    for (int y = 0; y < HEIGHT; y++) {
+      BitArray row = bitmap.getBlackRow(y, null).clone();
+      // a preallocated row which is larger than the image must stay clear past the image's width
+      BitArray invertedRow = inverted.getBlackRow(y, new BitArray(WIDTH + 40));
+      for (int x = 0; x < WIDTH; x++) {
+        assertNotEquals(row.get(x), invertedRow.get(x));
+      }
+      assertTrue(invertedRow.isRange(WIDTH, invertedRow.getSize(), false));
+    }
+  }
+
+  @Test
+  public void testCropStaysInverted() throws NotFoundException {
+    BinaryBitmap bitmap = new BinaryBitmap(new HybridBinarizer(createSource()));
+    BitMatrix matrix = bitmap.getBlackMatrix();
+    BinaryBitmap cropped = bitmap.invert().crop(10, 5, 40, 30);
+    assertTrue(cropped.isInverted());
+    BitArray row = cropped.getBlackRow(0, null);
+    assertEquals(matrix.get(10, 5), !row.get(0));
+  }
+
+  @Test
+  public void testCropView() throws NotFoundException {
+    BinaryBitmap bitmap = new BinaryBitmap(new HybridBinarizer(createSource()));
+    BitMatrix matrix = bitmap.getBlackMatrix();
+    // Offsets which are not a multiple of 32, so bits are shifted across words
+    BinaryBitmap view = bitmap.cropView(37, 5, 40, 30);
+    assertEquals(40, view.getWidth());
+    assertEquals(30, view.getHeight());
+    BitMatrix viewMatrix = view.getBlackMatrix();
+    BinaryBitmap nested = view.invert().cropView(3, 2, 35, 20);
+    assertTrue(nested.isInverted());
+    BitMatrix nestedMatrix = nested.getBlackMatrix();
+    for (int y = 0; y < 30; y++) {
+      BitArray row = bitmap.getBlackRow(y + 5, null);
+      BitArray viewRow = view.getBlackRow(y, null);
+      assertEquals(40, viewRow.getSize());
+      for (int x = 0; x < 40; x++) {
+        assertEquals(matrix.get(x + 37, y + 5), viewMatrix.get(x, y));
+        assertEquals(row.get(x + 37), viewRow.get(x));
+        if (x >= 3 && y >= 2 && x < 38 && y < 22) {
+          assertEquals(matrix.get(x + 37, y + 5), !nestedMatrix.get(x - 3, y - 2));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testCropViewIsNotBinarizedAgain() throws NotFoundException {
+    int[] rowsBinarized = new int[1];
+    BinaryBitmap bitmap = new BinaryBitmap(new CountingBinarizer(createSource(), rowsBinarized));
+    bitmap.getBlackRow(10, null);
+    bitmap.cropView(20, 10, 30, 10).getBlackRow(0, null);
+    bitmap.cropView(5, 8, 50, 20).cropView(1, 2, 40, 10).getBlackRow(0, null);
+    assertEquals(1, rowsBinarized[0]);
+  }
+
+  @Test
+  public void testRowsAreCached() throws NotFoundException {
+    int[] rowsBinarized = new int[1];
+    BinaryBitmap bitmap = new BinaryBitmap(new CountingBinarizer(createSource(), rowsBinarized));
+    BitArray first = bitmap.getBlackRow(3, null);
+    BitArray expected = first.clone();
+    // callers may modify the returned row without affecting the cache
+    first.reverse();
+    assertEquals(expected, bitmap.getBlackRow(3, first));
+    assertEquals(expected, bitmap.getBlackRow(3, new BitArray(WIDTH)));
+    BitArray invertedRow = bitmap.invert().getBlackRow(3, null);
+    for (int x = 0; x < WIDTH; x++) {
+      assertNotEquals(expected.get(x), invertedRow.get(x));
+    }
+    assertEquals(1, rowsBinarized[0]);
+  }
+
+  @Test
+  public void testRotationIsCached() throws NotFoundException {
+    int[] rowsBinarized = new int[1];
+    BinaryBitmap bitmap = new BinaryBitmap(new CountingBinarizer(createSource(), rowsBinarized));
+    BinaryBitmap rotated = bitmap.rotateCounterClockwise();
+    assertEquals(HEIGHT, rotated.getWidth());
+    assertSame(rotated, bitmap.rotateCounterClockwise());
+    rotated.getBlackRow(0, null);
+    bitmap.rotateCounterClockwise().getBlackRow(0, null);
+    BinaryBitmap invertedRotated = bitmap.invert().rotateCounterClockwise();
+    assertTrue(invertedRotated.isInverted());
+    invertedRotated.getBlackRow(0, null);
+    assertEquals(1, rowsBinarized[0]);
+  }
+
+  private static LuminanceSource createSource() {
+    Random random = new Random(1234);
+    BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_BYTE_GRAY);
+    for (int y = 0; y < HEIGHT; y++) {
+      for (int x = 0; x < WIDTH; x++) {
+        // large black and white blocks, so that 1D and 2D binarization agree
+        int gray = ((x / 8 + y / 8) % 2 == 0 ? 20 : 230) + random.nextInt(5);
+        image.setRGB(x, y, 0xFF000000 | (gray << 16) | (gray << 8) | gray);
+      }
+    }
+    return new BufferedImageLuminanceSource(image);
+  }
+
+  private static final class CountingBinarizer extends GlobalHistogramBinarizer {
+
+    private final int[] rowsBinarized;
+
+    CountingBinarizer(LuminanceSource source, int[] rowsBinarized) {
+      super(source);
+      this.rowsBinarized = rowsBinarized;
+    }
+
+    @Override
+    public BitArray getBlackRow(int y, BitArray row) throws NotFoundException {
+      rowsBinarized[0]++;
+      return super.getBlackRow(y, row);
+    }
+
+    @Override
+    public Binarizer createBinarizer(LuminanceSource source) {
+      return new CountingBinarizer(source, rowsBinarized);
+    }
+
+  }
+
+}
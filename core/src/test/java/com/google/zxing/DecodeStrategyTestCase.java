@@ -0,0 +1,142 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing;
+
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.common.GlobalHistogramBinarizer;
+import com.google.zxing.common.HybridBinarizer;
+import com.google.zxing.qrcode.QRCodeWriter;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests {@link DecodeStrategy}.
+ */
+public final class DecodeStrategyTestCase extends Assert {
+
+  private static final Map<DecodeHintType,Object> QR_CODE = formats(BarcodeFormat.QR_CODE);
+  private static final Map<DecodeHintType,Object> CODE_128 = formats(BarcodeFormat.CODE_128);
+
+  @Test
+  public void testCascade() throws Exception {
+    AtomicInteger created = new AtomicInteger();
+    DecodeStrategy.BinarizerFactory global = source -> {
+      created.incrementAndGet();
+      return new GlobalHistogramBinarizer(source);
+    };
+    DecodeStrategy strategy = new DecodeStrategy()
+        .addStage(global, CODE_128)
+        .addMultipleStage(global, QR_CODE);
+    Result[] results = strategy.decode(createImage("cascade"));
+    assertEquals(1, results.length);
+    assertEquals("cascade", results[0].getText());
+    // Both stages decoded the same bitmap
+    assertEquals(1, created.get());
+
+    try {
+      new DecodeStrategy().addStage(global, CODE_128).addStage(HybridBinarizer::new, CODE_128)
+          .decode(createImage("cascade"));
+      fail();
+    } catch (NotFoundException nfe) {
+      // continue
+    }
+  }
+
+  @Test
+  public void testRedundantStages() {
+    DecodeStrategy.BinarizerFactory global = GlobalHistogramBinarizer::new;
+    DecodeStrategy.BinarizerFactory hybrid = HybridBinarizer::new;
+    Map<DecodeHintType,Object> pure = new EnumMap<>(QR_CODE);
+    pure.put(DecodeHintType.PURE_BARCODE, Boolean.TRUE);
+    DecodeStrategy strategy = new DecodeStrategy()
+        .addMultipleStage(global, QR_CODE)
+        .addStage(global, pure)
+        .addStage(global, new EnumMap<>(QR_CODE))
+        .addStage(hybrid, QR_CODE)
+        .addStage(null, QR_CODE);
+    assertEquals(4, strategy.getStageCount());
+  }
+
+  @Test
+  public void testConcurrent() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      DecodeStrategy strategy = new DecodeStrategy(10_000L, executor)
+          .addStage(GlobalHistogramBinarizer::new, CODE_128)
+          .addStage(null, QR_CODE);
+      for (int i = 0; i < 3; i++) {
+        Result[] results = strategy.decode(createImage("concurrent " + i));
+        assertEquals(1, results.length);
+        assertEquals("concurrent " + i, results[0].getText());
+      }
+
+      try {
+        new DecodeStrategy(10_000L, executor).addStage(null, CODE_128).decode(createImage("concurrent"));
+        fail();
+      } catch (NotFoundException nfe) {
+        // continue
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void testInterrupted() throws Exception {
+    AtomicInteger created = new AtomicInteger();
+    DecodeStrategy strategy = new DecodeStrategy().addStage(source -> {
+      created.incrementAndGet();
+      return new HybridBinarizer(source);
+    }, QR_CODE);
+    Thread.currentThread().interrupt();
+    try {
+      strategy.decode(createImage("interrupted"));
+      fail();
+    } catch (NotFoundException nfe) {
+      // continue
+    } finally {
+      assertTrue(Thread.interrupted());
+    }
+    assertEquals(0, created.get());
+  }
+
+  private static BinaryBitmap createImage(String contents) throws WriterException {
+    BitMatrix matrix = new QRCodeWriter().encode(contents, BarcodeFormat.QR_CODE, 200, 200);
+    byte[] pixels = new byte[matrix.getWidth() * matrix.getHeight()];
+    for (int y = 0; y < matrix.getHeight(); y++) {
+      for (int x = 0; x < matrix.getWidth(); x++) {
+        pixels[y * matrix.getWidth() + x] = (byte) (matrix.get(x, y) ? 0 : 255);
+      }
+    }
+    LuminanceSource source = new GrayscaleLuminanceSource(matrix.getWidth(), matrix.getHeight(), pixels);
+    return new BinaryBitmap(new HybridBinarizer(source));
+  }
+
+  private static Map<DecodeHintType,Object> formats(BarcodeFormat format) {
+    Map<DecodeHintType,Object> hints = new EnumMap<>(DecodeHintType.class);
+    hints.put(DecodeHintType.POSSIBLE_FORMATS, Collections.singleton(format));
+    return hints;
+  }
+
+}
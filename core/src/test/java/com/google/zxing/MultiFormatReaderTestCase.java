@@ -0,0 +1,134 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing;
+
+import com.google.zxing.common.AbstractBlackBoxTestCase;
+import com.google.zxing.common.HybridBinarizer;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import javax.imageio.ImageIO;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Tests {@link MultiFormatReader}.
+ */
+public final class MultiFormatReaderTestCase extends Assert {
+
+  private static ExecutorService executor;
+
+  @BeforeClass
+  public static void createExecutor() {
+    executor = Executors.newFixedThreadPool(3);
+  }
+
+  @AfterClass
+  public static void shutdownExecutor() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void testParallel() throws IOException {
+    String[] images = {
+        "qrcode-1/1.png", "datamatrix-1/0123456789.png", "ean13-1/1.png", "code128-1/1.png",
+        "pdf417-1/01.png", "aztec-1/7.png", "falsepositives/01.png",
+    };
+    for (String image : images) {
+      assertParallelMatchesSequential(image, null);
+    }
+  }
+
+  @Test
+  public void testParallelTryHarder() throws IOException {
+    Map<DecodeHintType,Object> hints = new EnumMap<>(DecodeHintType.class);
+    hints.put(DecodeHintType.TRY_HARDER, Boolean.TRUE);
+    assertParallelMatchesSequential("qrcode-1/1.png", hints);
+    assertParallelMatchesSequential("ean13-1/1.png", hints);
+    assertParallelMatchesSequential("falsepositives/02.png", hints);
+  }
+
+  @Test
+  public void testParallelAlsoInverted() throws IOException {
+    Map<DecodeHintType,Object> hints = new EnumMap<>(DecodeHintType.class);
+    hints.put(DecodeHintType.ALSO_INVERTED, Boolean.TRUE);
+    assertParallelMatchesSequential("inverted/datamatrix-0123456789.png", hints);
+  }
+
+  @Test
+  public void testAdaptive() throws IOException {
+    Path path = AbstractBlackBoxTestCase.buildTestBase("src/test/resources/blackbox/qrcode-1/1.png");
+    LuminanceSource source = new BufferedImageLuminanceSource(ImageIO.read(path.toFile()));
+    MultiFormatReader reader = new MultiFormatReader();
+    reader.setHints(null);
+    reader.setAdaptive(true);
+    assertEquals("MultiFormatOneDReader", reader.getReaderStatistics().get(0).getReaderName());
+    int decodes = 100;
+    for (int i = 0; i < decodes; i++) {
+      try {
+        Result result = reader.decodeWithState(new BinaryBitmap(new HybridBinarizer(source)));
+        assertEquals(BarcodeFormat.QR_CODE, result.getBarcodeFormat());
+      } catch (NotFoundException nfe) {
+        fail();
+      }
+    }
+    // Other readers get tried until they are known to fail, and then QR Code moves up front
+    List<ReaderStatistics> statistics = reader.getReaderStatistics();
+    assertEquals(6, statistics.size());
+    ReaderStatistics first = statistics.get(0);
+    assertEquals("QRCodeReader", first.getReaderName());
+    assertEquals(decodes, first.getSuccesses());
+    assertEquals(decodes, first.getAttempts());
+    assertEquals(1.0, first.getSuccessRate(), 0.0);
+    for (ReaderStatistics other : statistics.subList(1, statistics.size())) {
+      assertEquals(0, other.getSuccesses());
+      assertTrue(other.getAttempts() < decodes);
+    }
+  }
+
+  private static void assertParallelMatchesSequential(String image, Map<DecodeHintType,?> hints)
+      throws IOException {
+    MultiFormatReader sequential = new MultiFormatReader();
+    sequential.setHints(hints);
+    MultiFormatReader parallel = new MultiFormatReader();
+    parallel.setHints(hints);
+    parallel.setExecutor(executor);
+    String expected = decode(sequential, image);
+    assertEquals(image, image.startsWith("falsepositives/"), expected == null);
+    assertEquals(image, expected, decode(parallel, image));
+    // and again, with the same readers
+    assertEquals(image, expected, decode(parallel, image));
+  }
+
+  private static String decode(MultiFormatReader reader, String image) throws IOException {
+    Path path = AbstractBlackBoxTestCase.buildTestBase("src/test/resources/blackbox/" + image);
+    LuminanceSource source = new BufferedImageLuminanceSource(ImageIO.read(path.toFile()));
+    try {
+      return reader.decodeWithState(new BinaryBitmap(new HybridBinarizer(source))).getText();
+    } catch (NotFoundException nfe) {
+      return null;
+    }
+  }
+
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing;
+
+import com.google.zxing.common.BitMatrix;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Tests {@link MultiFormatWriter}.
+ */
+public final class MultiFormatWriterTestCase extends Assert {
+
+  private static final Map<EncodeHintType,?> HINTS =
+      Collections.singletonMap(EncodeHintType.ERROR_CORRECTION, "M");
+
+  @Test
+  public void testEncodeAll() throws WriterException {
+    List<String> contents = createContents(100);
+    MultiFormatWriter writer = new MultiFormatWriter();
+    List<BitMatrix> expected = new ArrayList<>();
+    for (String content : contents) {
+      expected.add(writer.encode(content, BarcodeFormat.QR_CODE, 100, 100, HINTS));
+    }
+    List<String> encodedContents = new ArrayList<>();
+    List<BitMatrix> encoded = new ArrayList<>();
+    writer.encodeAll(contents, BarcodeFormat.QR_CODE, 100, 100, HINTS, (content, matrix) -> {
+      encodedContents.add(content);
+      encoded.add(matrix);
+    });
+    assertEquals(contents, encodedContents);
+    assertEquals(expected, encoded);
+  }
+
+  @Test
+  public void testEncodeAllInParallel() throws WriterException {
+    // Several batches, the last one partial
+    List<String> contents = createContents(300);
+    MultiFormatWriter writer = new MultiFormatWriter();
+    List<BitMatrix> expected = new ArrayList<>();
+    for (String content : contents) {
+      expected.add(writer.encode(content, BarcodeFormat.DATA_MATRIX, 0, 0, null));
+    }
+    ForkJoinPool pool = new ForkJoinPool(2);
+    try {
+      List<String> encodedContents = new ArrayList<>();
+      List<BitMatrix> encoded = new ArrayList<>();
+      writer.encodeAll(contents, BarcodeFormat.DATA_MATRIX, 0, 0, null, pool, (content, matrix) -> {
+        encodedContents.add(content);
+        encoded.add(matrix);
+      });
+      assertEquals(contents, encodedContents);
+      assertEquals(expected, encoded);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void testEncodeAllFailsInOrder() {
+    List<String> contents = createContents(200);
+    // Not numeric, so it can't be encoded as ITF
+    contents.set(150, "not a number");
+    ForkJoinPool pool = new ForkJoinPool(2);
+    try {
+      List<String> encodedContents = new ArrayList<>();
+      try {
+        new MultiFormatWriter().encodeAll(contents, BarcodeFormat.ITF, 0, 0, null, pool,
+            (content, matrix) -> encodedContents.add(content));
+        fail();
+      } catch (WriterException | IllegalArgumentException e) {
+        // expected
+      }
+      assertEquals(contents.subList(0, 150), encodedContents);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  private static List<String> createContents(int count) {
+    List<String> contents = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      contents.add(String.format("%08d", i * 7919));
+    }
+    return contents;
+  }
+
+}
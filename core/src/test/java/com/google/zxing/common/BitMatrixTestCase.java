@@ -47,6 +47,29 @@ public final class BitMatrixTestCase extends Assert {
     }
   }
 
+  @Test
+  public void testSetBits() {
+    BitMatrix matrix = new BitMatrix(70, 3);
+    // within one word, straddling two words, and a pattern already shifted into the top bits
+    matrix.setBits(8, 0, 0xA5);
+    matrix.setBits(28, 1, 0xFF);
+    matrix.setBits(62, 2, 0x3);
+    BitMatrix expected = new BitMatrix(70, 3);
+    for (int x = 0; x < 8; x++) {
+      if (((0xA5 >> x) & 1) != 0) {
+        expected.set(8 + x, 0);
+      }
+      expected.set(28 + x, 1);
+    }
+    expected.set(62, 2);
+    expected.set(63, 2);
+    assertEquals(expected, matrix);
+    // bits are ORed in
+    matrix.setBits(8, 0, 0x5A);
+    expected.setRegion(8, 0, 8, 1);
+    assertEquals(expected, matrix);
+  }
+
   @Test
   public void testSetRegion() {
     BitMatrix matrix = new BitMatrix(5);
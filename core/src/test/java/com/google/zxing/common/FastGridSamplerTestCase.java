@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing.common;
+
+import com.google.zxing.NotFoundException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * Tests {@link FastGridSampler}.
+ */
+public final class FastGridSamplerTestCase extends Assert {
+
+  private static final GridSampler DEFAULT_SAMPLER = new DefaultGridSampler();
+  private static final GridSampler FAST_SAMPLER = new FastGridSampler();
+
+  @Test
+  public void testMatchesDefaultSampler() throws NotFoundException {
+    Random random = new Random(0xF457);
+    BitMatrix image = createImage(random, 400, 300);
+    int points = 0;
+    int differences = 0;
+    for (int i = 0; i < 200; i++) {
+      int dimension = 10 + random.nextInt(160);
+      boolean affine = i % 2 == 0;
+      // A quadrilateral inside the image, a parallelogram when affine
+      float x0 = 10.0f + random.nextFloat() * 50.0f;
+      float y0 = 10.0f + random.nextFloat() * 40.0f;
+      float x1 = 290.0f + random.nextFloat() * 50.0f;
+      float y1 = 10.0f + random.nextFloat() * 40.0f;
+      float x3 = 10.0f + random.nextFloat() * 50.0f;
+      float y3 = 210.0f + random.nextFloat() * 40.0f;
+      float x2 = affine ? x1 + x3 - x0 : 290.0f + random.nextFloat() * 100.0f;
+      float y2 = affine ? y1 + y3 - y0 : 210.0f + random.nextFloat() * 80.0f;
+      PerspectiveTransform transform = PerspectiveTransform.quadrilateralToQuadrilateral(
+          0.0f, 0.0f, dimension, 0.0f, dimension, dimension, 0.0f, dimension,
+          x0, y0, x1, y1, x2, y2, x3, y3);
+      BitMatrix expected = DEFAULT_SAMPLER.sampleGrid(image, dimension, dimension, transform);
+      BitMatrix actual = FAST_SAMPLER.sampleGrid(image, dimension, dimension, transform);
+      for (int y = 0; y < dimension; y++) {
+        for (int x = 0; x < dimension; x++) {
+          if (expected.get(x, y) != actual.get(x, y)) {
+            differences++;
+          }
+        }
+      }
+      points += dimension * dimension;
+    }
+    // Only points on the boundary between pixels may differ
+    assertTrue(differences + " of " + points + " points differ", differences * 10000 < points);
+  }
+
+  @Test
+  public void testNudgesPointsOntoImage() throws NotFoundException {
+    BitMatrix image = new BitMatrix(20, 20);
+    image.setRegion(0, 0, 1, 20);
+    image.setRegion(19, 0, 1, 20);
+    // The first and last columns fall just outside the image
+    BitMatrix bits = FAST_SAMPLER.sampleGrid(image, 10, 10,
+        0.0f, 0.0f, 10.0f, 0.0f, 10.0f, 10.0f, 0.0f, 10.0f,
+        -1.5f, 0.0f, 21.5f, 0.0f, 21.5f, 20.0f, -1.5f, 20.0f);
+    for (int y = 0; y < 10; y++) {
+      for (int x = 0; x < 10; x++) {
+        assertEquals(x == 0 || x == 9, bits.get(x, y));
+      }
+    }
+  }
+
+  @Test
+  public void testOutsideImage() {
+    BitMatrix image = new BitMatrix(20, 20);
+    float[][] quadrilaterals = {
+        // Too far off the right edge
+        {0.0f, 0.0f, 25.0f, 0.0f, 25.0f, 20.0f, 0.0f, 20.0f},
+        // Off the top
+        {0.0f, -5.0f, 20.0f, -5.0f, 20.0f, 15.0f, 0.0f, 15.0f},
+        // Twisted, so that a row passes through infinity
+        {0.0f, 0.0f, 20.0f, 0.0f, 0.0f, 20.0f, 20.0f, 20.0f},
+    };
+    for (float[] q : quadrilaterals) {
+      try {
+        FAST_SAMPLER.sampleGrid(image, 15, 15,
+            0.0f, 0.0f, 15.0f, 0.0f, 15.0f, 15.0f, 0.0f, 15.0f,
+            q[0], q[1], q[2], q[3], q[4], q[5], q[6], q[7]);
+        fail();
+      } catch (NotFoundException nfe) {
+        // good
+      }
+    }
+  }
+
+  private static BitMatrix createImage(Random random, int width, int height) {
+    // Blocks of a few pixels, so that most points sample the same pixel color either way
+    BitMatrix image = new BitMatrix(width, height);
+    for (int y = 0; y < height; y += 3) {
+      for (int x = 0; x < width; x += 3) {
+        if (random.nextBoolean()) {
+          image.setRegion(x, y, Math.min(3, width - x), Math.min(3, height - y));
+        }
+      }
+    }
+    return image;
+  }
+
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing.common;
+
+import com.google.zxing.LuminanceSource;
+import com.google.zxing.NotFoundException;
+import com.google.zxing.PlanarYUVLuminanceSource;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Tests {@link HybridBinarizer}.
+ */
+public final class HybridBinarizerTestCase extends Assert {
+
+  private static ForkJoinPool pool;
+
+  @BeforeClass
+  public static void createPool() {
+    pool = new ForkJoinPool(4);
+  }
+
+  @AfterClass
+  public static void shutdownPool() {
+    pool.shutdown();
+  }
+
+  @Test
+  public void testParallelMatchesSerial() throws NotFoundException {
+    // Sizes that are and are not multiples of the block size, and too small to be split
+    int[][] sizes = { {1024, 1024}, {1001, 1003}, {517, 2049}, {2000, 513}, {300, 200} };
+    Random random = new Random(0xCAFEL);
+    for (int[] size : sizes) {
+      LuminanceSource source = createSource(size[0], size[1], random);
+      BitMatrix serial = new HybridBinarizer(source).getBlackMatrix();
+      BitMatrix parallel = new HybridBinarizer(source, pool).getBlackMatrix();
+      assertEquals(serial, parallel);
+    }
+  }
+
+  @Test
+  public void testCreateBinarizerKeepsPool() throws NotFoundException {
+    LuminanceSource source = createSource(1200, 900, new Random(0xBEEFL));
+    HybridBinarizer binarizer = new HybridBinarizer(source.crop(0, 0, 10, 10), pool);
+    BitMatrix parallel = binarizer.createBinarizer(source).getBlackMatrix();
+    assertEquals(new HybridBinarizer(source).getBlackMatrix(), parallel);
+  }
+
+  @Test
+  public void testWorkspace() throws NotFoundException {
+    BinarizerWorkspace workspace = new BinarizerWorkspace();
+    Random random = new Random(0xF00DL);
+    BitMatrix previous = null;
+    for (int i = 0; i < 3; i++) {
+      LuminanceSource source = createSource(640, 480, random);
+      BitMatrix expected = new HybridBinarizer(source).getBlackMatrix();
+      BitMatrix actual = new HybridBinarizer(source, null, workspace).getBlackMatrix();
+      assertEquals(expected, actual);
+      if (previous != null) {
+        assertSame(previous, actual);
+      }
+      previous = actual;
+    }
+    // A different size gets a new matrix, also for images too small for local thresholding
+    LuminanceSource small = createSource(30, 30, random);
+    BitMatrix actual = new HybridBinarizer(small, null, workspace).getBlackMatrix();
+    assertNotSame(previous, actual);
+    assertEquals(new HybridBinarizer(small).getBlackMatrix(), actual);
+  }
+
+  @Test
+  public void testWorkspaceBlackRow() throws NotFoundException {
+    BinarizerWorkspace workspace = new BinarizerWorkspace();
+    Random random = new Random(0xD00DL);
+    for (int i = 0; i < 2; i++) {
+      LuminanceSource source = createSource(320 + i, 240, random);
+      GlobalHistogramBinarizer binarizer = new GlobalHistogramBinarizer(source);
+      GlobalHistogramBinarizer reusing = new GlobalHistogramBinarizer(source, workspace);
+      for (int y = 0; y < source.getHeight(); y += 10) {
+        assertEquals(binarizer.getBlackRow(y, null), reusing.getBlackRow(y, null));
+      }
+    }
+  }
+
+  /**
+   * Creates an image with flat light and dark areas, which exercise the low contrast handling,
+   * next to a gradient and noisy "modules".
+   */
+  private static LuminanceSource createSource(int width, int height, Random random) {
+    byte[] pixels = new byte[width * height];
+    for (int y = 0; y < height; y++) {
+      for (int x = 0; x < width; x++) {
+        int value;
+        if (x < width / 4) {
+          value = y < height / 2 ? 230 : 20;
+        } else if (x < width / 2) {
+          value = (x + y) % 256;
+        } else {
+          boolean dark = ((x / 7) + (y / 9)) % 3 == 0;
+          value = (dark ? 40 : 200) + random.nextInt(41) - 20;
+        }
+        pixels[y * width + x] = (byte) value;
+      }
+    }
+    return new PlanarYUVLuminanceSource(pixels, width, height, 0, 0, width, height, false);
+  }
+
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing.common;
+
+import com.google.zxing.NotFoundException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * Tests {@link RunLengthRow}.
+ */
+public final class RunLengthRowTestCase extends Assert {
+
+  @Test
+  public void testRuns() {
+    RunLengthRow runs = new RunLengthRow(parse("..XXX.X...XX"));
+    assertEquals(12, runs.getSize());
+    assertEquals(6, runs.getRunCount());
+    assertEquals(".2 X3 .1 X1 .3 X2", runs.toString());
+    assertFalse(runs.isBlack(0));
+    assertTrue(runs.isBlack(1));
+    assertEquals(2, runs.getRunStart(1));
+    assertEquals(5, runs.getRunEnd(1));
+    assertEquals(3, runs.getRunWidth(1));
+    assertEquals(12, runs.getRunStart(6));
+    assertEquals(0, runs.getRun(0));
+    assertEquals(1, runs.getRun(4));
+    assertEquals(2, runs.getRun(5));
+    assertEquals(5, runs.getRun(11));
+  }
+
+  @Test
+  public void testEmpty() {
+    RunLengthRow runs = new RunLengthRow(new BitArray(0));
+    assertEquals(0, runs.getRunCount());
+    assertEquals(0, runs.getNextSet(0));
+    assertEquals("", runs.reverse().toString());
+    runs = new RunLengthRow(new BitArray(10));
+    assertEquals(".10", runs.toString());
+    assertEquals(10, runs.getNextSet(0));
+  }
+
+  @Test
+  public void testMatchesBitArray() {
+    Random random = new Random(0xDEADBEEF);
+    for (int i = 0; i < 200; i++) {
+      BitArray row = randomRow(random, 1 + random.nextInt(150));
+      RunLengthRow runs = new RunLengthRow(row);
+      assertEquals(row, runs.toBitArray());
+      int size = row.getSize();
+      for (int x = 0; x < size; x++) {
+        assertEquals(row.get(x), runs.get(x));
+        assertEquals(row.getNextSet(x), runs.getNextSet(x));
+        assertEquals(row.getNextUnset(x), runs.getNextUnset(x));
+      }
+      for (int j = 0; j < 20; j++) {
+        int start = random.nextInt(size + 1);
+        int end = start + random.nextInt(size - start + 1);
+        boolean value = random.nextBoolean();
+        assertEquals(row.isRange(start, end, value), runs.isRange(start, end, value));
+      }
+    }
+  }
+
+  @Test
+  public void testRecordPattern() {
+    Random random = new Random(0xCAFE);
+    for (int i = 0; i < 200; i++) {
+      BitArray row = randomRow(random, 1 + random.nextInt(100));
+      RunLengthRow runs = new RunLengthRow(row);
+      for (int numCounters = 1; numCounters <= 6; numCounters++) {
+        for (int start = 0; start < row.getSize(); start++) {
+          int[] expected = recordPattern(row, start, numCounters);
+          int[] counters = new int[numCounters];
+          try {
+            runs.recordPattern(start, counters);
+            assertArrayEquals(expected, counters);
+          } catch (NotFoundException nfe) {
+            assertNull(expected);
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testRecordPatternInReverse() throws NotFoundException {
+    RunLengthRow runs = new RunLengthRow(parse("..XXX.X...XX"));
+    int[] counters = new int[3];
+    runs.recordPatternInReverse(10, counters);
+    assertArrayEquals(new int[] {1, 1, 3}, counters);
+    try {
+      runs.recordPatternInReverse(6, counters);
+      fail();
+    } catch (NotFoundException nfe) {
+      // no run left before the recorded ones
+    }
+  }
+
+  @Test
+  public void testPatternMatchVariance() {
+    RunLengthRow runs = new RunLengthRow(parse("..XXX.X...XX"));
+    assertEquals(0.0f, runs.patternMatchVariance(1, new int[] {3, 1, 1, 3}, 0.5f), 0.0f);
+    assertEquals(Float.POSITIVE_INFINITY, runs.patternMatchVariance(1, new int[] {1, 1, 1, 1}, 0.4f), 0.0f);
+    assertTrue(runs.patternMatchVariance(1, new int[] {3, 1, 1, 2}, 0.5f) > 0.0f);
+  }
+
+  @Test
+  public void testReverseAndInvert() {
+    Random random = new Random(1234);
+    for (int i = 0; i < 100; i++) {
+      BitArray row = randomRow(random, 1 + random.nextInt(100));
+      RunLengthRow runs = new RunLengthRow(row);
+      BitArray reversed = row.clone();
+      reversed.reverse();
+      assertEquals(new RunLengthRow(reversed).toString(), runs.reverse().toString());
+      assertEquals(reversed, runs.reverse().toBitArray());
+      BitArray inverted = row.clone();
+      for (int x = 0; x < inverted.getSize(); x++) {
+        inverted.flip(x);
+      }
+      assertEquals(new RunLengthRow(inverted).toString(), runs.invert().toString());
+    }
+  }
+
+  private static BitArray parse(String pixels) {
+    BitArray row = new BitArray(pixels.length());
+    for (int i = 0; i < pixels.length(); i++) {
+      if (pixels.charAt(i) == 'X') {
+        row.set(i);
+      }
+    }
+    return row;
+  }
+
+  private static BitArray randomRow(Random random, int size) {
+    BitArray row = new BitArray(size);
+    boolean black = random.nextBoolean();
+    int x = 0;
+    while (x < size) {
+      int width = 1 + random.nextInt(6);
+      if (black) {
+        row.setRange(x, Math.min(size, x + width));
+      }
+      x += width;
+      black = !black;
+    }
+    return row;
+  }
+
+  // Pixel by pixel, like OneDReader.recordPattern(); null when the counters can't be filled
+  private static int[] recordPattern(BitArray row, int start, int numCounters) {
+    int[] counters = new int[numCounters];
+    int end = row.getSize();
+    boolean color = row.get(start);
+    int position = 0;
+    int i = start;
+    while (i < end) {
+      if (row.get(i) == color) {
+        counters[position]++;
+      } else {
+        if (++position == numCounters) {
+          break;
+        }
+        counters[position] = 1;
+        color = !color;
+      }
+      i++;
+    }
+    return position == numCounters || (position == numCounters - 1 && i == end) ? counters : null;
+  }
+
+}
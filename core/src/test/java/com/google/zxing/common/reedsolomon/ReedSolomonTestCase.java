@@ -19,9 +19,14 @@ package com.google.zxing.common.reedsolomon;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.BitSet;
+import java.util.Collection;
 import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * @author Rustam Abdullaev
@@ -412,6 +417,99 @@ public final class ReedSolomonTestCase extends Assert {
     testEncodeDecodeRandom(GenericGF.AZTEC_DATA_12, 3072, 1023);
   }
 
+  @Test
+  public void testGeneratorCache() {
+    GenericGF field = GenericGF.DATA_MATRIX_FIELD_256;
+    GenericGFPoly expected = field.getOne();
+    for (int degree = 1; degree <= 68; degree++) {
+      expected = expected.multiply(
+          new GenericGFPoly(field, new int[] {1, field.exp(degree - 1 + field.getGeneratorBase())}));
+      assertArrayEquals(expected.getCoefficients(), field.getGenerator(degree));
+      assertSame(field.getGenerator(degree), field.getGenerator(degree));
+    }
+  }
+
+  @Test
+  public void testConcurrentEncoding() throws Exception {
+    // A distinct field, whose generators are all built while the threads encode
+    GenericGF field = new GenericGF(0b100011101, 256, 0);
+    Random random = getPseudoRandom();
+    int[] data = new int[100];
+    for (int i = 0; i < data.length; i++) {
+      data[i] = random.nextInt(256);
+    }
+    int maxEcBytes = 60;
+    int[][] expected = new int[maxEcBytes + 1][];
+    for (int ecBytes = 1; ecBytes <= maxEcBytes; ecBytes++) {
+      expected[ecBytes] = Arrays.copyOf(data, data.length + ecBytes);
+      new ReedSolomonEncoder(GenericGF.QR_CODE_FIELD_256).encode(expected[ecBytes], ecBytes);
+    }
+    ReedSolomonEncoder encoder = new ReedSolomonEncoder(field);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      Collection<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < 8; t++) {
+        int first = 1 + t * 7;
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < maxEcBytes; i++) {
+            int ecBytes = 1 + (first + i) % maxEcBytes;
+            int[] message = Arrays.copyOf(data, data.length + ecBytes);
+            encoder.encode(message, ecBytes);
+            assertArrayEquals(expected[ecBytes], message);
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void testGF256DecoderMatchesGeneric() {
+    // Equal but distinct fields are decoded by the general implementation
+    testMatchesGeneric(GenericGF.QR_CODE_FIELD_256, new GenericGF(0b100011101, 256, 0));
+    testMatchesGeneric(GenericGF.DATA_MATRIX_FIELD_256, new GenericGF(0b100101101, 256, 1));
+  }
+
+  private static void testMatchesGeneric(GenericGF field, GenericGF genericField) {
+    ReedSolomonEncoder encoder = new ReedSolomonEncoder(field);
+    ReedSolomonDecoder decoder = new ReedSolomonDecoder(field);
+    ReedSolomonDecoder genericDecoder = new ReedSolomonDecoder(genericField);
+    Random random = getPseudoRandom();
+    for (int i = 0; i < 2000; i++) {
+      int ecSize = 1 + random.nextInt(68);
+      int[] message = new int[ecSize + 1 + random.nextInt(255 - ecSize)];
+      for (int j = 0; j < message.length - ecSize; j++) {
+        message[j] = random.nextInt(256);
+      }
+      encoder.encode(message, ecSize);
+      // up to a few more errors than can be corrected
+      int numErrors = random.nextInt(Math.min(message.length, ecSize / 2 + 4));
+      corrupt(message, numErrors, random, 256);
+      int[] expected = message.clone();
+      int expectedErrors = decodeWithECCount(genericDecoder, expected, ecSize);
+      int errors = decodeWithECCount(decoder, message, ecSize);
+      if (numErrors <= ecSize / 2) {
+        assertEquals(expectedErrors, errors);
+        assertArrayEquals(expected, message);
+      } else if (errors >= 0) {
+        // Past the capacity the general implementation may "correct" to a non-codeword
+        assertEquals(0, decodeWithECCount(decoder, message, ecSize));
+      }
+    }
+  }
+
+  private static int decodeWithECCount(ReedSolomonDecoder decoder, int[] received, int twoS) {
+    try {
+      return decoder.decodeWithECCount(received, twoS);
+    } catch (ReedSolomonException e) {
+      return -1;
+    }
+  }
+
   public static void corrupt(int[] received, int howMany, Random random, int max) {
     BitSet corrupted = new BitSet(received.length);
     for (int j = 0; j < howMany; j++) {
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing.multi;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.BinaryBitmap;
+import com.google.zxing.BufferedImageLuminanceSource;
+import com.google.zxing.DecodeHintType;
+import com.google.zxing.EncodeHintType;
+import com.google.zxing.MultiFormatWriter;
+import com.google.zxing.NotFoundException;
+import com.google.zxing.Result;
+import com.google.zxing.WriterException;
+import com.google.zxing.common.AbstractBlackBoxTestCase;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.common.HybridBinarizer;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Tests {@link MultiSymbolReader}.
+ */
+public final class MultiSymbolReaderTestCase extends Assert {
+
+  private static final BarcodeFormat[] FORMATS = {
+      BarcodeFormat.QR_CODE, BarcodeFormat.DATA_MATRIX, BarcodeFormat.AZTEC, BarcodeFormat.PDF_417};
+  private static final int COLUMNS = 4;
+  private static final int ROWS = 4;
+  private static final int CELL_WIDTH = 320;
+  private static final int CELL_HEIGHT = 200;
+
+  @Test
+  public void testMixedFormats() throws Exception {
+    BinaryBitmap image = createLabelImage();
+    assertEquals(COLUMNS * ROWS, SymbolRegionFinder.findRegions(image.getBlackMatrix()).size());
+
+    Result[] serial = new MultiSymbolReader().decodeMultiple(image);
+    assertEquals(COLUMNS * ROWS, serial.length);
+    for (Result result : serial) {
+      // Each symbol's text names its format and cell, which its points must lie in
+      String[] parts = result.getText().split(" ");
+      assertEquals(parts[0], result.getBarcodeFormat().name());
+      int column = Integer.parseInt(parts[1]);
+      int row = Integer.parseInt(parts[2]);
+      float x = result.getResultPoints()[0].getX();
+      float y = result.getResultPoints()[0].getY();
+      assertEquals(column, (int) (x / CELL_WIDTH));
+      assertEquals(row, (int) (y / CELL_HEIGHT));
+    }
+
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      Result[] parallel = new MultiSymbolReader(pool).decodeMultiple(image);
+      assertEquals(serial.length, parallel.length);
+      for (int i = 0; i < serial.length; i++) {
+        assertEquals(serial[i].getText(), parallel[i].getText());
+        assertEquals(serial[i].getBarcodeFormat(), parallel[i].getBarcodeFormat());
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void testPossibleFormats() throws Exception {
+    Map<DecodeHintType,Object> hints = new EnumMap<>(DecodeHintType.class);
+    hints.put(DecodeHintType.POSSIBLE_FORMATS, Collections.singleton(BarcodeFormat.AZTEC));
+    Result[] results = new MultiSymbolReader().decodeMultiple(createLabelImage(), hints);
+    assertEquals(ROWS, results.length);
+    for (Result result : results) {
+      assertEquals(BarcodeFormat.AZTEC, result.getBarcodeFormat());
+    }
+
+    hints.put(DecodeHintType.POSSIBLE_FORMATS, Collections.singleton(BarcodeFormat.CODE_128));
+    try {
+      new MultiSymbolReader().decodeMultiple(createLabelImage(), hints);
+      fail();
+    } catch (NotFoundException nfe) {
+      // continue
+    }
+  }
+
+  @Test
+  public void testMultiQRCode() throws IOException, NotFoundException {
+    Path testBase = AbstractBlackBoxTestCase.buildTestBase("src/test/resources/blackbox/multi-qrcode-1");
+    BufferedImage image = ImageIO.read(testBase.resolve("1.png").toFile());
+    BinaryBitmap bitmap = new BinaryBitmap(new HybridBinarizer(new BufferedImageLuminanceSource(image)));
+    Result[] results = new MultiSymbolReader().decodeMultiple(bitmap);
+    Set<String> texts = new HashSet<>();
+    for (Result result : results) {
+      texts.add(result.getText());
+    }
+    assertEquals(4, texts.size());
+    assertTrue(texts.contains("You earned the class a 5 MINUTE DANCE PARTY!!  Awesome!  Way to go!  Let's boogie!"));
+  }
+
+  /**
+   * Lays out a symbol of each format in each column, in a frame whose edges must not join them.
+   */
+  private static BinaryBitmap createLabelImage() throws WriterException {
+    int width = COLUMNS * CELL_WIDTH;
+    int height = ROWS * CELL_HEIGHT;
+    BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_GRAY);
+    for (int y = 0; y < height; y++) {
+      for (int x = 0; x < width; x++) {
+        boolean frame = x < 4 || y < 4 || x >= width - 4 || y >= height - 4;
+        image.setRGB(x, y, frame ? 0xFF000000 : 0xFFFFFFFF);
+      }
+    }
+    Map<EncodeHintType,Object> hints = new EnumMap<>(EncodeHintType.class);
+    hints.put(EncodeHintType.MARGIN, 0);
+    MultiFormatWriter writer = new MultiFormatWriter();
+    for (int row = 0; row < ROWS; row++) {
+      for (int column = 0; column < COLUMNS; column++) {
+        BarcodeFormat format = FORMATS[column];
+        BitMatrix symbol = writer.encode(format.name() + ' ' + column + ' ' + row, format, 0, 0, hints);
+        // Up to three pixels a module, centered in the cell with room for a quiet zone
+        int scale = Math.min(3,
+            Math.min((CELL_WIDTH - 40) / symbol.getWidth(), (CELL_HEIGHT - 40) / symbol.getHeight()));
+        int left = column * CELL_WIDTH + (CELL_WIDTH - symbol.getWidth() * scale) / 2;
+        int top = row * CELL_HEIGHT + (CELL_HEIGHT - symbol.getHeight() * scale) / 2;
+        for (int y = 0; y < symbol.getHeight() * scale; y++) {
+          for (int x = 0; x < symbol.getWidth() * scale; x++) {
+            if (symbol.get(x / scale, y / scale)) {
+              image.setRGB(left + x, top + y, 0xFF000000);
+            }
+          }
+        }
+      }
+    }
+    return new BinaryBitmap(new HybridBinarizer(new BufferedImageLuminanceSource(image)));
+  }
+
+}
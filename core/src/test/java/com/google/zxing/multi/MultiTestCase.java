@@ -27,7 +27,9 @@ import com.google.zxing.LuminanceSource;
 import com.google.zxing.MultiFormatReader;
 import com.google.zxing.Result;
 import com.google.zxing.common.AbstractBlackBoxTestCase;
+import com.google.zxing.common.BitMatrix;
 import com.google.zxing.common.HybridBinarizer;
+import com.google.zxing.qrcode.QRCodeWriter;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -58,4 +60,25 @@ public final class MultiTestCase extends Assert {
     assertEquals(BarcodeFormat.QR_CODE, results[1].getBarcodeFormat());
   }
 
+  @Test
+  public void testSameText() throws Exception {
+    // Two symbols with the same text, far enough apart to be found one after the other, are both found
+    BitMatrix symbol = new QRCodeWriter().encode("same", BarcodeFormat.QR_CODE, 200, 200);
+    BufferedImage image = new BufferedImage(600, 200, BufferedImage.TYPE_BYTE_GRAY);
+    for (int y = 0; y < 200; y++) {
+      for (int x = 0; x < 600; x++) {
+        boolean black = (x < 200 && symbol.get(x, y)) || (x >= 400 && symbol.get(x - 400, y));
+        image.setRGB(x, y, black ? 0xFF000000 : 0xFFFFFFFF);
+      }
+    }
+    BinaryBitmap bitmap = new BinaryBitmap(new HybridBinarizer(new BufferedImageLuminanceSource(image)));
+
+    MultipleBarcodeReader reader = new GenericMultipleBarcodeReader(new MultiFormatReader());
+    Result[] results = reader.decodeMultiple(bitmap);
+    assertEquals(2, results.length);
+    assertEquals("same", results[0].getText());
+    assertEquals("same", results[1].getText());
+    assertNotEquals(results[0].getResultPoints()[0].getX() < 200, results[1].getResultPoints()[0].getX() < 200);
+  }
+
 }
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing.multi;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.Result;
+import com.google.zxing.ResultPoint;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests {@link ResultIndex}.
+ */
+public final class ResultIndexTestCase extends Assert {
+
+  @Test
+  public void test2DSymbols() {
+    ResultIndex index = new ResultIndex();
+    assertTrue(index.add(qrCode("A", 100, 100)));
+    // The same symbol, found again a little off
+    assertFalse(index.add(qrCode("A", 102, 99)));
+    // The same text in another symbol next to it, or in another format
+    assertTrue(index.add(qrCode("A", 200, 100)));
+    assertTrue(index.add(new Result("A", null, new ResultPoint[] {new ResultPoint(100, 100)}, BarcodeFormat.AZTEC)));
+    assertTrue(index.add(qrCode("B", 100, 100)));
+    assertFalse(index.add(qrCode("A", 201, 100)));
+  }
+
+  @Test
+  public void test1DSymbols() {
+    ResultIndex index = new ResultIndex();
+    assertTrue(index.add(upcA("0", 50, 250, 100)));
+    // Found again on another row
+    assertFalse(index.add(upcA("0", 51, 249, 160)));
+    // Another symbol, below it
+    assertTrue(index.add(upcA("0", 50, 250, 400)));
+  }
+
+  @Test
+  public void testNoPoints() {
+    ResultIndex index = new ResultIndex();
+    assertTrue(index.add(new Result("A", null, null, BarcodeFormat.QR_CODE)));
+    assertFalse(index.add(qrCode("A", 100, 100)));
+    assertFalse(index.add(new Result("A", null, new ResultPoint[] {null}, BarcodeFormat.QR_CODE)));
+  }
+
+  // Finder pattern centers of a 60 pixel symbol with its top left one at (x, y)
+  private static Result qrCode(String text, float x, float y) {
+    ResultPoint[] points = {new ResultPoint(x, y + 60), new ResultPoint(x, y), new ResultPoint(x + 60, y)};
+    return new Result(text, null, points, BarcodeFormat.QR_CODE);
+  }
+
+  private static Result upcA(String text, float left, float right, float y) {
+    ResultPoint[] points = {new ResultPoint(left, y), new ResultPoint(right, y)};
+    return new Result(text, null, points, BarcodeFormat.UPC_A);
+  }
+
+}
@@ -26,6 +26,9 @@
 
 package com.google.zxing.oned.rss.expanded;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import com.google.zxing.oned.OneDReader;
@@ -36,6 +39,8 @@ import com.google.zxing.BinaryBitmap;
 import com.google.zxing.NotFoundException;
 import com.google.zxing.Result;
 import com.google.zxing.common.BitArray;
+import com.google.zxing.oned.rss.DataCharacter;
+import com.google.zxing.oned.rss.FinderPattern;
 
 /**
  * Tests {@link RSSExpandedReader} handling of stacked RSS barcodes.
@@ -85,5 +90,32 @@ public final class RSSExpandedStackedInternalTestCase extends Assert {
     assertEquals("(01)98898765432106(3202)012345(15)991231", result.getText());
   }
 
+  @Test
+  public void testCheckRowsSearch() {
+    // Rows of one pair each, four or five with each finder pattern in turn, which can be picked
+    // to make a great many sequences of rows
+    RSSExpandedReader rssExpandedReader = new RSSExpandedReader();
+    List<ExpandedRow> rows = rssExpandedReader.getRows();
+    for (int i = 0; i < 25; i++) {
+      rows.add(new ExpandedRow(Collections.singletonList(createPair(Math.min(i / 4, 5), 1)), i));
+    }
+    assertNull(rssExpandedReader.checkRows(false));
+    assertNull(rssExpandedReader.checkRows(true));
+
+    // With a check character for 6 pairs, the first sequence of rows which gives 6 pairs is found
+    rows.set(0, new ExpandedRow(Collections.singletonList(createPair(0, 211 * (12 - 4))), 0));
+    List<ExpandedPair> pairs = rssExpandedReader.checkRows(false);
+    assertNotNull(pairs);
+    List<Integer> found = new ArrayList<>();
+    for (ExpandedPair pair : pairs) {
+      found.add(pair.getFinderPattern().getValue());
+    }
+    assertEquals(Arrays.asList(0, 0, 1, 1, 2, 2), found);
+  }
+
+  private static ExpandedPair createPair(int finderPattern, int leftValue) {
+    return new ExpandedPair(new DataCharacter(leftValue, 0), new DataCharacter(1, 0),
+        new FinderPattern(finderPattern, new int[2], 0, 0, 0));
+  }
 
 }
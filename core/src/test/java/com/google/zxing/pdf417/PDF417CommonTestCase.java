@@ -0,0 +1,51 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing.pdf417;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+/**
+ * Tests {@link PDF417Common}.
+ */
+public final class PDF417CommonTestCase extends Assert {
+
+  @Test
+  public void testGetCodeword() {
+    int[] symbols = PDF417Common.SYMBOL_TABLE;
+    // Each of the three clusters has a symbol for every codeword
+    int[] clusters = new int[PDF417Common.NUMBER_OF_CODEWORDS];
+    for (int symbol : symbols) {
+      int codeword = PDF417Common.getCodeword(symbol);
+      assertTrue(codeword >= 0 && codeword < PDF417Common.NUMBER_OF_CODEWORDS);
+      clusters[codeword]++;
+    }
+    for (int count : clusters) {
+      assertEquals(3, count);
+    }
+    // Anything else isn't a symbol, including symbols with bits set beyond the 18 which are looked at
+    for (int value = 0; value < 1 << 18; value++) {
+      boolean symbol = Arrays.binarySearch(symbols, value) >= 0;
+      assertEquals(Integer.toHexString(value), symbol, PDF417Common.getCodeword(value) >= 0);
+      assertEquals(PDF417Common.getCodeword(value), PDF417Common.getCodeword(value | 0x7FFC0000));
+    }
+    assertEquals(-1, PDF417Common.getCodeword(-1));
+  }
+
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing.pdf417.decoder;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.BinaryBitmap;
+import com.google.zxing.ChecksumException;
+import com.google.zxing.EncodeHintType;
+import com.google.zxing.FormatException;
+import com.google.zxing.PlanarYUVLuminanceSource;
+import com.google.zxing.Result;
+import com.google.zxing.ResultMetadataType;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.common.DecoderResult;
+import com.google.zxing.common.HybridBinarizer;
+import com.google.zxing.pdf417.PDF417Reader;
+import com.google.zxing.pdf417.PDF417Writer;
+import com.google.zxing.pdf417.encoder.Dimensions;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Tests {@link PDF417ScanningDecoder}, comparing its parallel mode to the serial one.
+ */
+public final class PDF417ScanningDecoderTestCase extends Assert {
+
+  // 48 data codewords followed by 64 error correction codewords, at level 5
+  private static final int[] CODEWORDS = {
+      48, 901, 56, 141, 627, 856, 330, 69, 244, 900, 852, 169, 843, 895, 852, 895, 913, 154, 845, 778, 387, 89, 869,
+      901, 219, 474, 543, 650, 169, 201, 9, 160, 35, 70, 900, 900, 900, 900, 900, 900, 900, 900, 900, 900, 900, 900,
+      900, 900, 769, 843, 591, 910, 605, 206, 706, 917, 371, 469, 79, 718, 47, 777, 249, 262, 193, 620, 597, 477, 450,
+      806, 908, 309, 153, 871, 686, 838, 185, 674, 68, 679, 691, 794, 497, 479, 234, 250, 496, 43, 347, 582, 882, 536,
+      322, 317, 273, 194, 917, 237, 420, 859, 340, 115, 222, 808, 866, 836, 417, 121, 833, 459, 64, 159};
+  private static final int EC_LEVEL = 5;
+
+  private static ForkJoinPool pool;
+
+  @BeforeClass
+  public static void setUpPool() {
+    pool = new ForkJoinPool(4);
+  }
+
+  @AfterClass
+  public static void shutDownPool() {
+    pool.shutdown();
+  }
+
+  @Test
+  public void testLargeSymbol() throws Exception {
+    StringBuilder contents = new StringBuilder();
+    Random random = new Random(0x417);
+    while (contents.length() < 1200) {
+      contents.append((char) ('A' + random.nextInt(26)));
+      if (random.nextInt(8) == 0) {
+        contents.append(' ');
+      }
+    }
+    Map<EncodeHintType,Object> hints = new EnumMap<>(EncodeHintType.class);
+    hints.put(EncodeHintType.PDF417_DIMENSIONS, new Dimensions(20, 20, 45, 45));
+    hints.put(EncodeHintType.MARGIN, 10);
+    BitMatrix matrix = new PDF417Writer().encode(contents.toString(), BarcodeFormat.PDF_417, 0, 0, hints);
+    // Two pixels a module, so that the symbol is 400 pixels high
+    int width = matrix.getWidth() * 2;
+    int height = matrix.getHeight() * 2;
+    byte[] luminances = new byte[width * height];
+    for (int y = 0; y < height; y++) {
+      for (int x = 0; x < width; x++) {
+        luminances[y * width + x] = (byte) (matrix.get(x / 2, y / 2) ? 0 : 255);
+      }
+    }
+    BinaryBitmap image = new BinaryBitmap(new HybridBinarizer(new PlanarYUVLuminanceSource(
+        luminances, width, height, 0, 0, width, height, false)));
+
+    Result serial = new PDF417Reader().decode(image);
+    Result parallel = new PDF417Reader(pool).decode(image);
+    assertEquals(contents.toString(), serial.getText());
+    assertEquals(contents.toString(), parallel.getText());
+    assertEquals(serial.getResultMetadata().get(ResultMetadataType.ERASURES_CORRECTED),
+        parallel.getResultMetadata().get(ResultMetadataType.ERASURES_CORRECTED));
+  }
+
+  @Test
+  public void testAmbiguousValues() throws Exception {
+    Random random = new Random(0xA4B);
+    int decoded = 0;
+    for (int trial = 0; trial < 50; trial++) {
+      // Corrupt codewords up to the limit of what can be corrected, so that any wrong choice of
+      // ambiguous value is likely to fail
+      int[] codewords = CODEWORDS.clone();
+      int[] positions = shuffledPositions(random);
+      int errors = 32 - random.nextInt(3);
+      for (int i = 0; i < errors; i++) {
+        codewords[positions[i]] = (codewords[positions[i]] + 1 + random.nextInt(928)) % 929;
+      }
+      int[] ambiguousIndexes = new int[1 + random.nextInt(6)];
+      int[][] ambiguousIndexValues = new int[ambiguousIndexes.length][];
+      for (int i = 0; i < ambiguousIndexes.length; i++) {
+        int index = positions[errors + i];
+        ambiguousIndexes[i] = index;
+        ambiguousIndexValues[i] = new int[2 + random.nextInt(3)];
+        for (int j = 0; j < ambiguousIndexValues[i].length; j++) {
+          ambiguousIndexValues[i][j] = random.nextInt(929);
+        }
+        // Mostly, but not always, one of the values is right
+        if (random.nextInt(4) > 0) {
+          ambiguousIndexValues[i][random.nextInt(ambiguousIndexValues[i].length)] = CODEWORDS[index];
+        }
+      }
+
+      Object serial = decode(codewords, ambiguousIndexes, ambiguousIndexValues, null);
+      Object parallel = decode(codewords, ambiguousIndexes, ambiguousIndexValues, pool);
+      if (serial instanceof DecoderResult) {
+        decoded++;
+        assertTrue(parallel instanceof DecoderResult);
+        DecoderResult serialResult = (DecoderResult) serial;
+        DecoderResult parallelResult = (DecoderResult) parallel;
+        assertEquals(serialResult.getText(), parallelResult.getText());
+        assertEquals(serialResult.getErrorsCorrected(), parallelResult.getErrorsCorrected());
+      } else {
+        assertSame(serial.getClass(), parallel.getClass());
+      }
+    }
+    assertTrue(decoded > 0 && decoded < 50);
+  }
+
+  private static Object decode(int[] codewords,
+                               int[] ambiguousIndexes,
+                               int[][] ambiguousIndexValues,
+                               ForkJoinPool pool) {
+    try {
+      return PDF417ScanningDecoder.createDecoderResultFromAmbiguousValues(EC_LEVEL, codewords.clone(), new int[0],
+          ambiguousIndexes, ambiguousIndexValues, pool);
+    } catch (ChecksumException | FormatException e) {
+      return e;
+    }
+  }
+
+  private static int[] shuffledPositions(Random random) {
+    int[] positions = new int[CODEWORDS.length];
+    for (int i = 0; i < positions.length; i++) {
+      positions[i] = i;
+    }
+    for (int i = positions.length - 1; i > 0; i--) {
+      int j = random.nextInt(i + 1);
+      int temp = positions[i];
+      positions[i] = positions[j];
+      positions[j] = temp;
+    }
+    return positions;
+  }
+
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing.qrcode.encoder;
+
+import com.google.zxing.WriterException;
+import com.google.zxing.common.BitArray;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import com.google.zxing.qrcode.decoder.Version;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * Tests {@link MaskSelector}.
+ */
+public final class MaskSelectorTestCase extends Assert {
+
+  @Test
+  public void testPenaltiesMatchMaskUtil() throws WriterException {
+    Random random = new Random(0xC0FFEE);
+    ErrorCorrectionLevel[] ecLevels = ErrorCorrectionLevel.values();
+    for (int versionNumber = 1; versionNumber <= 40; versionNumber++) {
+      Version version = Version.getVersionForNumber(versionNumber);
+      ErrorCorrectionLevel ecLevel = ecLevels[versionNumber % ecLevels.length];
+      // Mostly random data, and some with long runs of one color
+      for (int fill = 0; fill < 3; fill++) {
+        BitArray dataBits = new BitArray();
+        for (int i = 0; i < version.getTotalCodewords(); i++) {
+          int value = fill == 0 ? random.nextInt(256) : (fill == 1 ? 0 : 0xFF);
+          dataBits.appendBits(value, 8);
+        }
+        int dimension = version.getDimensionForVersion();
+        int[] penalties = MaskSelector.calculateMaskPenalties(
+            dataBits, ecLevel, version, new ByteMatrix(dimension, dimension));
+        ByteMatrix matrix = new ByteMatrix(dimension, dimension);
+        for (int maskPattern = 0; maskPattern < QRCode.NUM_MASK_PATTERNS; maskPattern++) {
+          MatrixUtil.buildMatrix(dataBits, ecLevel, version, maskPattern, matrix);
+          int expected = MaskUtil.applyMaskPenaltyRule1(matrix) +
+              MaskUtil.applyMaskPenaltyRule2(matrix) +
+              MaskUtil.applyMaskPenaltyRule3(matrix) +
+              MaskUtil.applyMaskPenaltyRule4(matrix);
+          assertEquals("Version " + versionNumber + " mask " + maskPattern, expected, penalties[maskPattern]);
+        }
+      }
+    }
+  }
+
+}
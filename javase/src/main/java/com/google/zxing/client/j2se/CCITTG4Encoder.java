@@ -0,0 +1,209 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing.client.j2se;
+
+import com.google.zxing.common.BitArray;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * <p>Encodes rows of a bilevel image with CCITT T.6 ("Group 4") two-dimensional coding, as used
+ * by TIFF compression type 4. Set bits are black, and each row is coded against the one above
+ * it, which for the first row is all white. Rows are read straight from {@link BitArray}s,
+ * finding changes of color with {@link BitArray#getNextSet(int)} and
+ * {@link BitArray#getNextUnset(int)}, so long runs cost little.</p>
+ *
+ * <p>Bits are written most significant first (TIFF fill order 1).</p>
+ */
+final class CCITTG4Encoder {
+
+  // Codes as {bits, length}, from ITU-T T.4 tables 2 and 3; makeup codes from 1792 on are shared
+  private static final int[][] WHITE_TERMINATING_CODES = {
+      {0x35, 8}, {0x7, 6}, {0x7, 4}, {0x8, 4}, {0xB, 4}, {0xC, 4}, {0xE, 4}, {0xF, 4}, {0x13, 5}, {0x14, 5},
+      {0x7, 5}, {0x8, 5}, {0x8, 6}, {0x3, 6}, {0x34, 6}, {0x35, 6}, {0x2A, 6}, {0x2B, 6}, {0x27, 7},
+      {0xC, 7}, {0x8, 7}, {0x17, 7}, {0x3, 7}, {0x4, 7}, {0x28, 7}, {0x2B, 7}, {0x13, 7}, {0x24, 7},
+      {0x18, 7}, {0x2, 8}, {0x3, 8}, {0x1A, 8}, {0x1B, 8}, {0x12, 8}, {0x13, 8}, {0x14, 8}, {0x15, 8},
+      {0x16, 8}, {0x17, 8}, {0x28, 8}, {0x29, 8}, {0x2A, 8}, {0x2B, 8}, {0x2C, 8}, {0x2D, 8}, {0x4, 8},
+      {0x5, 8}, {0xA, 8}, {0xB, 8}, {0x52, 8}, {0x53, 8}, {0x54, 8}, {0x55, 8}, {0x24, 8}, {0x25, 8},
+      {0x58, 8}, {0x59, 8}, {0x5A, 8}, {0x5B, 8}, {0x4A, 8}, {0x4B, 8}, {0x32, 8}, {0x33, 8}, {0x34, 8}
+  };
+
+  private static final int[][] BLACK_TERMINATING_CODES = {
+      {0x37, 10}, {0x2, 3}, {0x3, 2}, {0x2, 2}, {0x3, 3}, {0x3, 4}, {0x2, 4}, {0x3, 5}, {0x5, 6}, {0x4, 6},
+      {0x4, 7}, {0x5, 7}, {0x7, 7}, {0x4, 8}, {0x7, 8}, {0x18, 9}, {0x17, 10}, {0x18, 10}, {0x8, 10},
+      {0x67, 11}, {0x68, 11}, {0x6C, 11}, {0x37, 11}, {0x28, 11}, {0x17, 11}, {0x18, 11}, {0xCA, 12},
+      {0xCB, 12}, {0xCC, 12}, {0xCD, 12}, {0x68, 12}, {0x69, 12}, {0x6A, 12}, {0x6B, 12}, {0xD2, 12},
+      {0xD3, 12}, {0xD4, 12}, {0xD5, 12}, {0xD6, 12}, {0xD7, 12}, {0x6C, 12}, {0x6D, 12}, {0xDA, 12},
+      {0xDB, 12}, {0x54, 12}, {0x55, 12}, {0x56, 12}, {0x57, 12}, {0x64, 12}, {0x65, 12}, {0x52, 12},
+      {0x53, 12}, {0x24, 12}, {0x37, 12}, {0x38, 12}, {0x27, 12}, {0x28, 12}, {0x58, 12}, {0x59, 12},
+      {0x2B, 12}, {0x2C, 12}, {0x5A, 12}, {0x66, 12}, {0x67, 12}
+  };
+
+  private static final int[][] WHITE_MAKEUP_CODES = {
+      {0x1B, 5}, {0x12, 5}, {0x17, 6}, {0x37, 7}, {0x36, 8}, {0x37, 8}, {0x64, 8}, {0x65, 8}, {0x68, 8},
+      {0x67, 8}, {0xCC, 9}, {0xCD, 9}, {0xD2, 9}, {0xD3, 9}, {0xD4, 9}, {0xD5, 9}, {0xD6, 9}, {0xD7, 9},
+      {0xD8, 9}, {0xD9, 9}, {0xDA, 9}, {0xDB, 9}, {0x98, 9}, {0x99, 9}, {0x9A, 9}, {0x18, 6}, {0x9B, 9},
+      {0x8, 11}, {0xC, 11}, {0xD, 11}, {0x12, 12}, {0x13, 12}, {0x14, 12}, {0x15, 12}, {0x16, 12},
+      {0x17, 12}, {0x1C, 12}, {0x1D, 12}, {0x1E, 12}, {0x1F, 12}
+  };
+
+  private static final int[][] BLACK_MAKEUP_CODES = {
+      {0xF, 10}, {0xC8, 12}, {0xC9, 12}, {0x5B, 12}, {0x33, 12}, {0x34, 12}, {0x35, 12}, {0x6C, 13},
+      {0x6D, 13}, {0x4A, 13}, {0x4B, 13}, {0x4C, 13}, {0x4D, 13}, {0x72, 13}, {0x73, 13}, {0x74, 13},
+      {0x75, 13}, {0x76, 13}, {0x77, 13}, {0x52, 13}, {0x53, 13}, {0x54, 13}, {0x55, 13}, {0x5A, 13},
+      {0x5B, 13}, {0x64, 13}, {0x65, 13}, {0x8, 11}, {0xC, 11}, {0xD, 11}, {0x12, 12}, {0x13, 12},
+      {0x14, 12}, {0x15, 12}, {0x16, 12}, {0x17, 12}, {0x1C, 12}, {0x1D, 12}, {0x1E, 12}, {0x1F, 12}
+  };
+
+  private static final int MAX_MAKEUP_RUN = 2560;
+
+  private final int width;
+  private final ByteArrayOutputStream out;
+  private BitArray reference;
+  private int bitBuffer;
+  private int bitCount;
+
+  /**
+   * @param width width of each row
+   * @param out stream to write codes to
+   */
+  CCITTG4Encoder(int width, ByteArrayOutputStream out) {
+    this.width = width;
+    this.out = out;
+    reference = new BitArray(width);
+  }
+
+  /**
+   * Codes a row. The row is kept as the reference for the next row, so it must not be modified
+   * until then.
+   *
+   * @param row row to code, of the width given at construction
+   */
+  void encodeRow(BitArray row) {
+    int a0 = -1;
+    boolean black = false;
+    while (a0 < width) {
+      int a1 = nextChange(row, a0 + 1);
+      int b1 = nextChange(reference, a0 + 1);
+      if (b1 < width && reference.get(b1) == black) {
+        // That change is to the color of a0; b1 is the change after it
+        b1 = nextChange(reference, b1 + 1);
+      }
+      int b2 = nextChange(reference, b1 + 1);
+      if (b2 < a1) {
+        // Pass mode
+        writeBits(0x1, 4);
+        a0 = b2;
+      } else {
+        int delta = a1 - b1;
+        if (delta >= -3 && delta <= 3) {
+          writeVertical(delta);
+          a0 = a1;
+          black = !black;
+        } else {
+          int a2 = nextChange(row, a1 + 1);
+          writeBits(0x1, 3);
+          writeRun(a1 - Math.max(a0, 0), black);
+          writeRun(a2 - a1, !black);
+          a0 = a2;
+        }
+      }
+    }
+    reference = row;
+  }
+
+  /**
+   * Writes the end of facsimile block, and pads the last byte.
+   */
+  void finish() {
+    writeBits(0x1, 12);
+    writeBits(0x1, 12);
+    if (bitCount > 0) {
+      out.write(bitBuffer << (8 - bitCount));
+      bitBuffer = 0;
+      bitCount = 0;
+    }
+  }
+
+  /**
+   * @return first position from {@code from} on whose color differs from the position before
+   *  it, where the row is white before its start, or the width if there is none
+   */
+  private int nextChange(BitArray line, int from) {
+    if (from >= width) {
+      return width;
+    }
+    boolean black = from > 0 && line.get(from - 1);
+    return black ? line.getNextUnset(from) : line.getNextSet(from);
+  }
+
+  private void writeVertical(int delta) {
+    switch (delta) {
+      case 0:
+        writeBits(0x1, 1);
+        break;
+      case 1:
+        writeBits(0x3, 3);
+        break;
+      case 2:
+        writeBits(0x3, 6);
+        break;
+      case 3:
+        writeBits(0x3, 7);
+        break;
+      case -1:
+        writeBits(0x2, 3);
+        break;
+      case -2:
+        writeBits(0x2, 6);
+        break;
+      case -3:
+        writeBits(0x2, 7);
+        break;
+      default:
+        throw new IllegalArgumentException("Bad vertical offset " + delta);
+    }
+  }
+
+  private void writeRun(int run, boolean black) {
+    int[][] makeupCodes = black ? BLACK_MAKEUP_CODES : WHITE_MAKEUP_CODES;
+    while (run >= MAX_MAKEUP_RUN) {
+      writeCode(makeupCodes[MAX_MAKEUP_RUN / 64 - 1]);
+      run -= MAX_MAKEUP_RUN;
+    }
+    if (run >= 64) {
+      writeCode(makeupCodes[run / 64 - 1]);
+      run %= 64;
+    }
+    writeCode((black ? BLACK_TERMINATING_CODES : WHITE_TERMINATING_CODES)[run]);
+  }
+
+  private void writeCode(int[] code) {
+    writeBits(code[0], code[1]);
+  }
+
+  private void writeBits(int bits, int numBits) {
+    bitBuffer = (bitBuffer << numBits) | bits;
+    bitCount += numBits;
+    while (bitCount >= 8) {
+      bitCount -= 8;
+      out.write(bitBuffer >>> bitCount);
+    }
+    bitBuffer &= (1 << bitCount) - 1;
+  }
+
+}
@@ -22,6 +22,7 @@ import com.google.zxing.common.BitMatrix;
 
 import com.beust.jcommander.JCommander;
 
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.EnumMap;
 import java.util.Locale;
@@ -58,8 +59,12 @@ public final class CommandLineEncoder {
     BitMatrix matrix = new MultiFormatWriter().encode(
         config.contents.get(0), config.barcodeFormat, config.width,
         config.height, hints);
-    MatrixToImageWriter.writeToPath(matrix, config.imageFormat,
-        Paths.get(outFileString));
+    Path outFile = Paths.get(outFileString);
+    if (MatrixToVectorWriter.supportsFormat(config.imageFormat)) {
+      MatrixToVectorWriter.writeToPath(matrix, config.imageFormat, outFile);
+    } else {
+      MatrixToImageWriter.writeToPath(matrix, config.imageFormat, outFile);
+    }
   }
 
 }
@@ -25,13 +25,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.List;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
 
 /**
  * This simple command line utility decodes files, directories of files, or URIs which are passed
@@ -82,21 +76,11 @@ public final class CommandLineRunner {
       return;
     }
 
-    Queue<URI> syncInputs = new ConcurrentLinkedQueue<>(inputs);
     int numThreads = Math.min(numInputs, Runtime.getRuntime().availableProcessors());
-    int successful = 0;    
-    if (numThreads > 1) {
-      ExecutorService executor = Executors.newFixedThreadPool(numThreads);
-      Collection<Future<Integer>> futures = new ArrayList<>(numThreads);
-      for (int x = 0; x < numThreads; x++) {
-        futures.add(executor.submit(new DecodeWorker(config, syncInputs)));
-      }
-      executor.shutdown();
-      for (Future<Integer> future : futures) {
-        successful += future.get();
-      }
-    } else {
-      successful += new DecodeWorker(config, syncInputs).call();
+    int successful;
+    try (DecodeService service =
+             new DecodeService(config.buildHints(), config.multi, numThreads, numThreads, 0L)) {
+      successful = new DecodeWorker(config).decodeAll(service, inputs);
     }
 
     if (!config.brief && numInputs > 1) {
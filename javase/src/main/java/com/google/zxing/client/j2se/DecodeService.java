@@ -0,0 +1,296 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing.client.j2se;
+
+import com.google.zxing.BinaryBitmap;
+import com.google.zxing.DecodeHintType;
+import com.google.zxing.DecodeStrategy;
+import com.google.zxing.LuminanceSource;
+import com.google.zxing.NotFoundException;
+import com.google.zxing.Result;
+import com.google.zxing.common.HybridBinarizer;
+
+import java.awt.image.BufferedImage;
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>Decodes images on a fixed pool of threads, for applications which decode many images, like
+ * {@link CommandLineRunner}.</p>
+ *
+ * <p>Images are decoded with a {@link DecodeStrategy}, in which each thread keeps its own readers.
+ * At most a given number of images wait to be decoded; when that many are waiting, submitting
+ * another one blocks until a thread is free, so that a fast producer can't run out of memory.
+ * Optionally each image has a deadline: a thread which is still decoding an image when it
+ * passes is interrupted, and unless some barcodes were found by then, the image's future fails
+ * with a {@link TimeoutException}. Cancelling a future also interrupts the thread decoding its
+ * image.</p>
+ *
+ * <p>The future of an image in which no barcode is found completes with an empty array. If the
+ * image can't be loaded, it fails with the exception thrown while loading it.</p>
+ */
+public final class DecodeService implements AutoCloseable {
+
+  private static final Result[] NO_RESULTS = new Result[0];
+
+  private final DecodeStrategy strategy;
+  private final long deadlineMillis;
+  private final Semaphore capacity;
+  private final ExecutorService executor;
+  private final ScheduledExecutorService timer;
+
+  /**
+   * @param hints hints to decode all images with, or null
+   * @param multi if true, look for all barcodes in each image instead of the first one
+   * @param numThreads number of images to decode at the same time
+   * @param queueCapacity number of images which may wait to be decoded
+   * @param deadlineMillis how long decoding one image may take, in milliseconds, from when a
+   *  thread starts on it; or 0 for no limit
+   */
+  public DecodeService(Map<DecodeHintType,?> hints,
+                       boolean multi,
+                       int numThreads,
+                       int queueCapacity,
+                       long deadlineMillis) {
+    this(multi ? new DecodeStrategy().addMultipleStage(null, hints) : new DecodeStrategy().addStage(null, hints),
+         numThreads, queueCapacity, deadlineMillis);
+  }
+
+  /**
+   * @param strategy strategy to decode all images with, which must run its stages in the calling
+   *  thread for the deadline to stop them
+   * @param numThreads number of images to decode at the same time
+   * @param queueCapacity number of images which may wait to be decoded
+   * @param deadlineMillis how long decoding one image may take, in milliseconds, from when a
+   *  thread starts on it; or 0 for no limit
+   */
+  public DecodeService(DecodeStrategy strategy, int numThreads, int queueCapacity, long deadlineMillis) {
+    if (numThreads < 1 || queueCapacity < 0 || deadlineMillis < 0) {
+      throw new IllegalArgumentException("Invalid threads, capacity or deadline");
+    }
+    this.strategy = strategy;
+    this.deadlineMillis = deadlineMillis;
+    capacity = new Semaphore(numThreads + queueCapacity);
+    executor = new ThreadPoolExecutor(numThreads, numThreads, 0L, TimeUnit.MILLISECONDS,
+                                      new ArrayBlockingQueue<>(numThreads + queueCapacity),
+                                      new DaemonThreadFactory("zxing-decode-"));
+    ScheduledThreadPoolExecutor deadlineTimer =
+        new ScheduledThreadPoolExecutor(1, new DaemonThreadFactory("zxing-decode-deadline-"));
+    deadlineTimer.setRemoveOnCancelPolicy(true);
+    timer = deadlineTimer;
+  }
+
+  /**
+   * Decodes an image, which is loaded on the thread which decodes it.
+   *
+   * @param imageLoader loads the image to decode
+   * @return future results of decoding the image
+   * @throws InterruptedException if interrupted while waiting for room in the queue
+   * @throws RejectedExecutionException if the service has been closed
+   */
+  public CompletableFuture<Result[]> decode(Callable<? extends BinaryBitmap> imageLoader)
+      throws InterruptedException {
+    capacity.acquire();
+    CompletableFuture<Result[]> future = new CompletableFuture<>();
+    try {
+      executor.execute(new DecodeTask(imageLoader, future));
+    } catch (RejectedExecutionException ree) {
+      capacity.release();
+      throw ree;
+    }
+    return future;
+  }
+
+  /**
+   * @param bitmap image to decode
+   * @return future results of decoding the image
+   * @throws InterruptedException if interrupted while waiting for room in the queue
+   * @see #decode(Callable)
+   */
+  public CompletableFuture<Result[]> decode(BinaryBitmap bitmap) throws InterruptedException {
+    return decode(() -> bitmap);
+  }
+
+  /**
+   * @param source image to decode
+   * @return future results of decoding the image
+   * @throws InterruptedException if interrupted while waiting for room in the queue
+   * @see #decode(Callable)
+   */
+  public CompletableFuture<Result[]> decode(LuminanceSource source) throws InterruptedException {
+    return decode(() -> new BinaryBitmap(new HybridBinarizer(source)));
+  }
+
+  /**
+   * @param image image to decode
+   * @return future results of decoding the image
+   * @throws InterruptedException if interrupted while waiting for room in the queue
+   * @see #decode(Callable)
+   */
+  public CompletableFuture<Result[]> decode(BufferedImage image) throws InterruptedException {
+    return decode(() -> new BinaryBitmap(new HybridBinarizer(new BufferedImageLuminanceSource(image))));
+  }
+
+  /**
+   * @param uri location of the image to decode, which is read by {@link ImageReader} on the
+   *  thread which decodes it
+   * @return future results of decoding the image
+   * @throws InterruptedException if interrupted while waiting for room in the queue
+   * @see #decode(Callable)
+   */
+  public CompletableFuture<Result[]> decode(URI uri) throws InterruptedException {
+    return decode(() -> new BinaryBitmap(new HybridBinarizer(
+        new BufferedImageLuminanceSource(ImageReader.readImage(uri)))));
+  }
+
+  /**
+   * Stops accepting images, and waits until all submitted images have been decoded.
+   */
+  @Override
+  public void close() {
+    executor.shutdown();
+    try {
+      while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+        // keep waiting
+      }
+    } catch (InterruptedException ie) {
+      executor.shutdownNow();
+      Thread.currentThread().interrupt();
+    } finally {
+      timer.shutdownNow();
+    }
+  }
+
+  private Result[] decodeNow(BinaryBitmap bitmap) {
+    try {
+      return strategy.decode(bitmap);
+    } catch (NotFoundException nfe) {
+      return NO_RESULTS;
+    }
+  }
+
+  private final class DecodeTask implements Runnable {
+
+    private final Callable<? extends BinaryBitmap> imageLoader;
+    private final CompletableFuture<Result[]> future;
+    private Thread thread;
+    private boolean timedOut;
+
+    DecodeTask(Callable<? extends BinaryBitmap> imageLoader, CompletableFuture<Result[]> future) {
+      this.imageLoader = imageLoader;
+      this.future = future;
+    }
+
+    @Override
+    public void run() {
+      try {
+        if (!future.isDone()) {
+          run(Thread.currentThread());
+        }
+      } finally {
+        capacity.release();
+      }
+    }
+
+    private void run(Thread worker) {
+      synchronized (this) {
+        thread = worker;
+      }
+      ScheduledFuture<?> deadline = null;
+      if (deadlineMillis > 0) {
+        deadline = timer.schedule(() -> interrupt(true), deadlineMillis, TimeUnit.MILLISECONDS);
+      }
+      future.whenComplete((results, t) -> {
+        if (future.isCancelled()) {
+          interrupt(false);
+        }
+      });
+      try {
+        Result[] results = decodeNow(imageLoader.call());
+        if (results.length == 0 && isTimedOut()) {
+          future.completeExceptionally(newTimeoutException());
+        } else {
+          future.complete(results);
+        }
+      } catch (Exception e) {
+        // Most likely the loader gave up because it was interrupted at the deadline
+        future.completeExceptionally(isTimedOut() ? newTimeoutException() : e);
+      } catch (Error e) {
+        future.completeExceptionally(e);
+        throw e;
+      } finally {
+        if (deadline != null) {
+          deadline.cancel(false);
+        }
+        synchronized (this) {
+          thread = null;
+        }
+        // Don't let an interrupt which came too late affect the next image
+        Thread.interrupted();
+      }
+    }
+
+    private synchronized void interrupt(boolean deadlinePassed) {
+      if (thread != null) {
+        timedOut |= deadlinePassed;
+        thread.interrupt();
+      }
+    }
+
+    private synchronized boolean isTimedOut() {
+      return timedOut;
+    }
+
+    private TimeoutException newTimeoutException() {
+      return new TimeoutException("Not decoded within " + deadlineMillis + "ms");
+    }
+
+  }
+
+  private static final class DaemonThreadFactory implements ThreadFactory {
+
+    private final String namePrefix;
+    private final AtomicInteger count = new AtomicInteger();
+
+    DaemonThreadFactory(String namePrefix) {
+      this.namePrefix = namePrefix;
+    }
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, namePrefix + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+
+  }
+
+}
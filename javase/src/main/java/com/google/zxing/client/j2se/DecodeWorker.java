@@ -17,9 +17,7 @@
 package com.google.zxing.client.j2se;
 
 import com.google.zxing.BinaryBitmap;
-import com.google.zxing.DecodeHintType;
 import com.google.zxing.LuminanceSource;
-import com.google.zxing.MultiFormatReader;
 import com.google.zxing.NotFoundException;
 import com.google.zxing.Result;
 import com.google.zxing.ResultPoint;
@@ -28,13 +26,12 @@ import com.google.zxing.client.result.ResultParser;
 import com.google.zxing.common.BitArray;
 import com.google.zxing.common.BitMatrix;
 import com.google.zxing.common.HybridBinarizer;
-import com.google.zxing.multi.GenericMultipleBarcodeReader;
-import com.google.zxing.multi.MultipleBarcodeReader;
 
 import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.io.StringWriter;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
@@ -44,41 +41,60 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
-import java.util.Map;
-import java.util.Queue;
-import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 /**
- * One of a pool of threads which pulls images off the Inputs queue and decodes them in parallel.
+ * Loads the images which {@link CommandLineRunner} decodes with a {@link DecodeService}, and
+ * reports their results as they come in.
  *
  * @see CommandLineRunner
  */
-final class DecodeWorker implements Callable<Integer> {
+final class DecodeWorker {
 
   private static final int RED = 0xFFFF0000;
   private static final int BLACK = 0xFF000000;
   private static final int WHITE = 0xFFFFFFFF;
 
   private final DecoderConfig config;
-  private final Queue<URI> inputs;
-  private final Map<DecodeHintType,?> hints;
 
-  DecodeWorker(DecoderConfig config, Queue<URI> inputs) {
+  DecodeWorker(DecoderConfig config) {
     this.config = config;
-    this.inputs = inputs;
-    hints = config.buildHints();
   }
 
-  @Override
-  public Integer call() throws IOException {
+  /**
+   * @param service service to decode the inputs with
+   * @param inputs images to decode
+   * @return number of inputs in which a barcode was found
+   * @throws IOException if an input can't be read, or results can't be written
+   * @throws InterruptedException if interrupted while waiting for the service
+   */
+  int decodeAll(DecodeService service, Iterable<URI> inputs) throws IOException, InterruptedException {
+    Collection<CompletableFuture<Boolean>> outcomes = new ArrayList<>();
+    for (URI input : inputs) {
+      outcomes.add(service.decode(() -> loadImage(input)).thenApply(results -> report(input, results)));
+    }
     int successful = 0;
-    for (URI input; (input = inputs.poll()) != null;) {
-      Result[] results = decode(input, hints);
-      if (results != null) {
-        successful++;
-        if (config.dumpResults) {
-          dumpResult(input, results);
+    for (CompletableFuture<Boolean> outcome : outcomes) {
+      try {
+        if (outcome.get()) {
+          successful++;
+        }
+      } catch (ExecutionException ee) {
+        Throwable cause = ee.getCause();
+        if (cause instanceof UncheckedIOException) {
+          cause = cause.getCause();
+        }
+        if (cause instanceof IOException) {
+          throw (IOException) cause;
+        }
+        if (cause instanceof RuntimeException) {
+          throw (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+          throw (Error) cause;
         }
+        throw new IllegalStateException(cause);
       }
     }
     return successful;
@@ -121,7 +137,7 @@ final class DecodeWorker implements Callable<Integer> {
     Files.write(buildOutputPath(input, ".txt"), resultTexts, StandardCharsets.UTF_8);
   }
 
-  private Result[] decode(URI uri, Map<DecodeHintType,?> hints) throws IOException {
+  private BinaryBitmap loadImage(URI uri) throws IOException {
     BufferedImage image = ImageReader.readImage(uri);
 
     LuminanceSource source;
@@ -137,19 +153,13 @@ final class DecodeWorker implements Callable<Integer> {
     if (config.dumpBlackPoint) {
       dumpBlackPoint(uri, image, bitmap);
     }
+    return bitmap;
+  }
 
-    MultiFormatReader multiFormatReader = new MultiFormatReader();
-    Result[] results;
-    try {
-      if (config.multi) {
-        MultipleBarcodeReader reader = new GenericMultipleBarcodeReader(multiFormatReader);
-        results = reader.decodeMultiple(bitmap, hints);
-      } else {
-        results = new Result[]{multiFormatReader.decode(bitmap, hints)};
-      }
-    } catch (NotFoundException ignored) {
+  private boolean report(URI uri, Result[] results) {
+    if (results.length == 0) {
       System.out.println(uri + ": No barcode found");
-      return null;
+      return false;
     }
 
     if (config.brief) {
@@ -198,7 +208,14 @@ final class DecodeWorker implements Callable<Integer> {
       System.out.println(output);
     }
 
-    return results;
+    if (config.dumpResults) {
+      try {
+        dumpResult(uri, results);
+      } catch (IOException ioe) {
+        throw new UncheckedIOException(ioe);
+      }
+    }
+    return true;
   }
 
   /**
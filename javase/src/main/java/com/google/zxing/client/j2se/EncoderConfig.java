@@ -31,7 +31,7 @@ final class EncoderConfig {
   BarcodeFormat barcodeFormat = BarcodeFormat.QR_CODE;
 
   @Parameter(names = "--image_format",
-      description = "Image output format, such as PNG, JPG, GIF")
+      description = "Image output format, such as PNG, JPG, GIF, or SVG, EPS, PDF for vector output")
   String imageFormat = "PNG";
 
   @Parameter(names = "--output",
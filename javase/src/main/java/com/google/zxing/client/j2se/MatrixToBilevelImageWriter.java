@@ -0,0 +1,330 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing.client.j2se;
+
+import com.google.zxing.common.BitArray;
+import com.google.zxing.common.BitMatrix;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * <p>Writes a {@link BitMatrix} as a 1-bit PNG, PBM or TIFF image, one row at a time, straight
+ * from {@link BitMatrix#getRow(int, BitArray)} into a stream. Unlike {@link MatrixToImageWriter}
+ * it never builds a {@link java.awt.image.BufferedImage}, so it needs only a row's worth of memory
+ * beyond the matrix, and spends no time setting pixels.</p>
+ *
+ * <p>{@link MatrixToImageWriter} uses this for PNG and PBM. TIFF is only written on request,
+ * since Group 4 compression is not what {@link javax.imageio.ImageIO} writes by default.</p>
+ *
+ * @see MatrixToImageWriter
+ */
+public final class MatrixToBilevelImageWriter {
+
+  private static final MatrixToImageConfig DEFAULT_CONFIG = new MatrixToImageConfig();
+
+  private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+  private static final int PNG_COLOR_TYPE_GRAYSCALE = 0;
+  private static final int PNG_COLOR_TYPE_PALETTE = 3;
+  // Compressed image data is split into IDAT chunks of at most this size
+  private static final int PNG_MAX_DATA_CHUNK = 1 << 16;
+
+  private static final int TIFF_SHORT = 3;
+  private static final int TIFF_LONG = 4;
+  private static final int TIFF_RATIONAL = 5;
+  private static final int TIFF_ENTRIES = 12;
+  // Header, then the image file directory, then its two resolutions
+  private static final int TIFF_RESOLUTION_OFFSET = 8 + 2 + 12 * TIFF_ENTRIES + 4;
+  private static final int TIFF_DATA_OFFSET = TIFF_RESOLUTION_OFFSET + 16;
+
+  private MatrixToBilevelImageWriter() {}
+
+  /**
+   * @param format image format
+   * @return true iff {@link #writeToStream(BitMatrix, String, OutputStream, MatrixToImageConfig)}
+   *  can write the format, which is "png" or "pbm"
+   */
+  public static boolean supportsFormat(String format) {
+    return "png".equalsIgnoreCase(format) || "pbm".equalsIgnoreCase(format);
+  }
+
+  /**
+   * @param matrix {@link BitMatrix} to write
+   * @param format image format, "png" or "pbm"
+   * @param stream {@link OutputStream} to write image to
+   * @param config output configuration
+   * @throws IOException if writes to the stream fail
+   * @throws IllegalArgumentException if the format is not supported
+   * @see #supportsFormat(String)
+   */
+  public static void writeToStream(BitMatrix matrix, String format, OutputStream stream, MatrixToImageConfig config)
+      throws IOException {
+    if ("png".equalsIgnoreCase(format)) {
+      writePNG(matrix, stream, config);
+    } else if ("pbm".equalsIgnoreCase(format)) {
+      writePBM(matrix, stream);
+    } else {
+      throw new IllegalArgumentException("Can't write an image of format " + format);
+    }
+  }
+
+  /**
+   * Writes a {@link BitMatrix} as a black-on-white PNG with default configuration.
+   *
+   * @param matrix {@link BitMatrix} to write
+   * @param stream {@link OutputStream} to write image to
+   * @throws IOException if writes to the stream fail
+   */
+  public static void writePNG(BitMatrix matrix, OutputStream stream) throws IOException {
+    writePNG(matrix, stream, DEFAULT_CONFIG);
+  }
+
+  /**
+   * Writes a {@link BitMatrix} as a PNG of 1 bit per pixel: grayscale for black on white, and
+   * otherwise indexed with a palette of the two colors, including their alpha.
+   *
+   * @param matrix {@link BitMatrix} to write
+   * @param stream {@link OutputStream} to write image to
+   * @param config output configuration
+   * @throws IOException if writes to the stream fail
+   */
+  public static void writePNG(BitMatrix matrix, OutputStream stream, MatrixToImageConfig config)
+      throws IOException {
+    int width = matrix.getWidth();
+    int height = matrix.getHeight();
+    boolean grayscale = isBlackOnWhite(config);
+
+    stream.write(PNG_SIGNATURE);
+    ByteArrayOutputStream header = new ByteArrayOutputStream(13);
+    DataOutputStream headerData = new DataOutputStream(header);
+    headerData.writeInt(width);
+    headerData.writeInt(height);
+    headerData.writeByte(1); // bit depth
+    headerData.writeByte(grayscale ? PNG_COLOR_TYPE_GRAYSCALE : PNG_COLOR_TYPE_PALETTE);
+    headerData.writeByte(0); // deflate
+    headerData.writeByte(0); // adaptive filtering
+    headerData.writeByte(0); // no interlace
+    writePNGChunk(stream, "IHDR", header.toByteArray(), header.size());
+    if (!grayscale) {
+      // Index 0 is the off color, and 1 the on color
+      int offColor = config.getPixelOffColor();
+      int onColor = config.getPixelOnColor();
+      byte[] palette = {
+          (byte) (offColor >> 16), (byte) (offColor >> 8), (byte) offColor,
+          (byte) (onColor >> 16), (byte) (onColor >> 8), (byte) onColor,
+      };
+      writePNGChunk(stream, "PLTE", palette, palette.length);
+      if ((offColor & onColor) >>> 24 != 0xFF) {
+        byte[] alphas = {(byte) (offColor >>> 24), (byte) (onColor >>> 24)};
+        writePNGChunk(stream, "tRNS", alphas, alphas.length);
+      }
+    }
+
+    Deflater deflater = new Deflater();
+    try {
+      PNGDataOutputStream data = new PNGDataOutputStream(stream);
+      DeflaterOutputStream compressed = new DeflaterOutputStream(data, deflater, PNG_MAX_DATA_CHUNK);
+      // Each scanline starts with its filter type, here 0 for none
+      byte[] scanline = new byte[1 + (width + 7) / 8];
+      BitArray row = new BitArray(width);
+      for (int y = 0; y < height; y++) {
+        row = matrix.getRow(y, row);
+        // In grayscale 0 is black
+        packRow(row, width, scanline, 1, grayscale);
+        compressed.write(scanline);
+      }
+      compressed.finish();
+      data.flushChunk();
+    } finally {
+      deflater.end();
+    }
+    writePNGChunk(stream, "IEND", new byte[0], 0);
+  }
+
+  /**
+   * Writes a {@link BitMatrix} as a binary ("P4") PBM image, in which set bits are black.
+   *
+   * @param matrix {@link BitMatrix} to write
+   * @param stream {@link OutputStream} to write image to
+   * @throws IOException if writes to the stream fail
+   */
+  public static void writePBM(BitMatrix matrix, OutputStream stream) throws IOException {
+    int width = matrix.getWidth();
+    int height = matrix.getHeight();
+    stream.write(("P4\n" + width + ' ' + height + '\n').getBytes(StandardCharsets.US_ASCII));
+    byte[] packedRow = new byte[(width + 7) / 8];
+    BitArray row = new BitArray(width);
+    for (int y = 0; y < height; y++) {
+      row = matrix.getRow(y, row);
+      packRow(row, width, packedRow, 0, false);
+      stream.write(packedRow);
+    }
+  }
+
+  /**
+   * Writes a {@link BitMatrix} as a bilevel TIFF image compressed with CCITT Group 4 coding, in
+   * which set bits are black. The image is a single strip, whose compressed length is needed
+   * before it, so the compressed image (which is small for a barcode) is held in memory.
+   *
+   * @param matrix {@link BitMatrix} to write
+   * @param stream {@link OutputStream} to write image to
+   * @throws IOException if writes to the stream fail
+   */
+  public static void writeTIFF(BitMatrix matrix, OutputStream stream) throws IOException {
+    int width = matrix.getWidth();
+    int height = matrix.getHeight();
+    ByteArrayOutputStream strip = new ByteArrayOutputStream();
+    CCITTG4Encoder encoder = new CCITTG4Encoder(width, strip);
+    // The encoder refers to the previous row, so alternate between two
+    BitArray row = new BitArray(width);
+    BitArray otherRow = new BitArray(width);
+    for (int y = 0; y < height; y++) {
+      row = matrix.getRow(y, row);
+      encoder.encodeRow(row);
+      BitArray temp = row;
+      row = otherRow;
+      otherRow = temp;
+    }
+    encoder.finish();
+
+    DataOutputStream out = new DataOutputStream(stream);
+    out.writeBytes("MM");
+    out.writeShort(42);
+    out.writeInt(8);
+    out.writeShort(TIFF_ENTRIES);
+    writeTIFFEntry(out, 256, TIFF_LONG, width); // image width
+    writeTIFFEntry(out, 257, TIFF_LONG, height); // image length
+    writeTIFFEntry(out, 258, TIFF_SHORT, 1); // bits per sample
+    writeTIFFEntry(out, 259, TIFF_SHORT, 4); // compression: CCITT T.6
+    writeTIFFEntry(out, 262, TIFF_SHORT, 0); // photometric interpretation: white is zero
+    writeTIFFEntry(out, 273, TIFF_LONG, TIFF_DATA_OFFSET); // strip offsets
+    writeTIFFEntry(out, 277, TIFF_SHORT, 1); // samples per pixel
+    writeTIFFEntry(out, 278, TIFF_LONG, height); // rows per strip
+    writeTIFFEntry(out, 279, TIFF_LONG, strip.size()); // strip byte counts
+    writeTIFFEntry(out, 282, TIFF_RATIONAL, TIFF_RESOLUTION_OFFSET); // x resolution
+    writeTIFFEntry(out, 283, TIFF_RATIONAL, TIFF_RESOLUTION_OFFSET + 8); // y resolution
+    writeTIFFEntry(out, 296, TIFF_SHORT, 2); // resolution unit: inch
+    out.writeInt(0); // no next image file directory
+    // 72 dpi in each direction
+    for (int i = 0; i < 2; i++) {
+      out.writeInt(72);
+      out.writeInt(1);
+    }
+    strip.writeTo(out);
+    out.flush();
+  }
+
+  private static boolean isBlackOnWhite(MatrixToImageConfig config) {
+    return config.getPixelOnColor() == MatrixToImageConfig.BLACK &&
+        config.getPixelOffColor() == MatrixToImageConfig.WHITE;
+  }
+
+  /**
+   * Packs a row into bytes, leftmost pixel in the most significant bit and padded with 0 bits.
+   */
+  private static void packRow(BitArray row, int width, byte[] packed, int offset, boolean invert) {
+    int[] bits = row.getBitArray();
+    int numBytes = (width + 7) / 8;
+    for (int i = 0; i < numBytes; i++) {
+      // BitArray holds the leftmost pixel in the least significant bit
+      int value = Integer.reverse(bits[i >> 2] >>> ((i & 3) << 3)) >>> 24;
+      if (invert) {
+        value = ~value;
+      }
+      packed[offset + i] = (byte) value;
+    }
+    int extraBits = numBytes * 8 - width;
+    packed[offset + numBytes - 1] &= (byte) (0xFF << extraBits);
+  }
+
+  private static void writePNGChunk(OutputStream stream, String type, byte[] data, int length)
+      throws IOException {
+    byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+    CRC32 crc = new CRC32();
+    crc.update(typeBytes);
+    crc.update(data, 0, length);
+    DataOutputStream out = new DataOutputStream(stream);
+    out.writeInt(length);
+    out.write(typeBytes);
+    out.write(data, 0, length);
+    out.writeInt((int) crc.getValue());
+  }
+
+  private static void writeTIFFEntry(DataOutputStream out, int tag, int type, int value) throws IOException {
+    out.writeShort(tag);
+    out.writeShort(type);
+    out.writeInt(1);
+    if (type == TIFF_SHORT) {
+      // Left-justified in the 4 bytes of the value
+      out.writeShort(value);
+      out.writeShort(0);
+    } else {
+      out.writeInt(value);
+    }
+  }
+
+  /**
+   * Collects compressed image data into IDAT chunks.
+   */
+  private static final class PNGDataOutputStream extends OutputStream {
+
+    private final OutputStream stream;
+    private final byte[] buffer = new byte[PNG_MAX_DATA_CHUNK];
+    private int size;
+
+    PNGDataOutputStream(OutputStream stream) {
+      this.stream = stream;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      if (size == buffer.length) {
+        flushChunk();
+      }
+      buffer[size++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      while (len > 0) {
+        if (size == buffer.length) {
+          flushChunk();
+        }
+        int count = Math.min(len, buffer.length - size);
+        System.arraycopy(b, off, buffer, size, count);
+        size += count;
+        off += count;
+        len -= count;
+      }
+    }
+
+    void flushChunk() throws IOException {
+      if (size > 0) {
+        writePNGChunk(stream, "IDAT", buffer, size);
+        size = 0;
+      }
+    }
+
+  }
+
+}
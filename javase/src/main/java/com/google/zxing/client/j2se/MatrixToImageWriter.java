@@ -24,12 +24,14 @@ import java.io.File;
 import java.io.OutputStream;
 import java.io.IOException;
 import java.awt.image.BufferedImage;
+import java.nio.file.Files;
 import java.nio.file.Path;
 
 /**
  * Writes a {@link BitMatrix} to {@link BufferedImage},
  * file or stream. Provided here instead of core since it depends on
- * Java SE libraries.
+ * Java SE libraries. PNG and PBM files and streams are written by
+ * {@link MatrixToBilevelImageWriter}, without a {@link BufferedImage}.
  *
  * @author Sean Owen
  */
@@ -125,6 +127,12 @@ public final class MatrixToImageWriter {
    */
   public static void writeToPath(BitMatrix matrix, String format, Path file, MatrixToImageConfig config)
       throws IOException {
+    if (MatrixToBilevelImageWriter.supportsFormat(format)) {
+      try (OutputStream stream = Files.newOutputStream(file)) {
+        MatrixToBilevelImageWriter.writeToStream(matrix, format, stream, config);
+      }
+      return;
+    }
     BufferedImage image = toBufferedImage(matrix, config);
     if (!ImageIO.write(image, format, file.toFile())) {
       throw new IOException("Could not write an image of format " + format + " to " + file);
@@ -155,6 +163,10 @@ public final class MatrixToImageWriter {
    */
   public static void writeToStream(BitMatrix matrix, String format, OutputStream stream, MatrixToImageConfig config) 
       throws IOException {  
+    if (MatrixToBilevelImageWriter.supportsFormat(format)) {
+      MatrixToBilevelImageWriter.writeToStream(matrix, format, stream, config);
+      return;
+    }
     BufferedImage image = toBufferedImage(matrix, config);
     if (!ImageIO.write(image, format, stream)) {
       throw new IOException("Could not write an image of format " + format);
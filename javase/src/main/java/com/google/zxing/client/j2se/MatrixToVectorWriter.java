@@ -0,0 +1,438 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing.client.j2se;
+
+import com.google.zxing.common.BitArray;
+import com.google.zxing.common.BitMatrix;
+
+import java.io.BufferedWriter;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * <p>Writes a {@link BitMatrix} as vector graphics, in SVG, EPS or PDF, for printing at any
+ * resolution. Each bit of the matrix is a unit square; in EPS and PDF the unit is a point.</p>
+ *
+ * <p>Set bits are drawn as rectangles rather than one square each: runs of set bits in a row
+ * become one rectangle, which extends downwards over the following rows for as long as they
+ * have a run with the same ends. A barcode whose modules are several bits wide thus takes about
+ * one rectangle per horizontal run of modules. Rectangles are written as they are completed,
+ * reading the matrix a row at a time.</p>
+ *
+ * <p>SVG honors the alpha of the configured colors. EPS and PDF draw them opaque, except that
+ * a fully transparent off color leaves out the background.</p>
+ *
+ * @see MatrixToImageWriter
+ */
+public final class MatrixToVectorWriter {
+
+  private static final MatrixToImageConfig DEFAULT_CONFIG = new MatrixToImageConfig();
+
+  private MatrixToVectorWriter() {}
+
+  /**
+   * @param format output format
+   * @return true iff the format is one this writes: "svg", "eps" or "pdf", ignoring case
+   */
+  public static boolean supportsFormat(String format) {
+    switch (format.toLowerCase(Locale.ROOT)) {
+      case "svg":
+      case "eps":
+      case "pdf":
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * Writes a {@link BitMatrix} to a file with default configuration.
+   *
+   * @param matrix {@link BitMatrix} to write
+   * @param format output format, "svg", "eps" or "pdf"
+   * @param file file {@link Path} to write to
+   * @throws IOException if writes to the file fail
+   */
+  public static void writeToPath(BitMatrix matrix, String format, Path file) throws IOException {
+    writeToPath(matrix, format, file, DEFAULT_CONFIG);
+  }
+
+  /**
+   * As {@link #writeToPath(BitMatrix, String, Path)}, but allows customization of the output.
+   *
+   * @param matrix {@link BitMatrix} to write
+   * @param format output format, "svg", "eps" or "pdf"
+   * @param file file {@link Path} to write to
+   * @param config output configuration
+   * @throws IOException if writes to the file fail
+   */
+  public static void writeToPath(BitMatrix matrix, String format, Path file, MatrixToImageConfig config)
+      throws IOException {
+    try (OutputStream stream = Files.newOutputStream(file)) {
+      writeToStream(matrix, format, stream, config);
+    }
+  }
+
+  /**
+   * Writes a {@link BitMatrix} to a stream with default configuration.
+   *
+   * @param matrix {@link BitMatrix} to write
+   * @param format output format, "svg", "eps" or "pdf"
+   * @param stream {@link OutputStream} to write to
+   * @throws IOException if writes to the stream fail
+   */
+  public static void writeToStream(BitMatrix matrix, String format, OutputStream stream) throws IOException {
+    writeToStream(matrix, format, stream, DEFAULT_CONFIG);
+  }
+
+  /**
+   * As {@link #writeToStream(BitMatrix, String, OutputStream)}, but allows customization of the output.
+   *
+   * @param matrix {@link BitMatrix} to write
+   * @param format output format, "svg", "eps" or "pdf"
+   * @param stream {@link OutputStream} to write to
+   * @param config output configuration
+   * @throws IOException if writes to the stream fail
+   * @throws IllegalArgumentException if the format is not supported
+   */
+  public static void writeToStream(BitMatrix matrix, String format, OutputStream stream, MatrixToImageConfig config)
+      throws IOException {
+    Renderer renderer;
+    switch (format.toLowerCase(Locale.ROOT)) {
+      case "svg":
+        renderer = new SVGRenderer(stream);
+        break;
+      case "eps":
+        renderer = new EPSRenderer(stream);
+        break;
+      case "pdf":
+        renderer = new PDFRenderer(stream);
+        break;
+      default:
+        throw new IllegalArgumentException("Can't write format " + format);
+    }
+    renderer.start(matrix.getWidth(), matrix.getHeight(), config);
+    drawRectangles(matrix, renderer);
+    renderer.end();
+  }
+
+  /**
+   * Passes the rectangles which cover the set bits of the matrix to the renderer.
+   */
+  private static void drawRectangles(BitMatrix matrix, Renderer renderer) throws IOException {
+    int width = matrix.getWidth();
+    int height = matrix.getHeight();
+    // Rectangles which reach the previous row, by left and right edge and top, left to right
+    int[] openLefts = new int[width];
+    int[] openRights = new int[width];
+    int[] openTops = new int[width];
+    int numOpen = 0;
+    int[] lefts = new int[width];
+    int[] rights = new int[width];
+    int[] tops = new int[width];
+    BitArray row = new BitArray(width);
+    for (int y = 0; y < height; y++) {
+      row = matrix.getRow(y, row);
+      int count = 0;
+      int i = 0;
+      int left = row.getNextSet(0);
+      while (left < width) {
+        int right = row.getNextUnset(left);
+        // Finish the rectangles which this run has passed
+        while (i < numOpen && openLefts[i] < left) {
+          renderer.rectangle(openLefts[i], openTops[i], openRights[i] - openLefts[i], y - openTops[i]);
+          i++;
+        }
+        int top = y;
+        if (i < numOpen && openLefts[i] == left) {
+          if (openRights[i] == right) {
+            top = openTops[i];
+          } else {
+            renderer.rectangle(openLefts[i], openTops[i], openRights[i] - openLefts[i], y - openTops[i]);
+          }
+          i++;
+        }
+        lefts[count] = left;
+        rights[count] = right;
+        tops[count] = top;
+        count++;
+        left = row.getNextSet(right);
+      }
+      for (; i < numOpen; i++) {
+        renderer.rectangle(openLefts[i], openTops[i], openRights[i] - openLefts[i], y - openTops[i]);
+      }
+      int[] temp = openLefts;
+      openLefts = lefts;
+      lefts = temp;
+      temp = openRights;
+      openRights = rights;
+      rights = temp;
+      temp = openTops;
+      openTops = tops;
+      tops = temp;
+      numOpen = count;
+    }
+    for (int i = 0; i < numOpen; i++) {
+      renderer.rectangle(openLefts[i], openTops[i], openRights[i] - openLefts[i], height - openTops[i]);
+    }
+  }
+
+  private static boolean isTransparent(int argb) {
+    return (argb >>> 24) == 0;
+  }
+
+  /**
+   * @return components of the color as a PostScript or PDF color operand, from 0 to 1
+   */
+  private static String toRGBOperands(int argb) {
+    return toUnit((argb >> 16) & 0xFF) + ' ' + toUnit((argb >> 8) & 0xFF) + ' ' + toUnit(argb & 0xFF);
+  }
+
+  private static String toUnit(int component) {
+    if (component == 0) {
+      return "0";
+    }
+    if (component == 0xFF) {
+      return "1";
+    }
+    return String.format(Locale.ROOT, "%.3f", component / 255.0);
+  }
+
+  /**
+   * Receives the rectangles to draw, in a coordinate system with its origin top left.
+   */
+  private abstract static class Renderer {
+
+    abstract void start(int width, int height, MatrixToImageConfig config) throws IOException;
+
+    abstract void rectangle(int x, int y, int width, int height) throws IOException;
+
+    abstract void end() throws IOException;
+
+  }
+
+  private static final class SVGRenderer extends Renderer {
+
+    private final Writer out;
+
+    SVGRenderer(OutputStream stream) {
+      out = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    void start(int width, int height, MatrixToImageConfig config) throws IOException {
+      out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+      out.write("<svg xmlns=\"http://www.w3.org/2000/svg\" version=\"1.1\" width=\"" + width + "\" height=\"" +
+          height + "\" viewBox=\"0 0 " + width + ' ' + height + "\" shape-rendering=\"crispEdges\">\n");
+      int offColor = config.getPixelOffColor();
+      if (!isTransparent(offColor)) {
+        out.write("<rect width=\"" + width + "\" height=\"" + height + "\"" + toFill(offColor) + "/>\n");
+      }
+      out.write("<path" + toFill(config.getPixelOnColor()) + " d=\"");
+    }
+
+    @Override
+    void rectangle(int x, int y, int width, int height) throws IOException {
+      out.write("M" + x + ' ' + y + 'h' + width + 'v' + height + 'h' + -width + "z\n");
+    }
+
+    @Override
+    void end() throws IOException {
+      out.write("\"/>\n</svg>\n");
+      out.flush();
+    }
+
+    private static String toFill(int argb) {
+      String fill = String.format(Locale.ROOT, " fill=\"#%06x\"", argb & 0xFFFFFF);
+      int alpha = argb >>> 24;
+      if (alpha != 0xFF) {
+        fill += String.format(Locale.ROOT, " fill-opacity=\"%.3f\"", alpha / 255.0);
+      }
+      return fill;
+    }
+
+  }
+
+  private static final class EPSRenderer extends Renderer {
+
+    private final Writer out;
+    private int height;
+
+    EPSRenderer(OutputStream stream) {
+      out = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.US_ASCII));
+    }
+
+    @Override
+    void start(int width, int height, MatrixToImageConfig config) throws IOException {
+      this.height = height;
+      out.write("%!PS-Adobe-3.0 EPSF-3.0\n");
+      out.write("%%BoundingBox: 0 0 " + width + ' ' + height + '\n');
+      out.write("%%LanguageLevel: 2\n");
+      out.write("%%EndComments\n");
+      out.write("/r { rectfill } bind def\n");
+      int offColor = config.getPixelOffColor();
+      if (!isTransparent(offColor)) {
+        out.write(toRGBOperands(offColor) + " setrgbcolor\n");
+        out.write("0 0 " + width + ' ' + height + " r\n");
+      }
+      out.write(toRGBOperands(config.getPixelOnColor()) + " setrgbcolor\n");
+    }
+
+    @Override
+    void rectangle(int x, int y, int width, int height) throws IOException {
+      // PostScript's origin is bottom left
+      out.write(x + " " + (this.height - y - height) + ' ' + width + ' ' + height + " r\n");
+    }
+
+    @Override
+    void end() throws IOException {
+      out.write("%%EOF\n");
+      out.flush();
+    }
+
+  }
+
+  /**
+   * Writes a PDF of one page, whose content stream is compressed as it is written. The
+   * stream's length follows it as a separate object, and the objects' offsets are counted as
+   * they are written, so that nothing is held in memory.
+   */
+  private static final class PDFRenderer extends Renderer {
+
+    private static final int CONTENTS_OBJECT = 4;
+    private static final int LENGTH_OBJECT = 5;
+
+    private final CountingOutputStream out;
+    private final List<Long> offsets = new ArrayList<>();
+    private Deflater deflater;
+    private DeflaterOutputStream compressed;
+    private Writer contents;
+    private long contentsStart;
+
+    PDFRenderer(OutputStream stream) {
+      out = new CountingOutputStream(stream);
+    }
+
+    @Override
+    void start(int width, int height, MatrixToImageConfig config) throws IOException {
+      write("%PDF-1.4\n");
+      startObject();
+      write("<< /Type /Catalog /Pages 2 0 R >>\n");
+      endObject();
+      startObject();
+      write("<< /Type /Pages /Kids [3 0 R] /Count 1 >>\n");
+      endObject();
+      startObject();
+      write("<< /Type /Page /Parent 2 0 R /MediaBox [0 0 " + width + ' ' + height + "] /Resources << >> " +
+          "/Contents " + CONTENTS_OBJECT + " 0 R >>\n");
+      endObject();
+      startObject();
+      write("<< /Length " + LENGTH_OBJECT + " 0 R /Filter /FlateDecode >>\nstream\n");
+      contentsStart = out.count;
+      deflater = new Deflater();
+      compressed = new DeflaterOutputStream(out, deflater);
+      contents = new BufferedWriter(new OutputStreamWriter(compressed, StandardCharsets.US_ASCII));
+      // Flip the y axis, so that the origin is top left
+      contents.write("1 0 0 -1 0 " + height + " cm\n");
+      int offColor = config.getPixelOffColor();
+      if (!isTransparent(offColor)) {
+        contents.write(toRGBOperands(offColor) + " rg\n");
+        contents.write("0 0 " + width + ' ' + height + " re f\n");
+      }
+      contents.write(toRGBOperands(config.getPixelOnColor()) + " rg\n");
+    }
+
+    @Override
+    void rectangle(int x, int y, int width, int height) throws IOException {
+      contents.write(x + " " + y + ' ' + width + ' ' + height + " re\n");
+    }
+
+    @Override
+    void end() throws IOException {
+      contents.write("f\n");
+      contents.flush();
+      try {
+        compressed.finish();
+      } finally {
+        deflater.end();
+      }
+      long length = out.count - contentsStart;
+      write("\nendstream\n");
+      endObject();
+      startObject();
+      write(length + "\n");
+      endObject();
+
+      long xrefOffset = out.count;
+      write("xref\n0 " + (offsets.size() + 1) + "\n0000000000 65535 f \n");
+      for (long offset : offsets) {
+        write(String.format(Locale.ROOT, "%010d 00000 n \n", offset));
+      }
+      write("trailer\n<< /Size " + (offsets.size() + 1) + " /Root 1 0 R >>\nstartxref\n" + xrefOffset +
+          "\n%%EOF\n");
+      out.flush();
+    }
+
+    private void startObject() throws IOException {
+      offsets.add(out.count);
+      write(offsets.size() + " 0 obj\n");
+    }
+
+    private void endObject() throws IOException {
+      write("endobj\n");
+    }
+
+    private void write(String s) throws IOException {
+      out.write(s.getBytes(StandardCharsets.US_ASCII));
+    }
+
+  }
+
+  private static final class CountingOutputStream extends FilterOutputStream {
+
+    long count;
+
+    CountingOutputStream(OutputStream out) {
+      super(out);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      out.write(b);
+      count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      out.write(b, off, len);
+      count += len;
+    }
+
+  }
+
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing.client.j2se;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.BinaryBitmap;
+import com.google.zxing.DecodeHintType;
+import com.google.zxing.Result;
+import com.google.zxing.common.HybridBinarizer;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Tests {@link DecodeService}.
+ */
+public final class DecodeServiceTestCase extends Assert {
+
+  private static final Map<DecodeHintType,?> PURE_BARCODE =
+      Collections.singletonMap(DecodeHintType.PURE_BARCODE, Boolean.TRUE);
+
+  @Test
+  public void testDecode() throws Exception {
+    try (DecodeService service = new DecodeService(PURE_BARCODE, false, 2, 2, 0L)) {
+      Result[] results = service.decode(new URI(DecodeWorkerTestCase.IMAGE_DATA_URI)).get();
+      assertEquals(1, results.length);
+      assertEquals(BarcodeFormat.QR_CODE, results[0].getBarcodeFormat());
+      // the same thread's reader decodes the next image
+      assertEquals(1, service.decode(ImageReader.readImage(new URI(DecodeWorkerTestCase.IMAGE_DATA_URI)))
+          .get().length);
+    }
+  }
+
+  @Test
+  public void testNoBarcode() throws Exception {
+    try (DecodeService service = new DecodeService(null, true, 1, 0, 0L)) {
+      Result[] results = service.decode(new URI(DecodeWorkerTestCase.IMAGE_NOBARCODE_DATA_URI)).get();
+      assertEquals(0, results.length);
+    }
+  }
+
+  @Test
+  public void testLoadFailure() throws Exception {
+    try (DecodeService service = new DecodeService(null, false, 1, 0, 0L)) {
+      CompletableFuture<Result[]> future = service.decode(() -> {
+        throw new IOException("no image");
+      });
+      try {
+        future.get();
+        fail();
+      } catch (ExecutionException ee) {
+        assertTrue(ee.getCause() instanceof IOException);
+      }
+    }
+  }
+
+  @Test
+  public void testDeadline() throws Exception {
+    BinaryBitmap bitmap = loadBitmap();
+    try (DecodeService service = new DecodeService(PURE_BARCODE, false, 1, 1, 50L)) {
+      CompletableFuture<Result[]> future = service.decode(() -> {
+        // stands in for a decode which takes too long
+        Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+        return bitmap;
+      });
+      try {
+        future.get(10, TimeUnit.SECONDS);
+        fail();
+      } catch (ExecutionException ee) {
+        assertTrue(ee.getCause() instanceof TimeoutException);
+      }
+      // the thread is free, and not interrupted, for the next image
+      assertEquals(1, service.decode(bitmap).get(10, TimeUnit.SECONDS).length);
+    }
+  }
+
+  @Test
+  public void testCancel() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    try (DecodeService service = new DecodeService(null, false, 1, 0, 0L)) {
+      CompletableFuture<Result[]> future = service.decode(() -> {
+        started.countDown();
+        Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+        return loadBitmap();
+      });
+      started.await();
+      assertTrue(future.cancel(true));
+      // only returns once the cancelled image's thread has stopped
+    }
+  }
+
+  @Test
+  public void testBoundedQueue() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    BinaryBitmap bitmap = loadBitmap();
+    try (DecodeService service = new DecodeService(PURE_BARCODE, false, 1, 1, 0L)) {
+      CompletableFuture<Result[]> first = service.decode(() -> {
+        release.await();
+        return bitmap;
+      });
+      CompletableFuture<Result[]> second = service.decode(bitmap);
+      Thread producer = Thread.currentThread();
+      Thread releaser = new Thread(() -> {
+        // wait until the producer blocks on the full queue
+        while (producer.getState() != Thread.State.WAITING) {
+          Thread.yield();
+        }
+        release.countDown();
+      });
+      releaser.start();
+      CompletableFuture<Result[]> third = service.decode(bitmap);
+      assertEquals(0, release.getCount());
+      assertEquals(1, first.get().length);
+      assertEquals(1, second.get().length);
+      assertEquals(1, third.get().length);
+      releaser.join();
+    }
+  }
+
+  @Test(expected = RejectedExecutionException.class)
+  public void testClosed() throws Exception {
+    DecodeService service = new DecodeService(null, false, 1, 0, 0L);
+    service.close();
+    service.decode(loadBitmap());
+  }
+
+  private static BinaryBitmap loadBitmap() throws IOException, URISyntaxException {
+    BufferedImage image = ImageReader.readImage(new URI(DecodeWorkerTestCase.IMAGE_DATA_URI));
+    return new BinaryBitmap(new HybridBinarizer(new BufferedImageLuminanceSource(image)));
+  }
+
+}
@@ -22,8 +22,6 @@ import org.junit.Test;
 
 import java.net.URI;
 import java.util.Collections;
-import java.util.LinkedList;
-import java.util.Queue;
 
 /**
  * Tests {@link DecodeWorker}.
@@ -61,9 +59,10 @@ public final class DecodeWorkerTestCase extends Assert {
     DecoderConfig config = new DecoderConfig();
     JCommander jCommander = new JCommander(config);
     jCommander.parse("--pure_barcode", IMAGE_DATA_URI);
-    Queue<URI> inputs = new LinkedList<>(Collections.singletonList(new URI(IMAGE_DATA_URI)));
-    DecodeWorker worker = new DecodeWorker(config, inputs);
-    assertEquals(1, worker.call().intValue());
+    DecodeWorker worker = new DecodeWorker(config);
+    try (DecodeService service = new DecodeService(config.buildHints(), config.multi, 1, 1, 0L)) {
+      assertEquals(1, worker.decodeAll(service, Collections.singletonList(new URI(IMAGE_DATA_URI))));
+    }
   }
 
 }
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing.client.j2se;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.WriterException;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
+import org.hamcrest.CoreMatchers;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Tests {@link MatrixToBilevelImageWriter}.
+ */
+public final class MatrixToBilevelImageWriterTestCase extends Assert {
+
+  private static final MatrixToImageConfig DEFAULT_CONFIG = new MatrixToImageConfig();
+
+  @Test
+  public void testPNG() throws Exception {
+    MatrixToImageConfig[] configs = {
+        DEFAULT_CONFIG,
+        new MatrixToImageConfig(0xFF102030, 0xFF405060),
+        new MatrixToImageConfig(0x7F102030, 0x00405060),
+    };
+    for (BitMatrix matrix : createMatrices()) {
+      for (MatrixToImageConfig config : configs) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        MatrixToBilevelImageWriter.writePNG(matrix, out, config);
+        assertImage(matrix, config, ImageIO.read(new ByteArrayInputStream(out.toByteArray())));
+      }
+    }
+  }
+
+  @Test
+  public void testPBM() throws Exception {
+    for (BitMatrix matrix : createMatrices()) {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      MatrixToBilevelImageWriter.writePBM(matrix, out);
+      byte[] bytes = out.toByteArray();
+      int width = matrix.getWidth();
+      int height = matrix.getHeight();
+      byte[] header = ("P4\n" + width + ' ' + height + '\n').getBytes(StandardCharsets.US_ASCII);
+      assertArrayEquals(header, Arrays.copyOf(bytes, header.length));
+      int rowBytes = (width + 7) / 8;
+      assertEquals(header.length + rowBytes * height, bytes.length);
+      for (int y = 0; y < height; y++) {
+        for (int x = 0; x < width; x++) {
+          int b = bytes[header.length + y * rowBytes + x / 8];
+          assertEquals(matrix.get(x, y), (b & (0x80 >> (x & 7))) != 0);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testTIFF() throws Exception {
+    Assume.assumeThat(Arrays.asList(ImageIO.getReaderFormatNames()), CoreMatchers.hasItem("tiff"));
+    for (BitMatrix matrix : createMatrices()) {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      MatrixToBilevelImageWriter.writeTIFF(matrix, out);
+      assertImage(matrix, DEFAULT_CONFIG, ImageIO.read(new ByteArrayInputStream(out.toByteArray())));
+    }
+  }
+
+  @Test
+  public void testSupportsFormat() {
+    assertTrue(MatrixToBilevelImageWriter.supportsFormat("PNG"));
+    assertTrue(MatrixToBilevelImageWriter.supportsFormat("pbm"));
+    assertFalse(MatrixToBilevelImageWriter.supportsFormat("tiff"));
+    assertFalse(MatrixToBilevelImageWriter.supportsFormat("gif"));
+  }
+
+  private static BitMatrix[] createMatrices() throws WriterException {
+    Random random = new Random(0xB17);
+    // Noise, in every alignment of the row's end
+    BitMatrix noise = new BitMatrix(67, 45);
+    for (int y = 0; y < noise.getHeight(); y++) {
+      for (int x = 0; x < noise.getWidth(); x++) {
+        if (random.nextBoolean()) {
+          noise.set(x, y);
+        }
+      }
+    }
+    // Runs of all lengths, including beyond those one code can give
+    BitMatrix runs = new BitMatrix(5500, 40);
+    for (int y = 0; y < runs.getHeight(); y++) {
+      int x = random.nextInt(5);
+      while (x < runs.getWidth()) {
+        int length = 1 + random.nextInt(y % 4 == 0 ? 64 : 3000);
+        runs.setRegion(x, y, Math.min(length, runs.getWidth() - x), 1);
+        x += length + 1 + random.nextInt(y % 4 == 1 ? 64 : 3000);
+      }
+    }
+    BitMatrix qrCode = new QRCodeWriter().encode("http://github.com/zxing/zxing", BarcodeFormat.QR_CODE, 333, 333);
+    return new BitMatrix[] { noise, runs, qrCode, new BitMatrix(1) };
+  }
+
+  private static void assertImage(BitMatrix matrix, MatrixToImageConfig config, BufferedImage image) {
+    assertEquals(matrix.getWidth(), image.getWidth());
+    assertEquals(matrix.getHeight(), image.getHeight());
+    for (int y = 0; y < matrix.getHeight(); y++) {
+      for (int x = 0; x < matrix.getWidth(); x++) {
+        int expected = matrix.get(x, y) ? config.getPixelOnColor() : config.getPixelOffColor();
+        int actual = image.getRGB(x, y);
+        if (expected != actual) {
+          fail("At " + x + "," + y + " expected " + Integer.toHexString(expected) +
+              " but got " + Integer.toHexString(actual));
+        }
+      }
+    }
+  }
+
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2026 ZXing authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.zxing.client.j2se;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.WriterException;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Tests {@link MatrixToVectorWriter}.
+ */
+public final class MatrixToVectorWriterTestCase extends Assert {
+
+  private static final Pattern SVG_RECTANGLE = Pattern.compile("M(\\d+) (\\d+)h(\\d+)v(\\d+)h-(\\d+)z");
+  private static final Pattern EPS_RECTANGLE = Pattern.compile("(?m)^(\\d+) (\\d+) (\\d+) (\\d+) r$");
+  private static final Pattern PDF_RECTANGLE = Pattern.compile("(?m)^(\\d+) (\\d+) (\\d+) (\\d+) re$");
+
+  @Test
+  public void testSVG() throws Exception {
+    for (BitMatrix matrix : createMatrices()) {
+      String svg = write(matrix, "svg", new MatrixToImageConfig());
+      assertTrue(svg.contains("viewBox=\"0 0 " + matrix.getWidth() + ' ' + matrix.getHeight() + '"'));
+      assertTrue(svg.contains("fill=\"#ffffff\""));
+      assertCovers(matrix, SVG_RECTANGLE.matcher(svg), false);
+    }
+    String svg = write(createMatrices()[0], "SVG", new MatrixToImageConfig(0x80102030, 0x00FFFFFF));
+    assertTrue(svg.contains("fill=\"#102030\" fill-opacity=\"0.502\""));
+    assertFalse(svg.contains("<rect"));
+  }
+
+  @Test
+  public void testEPS() throws Exception {
+    for (BitMatrix matrix : createMatrices()) {
+      String eps = write(matrix, "eps", new MatrixToImageConfig());
+      assertTrue(eps.startsWith("%!PS-Adobe-3.0 EPSF-3.0\n"));
+      assertTrue(eps.contains("%%BoundingBox: 0 0 " + matrix.getWidth() + ' ' + matrix.getHeight() + '\n'));
+      // Skip the background
+      String rectangles = eps.substring(eps.indexOf("0 0 0 setrgbcolor"));
+      assertCovers(matrix, EPS_RECTANGLE.matcher(rectangles), true);
+    }
+  }
+
+  @Test
+  public void testPDF() throws Exception {
+    for (BitMatrix matrix : createMatrices()) {
+      String pdf = write(matrix, "pdf", new MatrixToImageConfig());
+      assertTrue(pdf.startsWith("%PDF-1.4\n"));
+      // Each cross-reference entry gives the offset of its object
+      int xref = Integer.parseInt(pdf.substring(pdf.lastIndexOf("startxref\n") + 10, pdf.lastIndexOf("\n%%EOF")));
+      assertTrue(pdf.startsWith("xref\n0 6\n", xref));
+      Matcher entry = Pattern.compile("(\\d{10}) 00000 n ").matcher(pdf.substring(xref));
+      for (int object = 1; object <= 5; object++) {
+        assertTrue(entry.find());
+        assertTrue(pdf.startsWith(object + " 0 obj\n", Integer.parseInt(entry.group(1))));
+      }
+      assertTrue(pdf.contains("/MediaBox [0 0 " + matrix.getWidth() + ' ' + matrix.getHeight() + ']'));
+
+      int start = pdf.indexOf("stream\n") + 7;
+      int length = Integer.parseInt(pdf.substring(pdf.indexOf("5 0 obj\n") + 8, pdf.indexOf("\nendobj",
+          pdf.indexOf("5 0 obj\n"))));
+      assertTrue(pdf.startsWith("\nendstream", start + length));
+      String contents = inflate(pdf.substring(start, start + length).getBytes(StandardCharsets.ISO_8859_1));
+      String rectangles = contents.substring(contents.indexOf("0 0 0 rg"));
+      assertCovers(matrix, PDF_RECTANGLE.matcher(rectangles), false);
+    }
+  }
+
+  @Test
+  public void testMergesModules() throws Exception {
+    BitMatrix matrix = new QRCodeWriter().encode("http://github.com/zxing/zxing", BarcodeFormat.QR_CODE, 0, 0);
+    BitMatrix scaled = new QRCodeWriter().encode("http://github.com/zxing/zxing", BarcodeFormat.QR_CODE,
+        matrix.getWidth() * 8, matrix.getHeight() * 8);
+    int modules = 0;
+    for (int y = 0; y < matrix.getHeight(); y++) {
+      for (int x = 0; x < matrix.getWidth(); x++) {
+        if (matrix.get(x, y)) {
+          modules++;
+        }
+      }
+    }
+    Matcher matcher = SVG_RECTANGLE.matcher(write(scaled, "svg", new MatrixToImageConfig()));
+    int rectangles = 0;
+    while (matcher.find()) {
+      rectangles++;
+    }
+    assertTrue(rectangles + " rectangles for " + modules + " modules", rectangles < modules / 2);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testBadFormat() throws IOException {
+    assertFalse(MatrixToVectorWriter.supportsFormat("png"));
+    MatrixToVectorWriter.writeToStream(new BitMatrix(1), "png", new ByteArrayOutputStream());
+  }
+
+  private static String write(BitMatrix matrix, String format, MatrixToImageConfig config) throws IOException {
+    assertTrue(MatrixToVectorWriter.supportsFormat(format));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    MatrixToVectorWriter.writeToStream(matrix, format, out, config);
+    return new String(out.toByteArray(), StandardCharsets.ISO_8859_1);
+  }
+
+  private static String inflate(byte[] bytes) throws DataFormatException {
+    Inflater inflater = new Inflater();
+    inflater.setInput(bytes);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    byte[] buffer = new byte[4096];
+    while (!inflater.finished()) {
+      int count = inflater.inflate(buffer);
+      assertTrue(count > 0 || inflater.finished());
+      out.write(buffer, 0, count);
+    }
+    inflater.end();
+    return new String(out.toByteArray(), StandardCharsets.US_ASCII);
+  }
+
+  /**
+   * Asserts that the rectangles found cover exactly the set bits of the matrix, once each.
+   */
+  private static void assertCovers(BitMatrix matrix, Matcher rectangles, boolean flipped) {
+    int width = matrix.getWidth();
+    int height = matrix.getHeight();
+    int[][] covered = new int[height][width];
+    while (rectangles.find()) {
+      int x = Integer.parseInt(rectangles.group(1));
+      int y = Integer.parseInt(rectangles.group(2));
+      int rectangleWidth = Integer.parseInt(rectangles.group(3));
+      int rectangleHeight = Integer.parseInt(rectangles.group(4));
+      if (flipped) {
+        y = height - y - rectangleHeight;
+      }
+      for (int i = y; i < y + rectangleHeight; i++) {
+        for (int j = x; j < x + rectangleWidth; j++) {
+          covered[i][j]++;
+        }
+      }
+    }
+    for (int y = 0; y < height; y++) {
+      for (int x = 0; x < width; x++) {
+        assertEquals("At " + x + "," + y, matrix.get(x, y) ? 1 : 0, covered[y][x]);
+      }
+    }
+  }
+
+  private static BitMatrix[] createMatrices() throws WriterException {
+    Random random = new Random(0x5EC);
+    BitMatrix noise = new BitMatrix(71, 33);
+    for (int y = 0; y < noise.getHeight(); y++) {
+      for (int x = 0; x < noise.getWidth(); x++) {
+        if (random.nextInt(3) > 0) {
+          noise.set(x, y);
+        }
+      }
+    }
+    BitMatrix full = new BitMatrix(9, 5);
+    full.setRegion(0, 0, 9, 5);
+    BitMatrix qrCode = new QRCodeWriter().encode("http://github.com/zxing/zxing", BarcodeFormat.QR_CODE, 250, 250);
+    return new BitMatrix[] { noise, full, qrCode, new BitMatrix(3) };
+  }
+
+}
@@ -23,6 +23,7 @@ import com.google.zxing.BarcodeFormat;
 import com.google.zxing.EncodeHintType;
 import com.google.zxing.WriterException;
 import com.google.zxing.client.j2se.MatrixToImageWriter;
+import com.google.zxing.client.j2se.MatrixToVectorWriter;
 import com.google.zxing.common.BitMatrix;
 import com.google.zxing.qrcode.QRCodeWriter;
 import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
@@ -50,7 +51,8 @@ import java.util.Map;
  *
  * @author Sean Owen
  */
-@WebServlet({"/w/chart", "/w/chart.png", "/w/chart.gif", "/w/chart.jpg", "/w/chart.jpeg"})
+@WebServlet({"/w/chart", "/w/chart.png", "/w/chart.gif", "/w/chart.jpg", "/w/chart.jpeg",
+             "/w/chart.svg", "/w/chart.eps", "/w/chart.pdf"})
 public final class ChartServlet extends HttpServlet {
 
   private static final int MAX_DIMENSION = 4096;
@@ -126,12 +128,25 @@ public final class ChartServlet extends HttpServlet {
       case "GIF":
         contentType = "image/gif";
         break;
+      case "SVG":
+        contentType = "image/svg+xml";
+        break;
+      case "EPS":
+        contentType = "application/postscript";
+        break;
+      case "PDF":
+        contentType = "application/pdf";
+        break;
       default:
         throw new IllegalArgumentException("Unknown format " + imageFormat);
     }
 
     ByteArrayOutputStream imageOut = new ByteArrayOutputStream(1024);
-    MatrixToImageWriter.writeToStream(matrix, imageFormat, imageOut);
+    if (MatrixToVectorWriter.supportsFormat(imageFormat)) {
+      MatrixToVectorWriter.writeToStream(matrix, imageFormat, imageOut);
+    } else {
+      MatrixToImageWriter.writeToStream(matrix, imageFormat, imageOut);
+    }
     byte[] imageData = imageOut.toByteArray();
 
     response.setContentType(contentType);
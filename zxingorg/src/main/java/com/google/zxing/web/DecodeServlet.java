@@ -18,21 +18,15 @@ package com.google.zxing.web;
 
 import com.google.zxing.BarcodeFormat;
 import com.google.zxing.BinaryBitmap;
-import com.google.zxing.ChecksumException;
 import com.google.zxing.DecodeHintType;
-import com.google.zxing.FormatException;
+import com.google.zxing.DecodeStrategy;
 import com.google.zxing.LuminanceSource;
-import com.google.zxing.MultiFormatReader;
 import com.google.zxing.NotFoundException;
-import com.google.zxing.Reader;
-import com.google.zxing.ReaderException;
 import com.google.zxing.Result;
 import com.google.zxing.client.j2se.BufferedImageLuminanceSource;
 import com.google.zxing.client.j2se.ImageReader;
 import com.google.zxing.common.GlobalHistogramBinarizer;
 import com.google.zxing.common.HybridBinarizer;
-import com.google.zxing.multi.GenericMultipleBarcodeReader;
-import com.google.zxing.multi.MultipleBarcodeReader;
 
 import com.google.common.io.Resources;
 import com.google.common.net.HttpHeaders;
@@ -49,12 +43,12 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumMap;
 import java.util.EnumSet;
+import java.util.Iterator;
 import java.util.Locale;
 import java.util.Map;
 import java.util.ResourceBundle;
@@ -65,6 +59,9 @@ import java.util.logging.Logger;
 import java.util.regex.Pattern;
 
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.stream.ImageInputStream;
 import jakarta.servlet.RequestDispatcher;
 import jakarta.servlet.ServletConfig;
 import jakarta.servlet.ServletContext;
@@ -104,6 +101,8 @@ public final class DecodeServlet extends HttpServlet {
   private static final int MAX_PIXELS = 1 << 25;
   private static final Map<DecodeHintType,Object> HINTS;
   private static final Map<DecodeHintType,Object> HINTS_PURE;
+  // Decodes images with the global histogram binarizer they are created with, then the hybrid one
+  private static final DecodeStrategy STRATEGY;
 
   static {
     HINTS = new EnumMap<>(DecodeHintType.class);
@@ -111,6 +110,12 @@ public final class DecodeServlet extends HttpServlet {
     HINTS.put(DecodeHintType.POSSIBLE_FORMATS, EnumSet.allOf(BarcodeFormat.class));
     HINTS_PURE = new EnumMap<>(HINTS);
     HINTS_PURE.put(DecodeHintType.PURE_BARCODE, Boolean.TRUE);
+    // Looking for all barcodes starts with looking for one normal barcode, so that needs no
+    // stage of its own. Stages stop once TimeoutFilter interrupts the request.
+    STRATEGY = new DecodeStrategy()
+        .addMultipleStage(null, HINTS)
+        .addStage(null, HINTS_PURE)
+        .addStage(HybridBinarizer::new, HINTS);
   }
 
   private Collection<String> blockedURLSubstrings;
@@ -337,108 +342,79 @@ public final class DecodeServlet extends HttpServlet {
                                     HttpServletResponse response) throws ServletException, IOException {
 
     BufferedImage image;
-    try {
-      image = ImageIO.read(is);
+    try (ImageInputStream iis = ImageIO.createImageInputStream(is)) {
+      Iterator<javax.imageio.ImageReader> readers = iis == null ? null : ImageIO.getImageReaders(iis);
+      if (readers == null || !readers.hasNext()) {
+        errorResponse(request, response, "badimage");
+        return;
+      }
+      javax.imageio.ImageReader reader = readers.next();
+      try {
+        reader.setInput(iis, true, true);
+        // Checked before anything is decoded, so that large images don't take up memory first
+        int height = reader.getHeight(0);
+        int width = reader.getWidth(0);
+        if (height <= 1 || width <= 1) {
+          log.info("Dimensions too small: " + width + 'x' + height);
+          errorResponse(request, response, "badimage");
+          return;
+        } else if ((long) height * width > MAX_PIXELS) {
+          log.info("Dimensions too large: " + width + 'x' + height);
+          errorResponse(request, response, HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE, "badimage");
+          return;
+        }
+        image = reader.read(0, getLuminanceParam(reader));
+      } finally {
+        reader.dispose();
+      }
     } catch (Exception e) {
       // Many possible failures from JAI, so just catch anything as a failure
       log.info(e.toString());
       errorResponse(request, response, "badimage");
       return;
     }
-    if (image == null) {
-      errorResponse(request, response, "badimage");
-      return;
-    }
     try {
-      int height = image.getHeight();
-      int width = image.getWidth();
-      if (height <= 1 || width <= 1) {
-        log.info("Dimensions too small: " + width + 'x' + height);
-        errorResponse(request, response, "badimage");
-        return;
-      } else if (height * width > MAX_PIXELS) {
-        log.info("Dimensions too large: " + width + 'x' + height);
-        errorResponse(request, response, HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE, "badimage");
-        return;
-      }
-
       processImage(image, request, response);
     } finally {
       image.flush();
     }
   }
 
+  /**
+   * Asks the reader to decode straight to 8-bit gray where it can, as the JPEG reader can for any
+   * JPEG, rather than to color. Then no color image is held in memory, and
+   * {@link BufferedImageLuminanceSource} uses the decoded pixels as they are. Images with
+   * transparency are left in color, so that it can whiten transparent pixels.
+   */
+  private static ImageReadParam getLuminanceParam(javax.imageio.ImageReader reader) throws IOException {
+    ImageReadParam param = reader.getDefaultReadParam();
+    ImageTypeSpecifier rawType = reader.getRawImageType(0);
+    if (rawType != null && rawType.getColorModel().hasAlpha()) {
+      return param;
+    }
+    Iterator<ImageTypeSpecifier> types = reader.getImageTypes(0);
+    while (types.hasNext()) {
+      ImageTypeSpecifier type = types.next();
+      if (type.getBufferedImageType() == BufferedImage.TYPE_BYTE_GRAY) {
+        param.setDestinationType(type);
+        break;
+      }
+    }
+    return param;
+  }
+
   private static void processImage(BufferedImage image,
                                    HttpServletRequest request,
                                    HttpServletResponse response) throws IOException, ServletException {
 
     LuminanceSource source = new BufferedImageLuminanceSource(image);
     BinaryBitmap bitmap = new BinaryBitmap(new GlobalHistogramBinarizer(source));
-    Collection<Result> results = new ArrayList<>(1);
-
+    Collection<Result> results;
     try {
-
-      Reader reader = new MultiFormatReader();
-      ReaderException savedException = null;
-      try {
-        // Look for multiple barcodes
-        MultipleBarcodeReader multiReader = new GenericMultipleBarcodeReader(reader);
-        Result[] theResults = multiReader.decodeMultiple(bitmap, HINTS);
-        if (theResults != null) {
-          results.addAll(Arrays.asList(theResults));
-        }
-      } catch (ReaderException re) {
-        savedException = re;
-      }
-
-      if (results.isEmpty() && !Thread.currentThread().isInterrupted()) {
-        try {
-          // Look for pure barcode
-          Result theResult = reader.decode(bitmap, HINTS_PURE);
-          if (theResult != null) {
-            results.add(theResult);
-          }
-        } catch (ReaderException re) {
-          savedException = re;
-        }
-      }
-
-      if (results.isEmpty() && !Thread.currentThread().isInterrupted()) {
-        try {
-          // Look for normal barcode in photo
-          Result theResult = reader.decode(bitmap, HINTS);
-          if (theResult != null) {
-            results.add(theResult);
-          }
-        } catch (ReaderException re) {
-          savedException = re;
-        }
-      }
-
-      if (results.isEmpty() && !Thread.currentThread().isInterrupted()) {
-        try {
-          // Try again with other binarizer
-          BinaryBitmap hybridBitmap = new BinaryBitmap(new HybridBinarizer(source));
-          Result theResult = reader.decode(hybridBitmap, HINTS);
-          if (theResult != null) {
-            results.add(theResult);
-          }
-        } catch (ReaderException re) {
-          savedException = re;
-        }
-      }
-
-      if (results.isEmpty()) {
-        try {
-          throw savedException == null ? NotFoundException.getNotFoundInstance() : savedException;
-        } catch (FormatException | ChecksumException e) {
-          errorResponse(request, response, "format");
-        } catch (ReaderException e) { // Including NotFoundException
-          errorResponse(request, response, "notfound");
-        }
-        return;
-      }
-
+      results = Arrays.asList(STRATEGY.decode(bitmap));
+    } catch (NotFoundException nfe) {
+      errorResponse(request, response, "notfound");
+      return;
     } catch (RuntimeException re) {
       // Call out unexpected errors in the log clearly
       log.log(Level.WARNING, "Unexpected exception from library", re);
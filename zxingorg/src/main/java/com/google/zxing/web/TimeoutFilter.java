@@ -16,6 +16,8 @@
 
 package com.google.zxing.web;
 
+import com.google.common.base.Preconditions;
+import com.google.common.net.HttpHeaders;
 import com.google.common.util.concurrent.SimpleTimeLimiter;
 import com.google.common.util.concurrent.TimeLimiter;
 
@@ -30,29 +32,42 @@ import jakarta.servlet.annotation.WebInitParam;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.TimeUnit;
 
 /**
- * Protect the decode endpoint from long-running requests.
+ * Protect the decode endpoint from long-running requests, and from more requests than it can
+ * handle at once. Requests run on a fixed number of worker threads; up to {@code maxQueued} more
+ * wait for one, and any beyond that are turned away with 503 Service Unavailable. Time spent
+ * waiting counts towards the timeout.
  */
 @WebFilter(urlPatterns = {"/w/decode"}, initParams = {
   @WebInitParam(name = "timeoutSec", value = "10"),
+  @WebInitParam(name = "maxThreads", value = "16"),
+  @WebInitParam(name = "maxQueued", value = "64"),
 })
 public final class TimeoutFilter implements Filter {
 
-  private ExecutorService executorService;
+  private ThreadPoolExecutor executorService;
   private TimeLimiter timeLimiter;
   private int timeoutSec;
 
   @Override
   public void init(FilterConfig filterConfig) {
-    executorService = Executors.newCachedThreadPool();
-    timeLimiter = SimpleTimeLimiter.create(executorService);
     timeoutSec = Integer.parseInt(filterConfig.getInitParameter("timeoutSec"));
+    int maxThreads = Integer.parseInt(filterConfig.getInitParameter("maxThreads"));
+    Preconditions.checkArgument(maxThreads > 0);
+    int maxQueued = Integer.parseInt(filterConfig.getInitParameter("maxQueued"));
+    Preconditions.checkArgument(maxQueued > 0);
+    executorService = new ThreadPoolExecutor(maxThreads, maxThreads, 60, TimeUnit.SECONDS,
+        new ArrayBlockingQueue<>(maxQueued));
+    // Idle workers don't need to be kept around
+    executorService.allowCoreThreadTimeOut(true);
+    timeLimiter = SimpleTimeLimiter.create(executorService);
   }
 
   @Override
@@ -67,7 +82,14 @@ public final class TimeoutFilter implements Filter {
           return null;
         }
       }, timeoutSec, TimeUnit.SECONDS);
+    } catch (RejectedExecutionException e) {
+      HttpServletResponse servletResponse = (HttpServletResponse) response;
+      servletResponse.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+      servletResponse.setHeader(HttpHeaders.RETRY_AFTER, Integer.toString(timeoutSec));
+      servletResponse.getWriter().write("Too many requests in progress");
     } catch (TimeoutException | InterruptedException e) {
+      // Cancelled requests which are still queued would otherwise hold their place until a worker reaches them
+      executorService.purge();
       HttpServletResponse servletResponse = (HttpServletResponse) response;
       servletResponse.setStatus(HttpServletResponse.SC_REQUEST_TIMEOUT);
       servletResponse.getWriter().write("Request took too long");
@@ -82,6 +104,11 @@ public final class TimeoutFilter implements Filter {
     }
   }
 
+  // Not private for testing
+  int getQueuedRequests() {
+    return executorService.getQueue().size();
+  }
+
   @Override
   public void destroy() {
     if (executorService != null) {
@@ -34,9 +34,17 @@ public final class ChartServletTestCase extends Assert {
   public void testChart() throws Exception {
     ChartServlet servlet = new ChartServlet();
 
-    for (String contentType : new String[] { "png", "jpeg", "gif"}) {
+    String[][] formats = {
+        {"png", "image/png"},
+        {"jpeg", "image/jpeg"},
+        {"gif", "image/gif"},
+        {"svg", "image/svg+xml"},
+        {"eps", "application/postscript"},
+        {"pdf", "application/pdf"},
+    };
+    for (String[] format : formats) {
       MockHttpServletRequest request = new MockHttpServletRequest();
-      request.setRequestURI("image." + contentType);
+      request.setRequestURI("image." + format[0]);
       Map<String, String> params = new HashMap<>();
       params.put("chl", "foo");
       params.put("chs", "100x100");
@@ -48,7 +56,7 @@ public final class ChartServletTestCase extends Assert {
       servlet.doGet(request, response);
 
       assertEquals(HttpServletResponse.SC_OK, response.getStatus());
-      assertEquals("image/" + contentType, response.getContentType());
+      assertEquals(format[1], response.getContentType());
       assertTrue(response.getContentAsByteArray().length > 0);
     }
 
@@ -17,14 +17,23 @@
 package com.google.zxing.web;
 
 import com.google.common.net.MediaType;
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
 import org.junit.Assert;
 import org.junit.Test;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockPart;
 import org.springframework.mock.web.MockServletConfig;
 
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.zip.CRC32;
+import javax.imageio.ImageIO;
 import jakarta.servlet.http.HttpServletResponse;
 
 /**
@@ -65,4 +74,64 @@ public final class DecodeServletTestCase extends Assert {
     servlet.destroy();
   }
 
+  @Test
+  public void testUploadJPEG() throws Exception {
+    BitMatrix matrix = new QRCodeWriter().encode("upload", BarcodeFormat.QR_CODE, 200, 200);
+    BufferedImage image = new BufferedImage(200, 200, BufferedImage.TYPE_3BYTE_BGR);
+    for (int y = 0; y < 200; y++) {
+      for (int x = 0; x < 200; x++) {
+        // A color JPEG, which the JPEG reader decodes straight to gray
+        image.setRGB(x, y, matrix.get(x, y) ? 0x102080 : 0xF0E040);
+      }
+    }
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    assertTrue(ImageIO.write(image, "jpeg", bytes));
+
+    MockHttpServletResponse response = upload(bytes.toByteArray());
+    assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+    assertEquals("upload\n", response.getContentAsString());
+  }
+
+  @Test
+  public void testUploadTooLarge() throws Exception {
+    // Only the header of a 10000 x 10000 PNG, which must be rejected without reading any further
+    ByteArrayOutputStream png = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(png);
+    out.write(new byte[] {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'});
+    ByteArrayOutputStream chunk = new ByteArrayOutputStream();
+    DataOutputStream chunkOut = new DataOutputStream(chunk);
+    chunkOut.writeBytes("IHDR");
+    chunkOut.writeInt(10000);
+    chunkOut.writeInt(10000);
+    // 8-bit gray, default compression, filter and interlacing
+    chunkOut.write(new byte[] {8, 0, 0, 0, 0});
+    CRC32 crc = new CRC32();
+    crc.update(chunk.toByteArray());
+    out.writeInt(chunk.size() - 4);
+    out.write(chunk.toByteArray());
+    out.writeInt((int) crc.getValue());
+
+    MockHttpServletResponse response = upload(png.toByteArray());
+    assertEquals(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE, response.getStatus());
+  }
+
+  private static MockHttpServletResponse upload(byte[] file) throws Exception {
+    MockServletConfig config = new MockServletConfig();
+    config.addInitParameter("maxAccessPerTime", "100");
+    config.addInitParameter("accessTimeSec", "100");
+    config.addInitParameter("maxEntries", "100");
+
+    DecodeServlet servlet = new DecodeServlet();
+    servlet.init(config);
+
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", "/w/decode");
+    request.setContentType("multipart/form-data");
+    request.addPart(new MockPart("f", "image", file));
+    request.setParameter("full", "false");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    servlet.doPost(request, response);
+    servlet.destroy();
+    return response;
+  }
+
 }
@@ -16,6 +16,7 @@
 
 package com.google.zxing.web;
 
+import com.google.common.net.HttpHeaders;
 import org.junit.Assert;
 import org.junit.Test;
 import org.springframework.mock.web.MockFilterChain;
@@ -29,6 +30,8 @@ import jakarta.servlet.GenericServlet;
 import jakarta.servlet.ServletRequest;
 import jakarta.servlet.ServletResponse;
 import jakarta.servlet.http.HttpServletResponse;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Tests {@link TimeoutFilter}.
@@ -39,6 +42,8 @@ public final class TimeoutFilterTestCase extends Assert {
   public void testTimeout() throws Exception {
     MockFilterConfig config = new MockFilterConfig();
     config.addInitParameter("timeoutSec", "1");
+    config.addInitParameter("maxThreads", "2");
+    config.addInitParameter("maxQueued", "2");
     Filter filter = new TimeoutFilter();
     filter.init(config);
 
@@ -58,4 +63,64 @@ public final class TimeoutFilterTestCase extends Assert {
     assertEquals(HttpServletResponse.SC_REQUEST_TIMEOUT, response.getStatus());
   }
 
+  @Test
+  public void testOverload() throws Exception {
+    MockFilterConfig config = new MockFilterConfig();
+    config.addInitParameter("timeoutSec", "5");
+    config.addInitParameter("maxThreads", "1");
+    config.addInitParameter("maxQueued", "1");
+    TimeoutFilter filter = new TimeoutFilter();
+    filter.init(config);
+
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    GenericServlet servlet = new GenericServlet() {
+      @Override
+      public void service(ServletRequest req, ServletResponse res) {
+        started.countDown();
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          // continue
+        }
+      }
+    };
+    // One request runs and one waits for it, so a third is turned away
+    MockHttpServletResponse[] responses = new MockHttpServletResponse[2];
+    Thread[] threads = new Thread[2];
+    for (int i = 0; i < threads.length; i++) {
+      MockHttpServletResponse response = new MockHttpServletResponse();
+      responses[i] = response;
+      threads[i] = new Thread(() -> {
+        try {
+          filter.doFilter(new MockHttpServletRequest(), response, new MockFilterChain(servlet));
+        } catch (Exception e) {
+          throw new IllegalStateException(e);
+        }
+      });
+      threads[i].start();
+      if (i == 0) {
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+      }
+    }
+    // Waits for the second request to be queued
+    for (int i = 0; i < 500 && filter.getQueuedRequests() == 0; i++) {
+      Thread.sleep(10);
+    }
+
+    MockHttpServletResponse rejected = new MockHttpServletResponse();
+    filter.doFilter(new MockHttpServletRequest(), rejected, new MockFilterChain(servlet));
+    assertEquals(HttpServletResponse.SC_SERVICE_UNAVAILABLE, rejected.getStatus());
+    assertEquals("5", rejected.getHeader(HttpHeaders.RETRY_AFTER));
+
+    release.countDown();
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    filter.destroy();
+    for (MockHttpServletResponse response : responses) {
+      assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+    }
+  }
+
 }